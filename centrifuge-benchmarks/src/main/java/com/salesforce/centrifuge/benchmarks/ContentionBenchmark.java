@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.benchmarks;
+
+import com.salesforce.centrifuge.Centrifuge;
+import com.salesforce.centrifuge.CentrifugeConfig;
+import com.salesforce.centrifuge.NoopWarmer;
+import com.salesforce.centrifuge.WarmerConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contention across containers: warmers of the same class share a lock unless they are thread safe, so their
+ * containers serialize on it however many threads run them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContentionBenchmark {
+
+    static final int ITERATIONS = 64_000;
+
+    @Param({"1", "4", "16"})
+    public int warmers;
+
+    @Param({"true", "false"})
+    public boolean threadSafe;
+
+    private Centrifuge centrifuge;
+
+    @Setup
+    public void setup() {
+        final CentrifugeConfig config = new CentrifugeConfig()
+                .setParallelism(Math.min(this.warmers, Runtime.getRuntime().availableProcessors()));
+        for (int i = 0; i < this.warmers; ++i) {
+            config.addWarmerConfig(new WarmerConfig()
+                    .setWarmerName("noop-" + i)
+                    .setWarmerClass(NoopWarmer.class)
+                    .setThreadSafe(this.threadSafe)
+                    .setMaxIterations(ITERATIONS / this.warmers)
+                    .setBurstIterations(1000)
+                    .setYieldMillis(1)
+                    .setRequired(true));
+        }
+        this.centrifuge = Centrifuge.newInstance(config);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITERATIONS)
+    public void run() throws Exception {
+        Engines.run(this.centrifuge);
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.benchmarks;
+
+import com.salesforce.centrifuge.Centrifuge;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Helpers to run engines in benchmarks.
+ */
+final class Engines {
+
+    private static final long RUN_TIMEOUT_SECONDS = 600;
+
+    private Engines() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Runs the engine until all of its warmers stopped. The engine stops itself on the watcher thread once
+     * its warmers stopped; waiting for it rather than stopping it here keeps that stop from racing the
+     * next start of the engine.
+     */
+    static void run(final Centrifuge centrifuge) throws Exception {
+        centrifuge.start();
+        centrifuge.awaitWarm().get(RUN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        final long deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(RUN_TIMEOUT_SECONDS);
+        while (centrifuge.isRunning()) {
+            if (System.nanoTime() > deadlineNanos) {
+                throw new TimeoutException("engine did not stop");
+            }
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.benchmarks;
+
+import com.salesforce.centrifuge.warmers.HttpAsyncWarmer;
+import com.salesforce.centrifuge.warmers.HttpWarmer;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of http warmers against a local jetty server, i.e. the client side cost of a warmup request
+ * without network latency.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HttpWarmerBenchmark {
+
+    private static final byte[] RESPONSE = "ok".getBytes(StandardCharsets.UTF_8);
+
+    private Server server;
+    private HttpWarmer warmer;
+    private HttpAsyncWarmer asyncWarmer;
+
+    @Setup
+    public void setup() throws Exception {
+        // any free port
+        this.server = new Server(0);
+        this.server.setHandler(new AbstractHandler() {
+            @Override
+            public void handle(final String target, final Request request, final HttpServletRequest httpRequest,
+                               final HttpServletResponse httpResponse) throws IOException {
+                httpResponse.setContentType("text/plain;charset=utf-8");
+                httpResponse.setContentLength(RESPONSE.length);
+                httpResponse.getOutputStream().write(RESPONSE);
+                request.setHandled(true);
+            }
+        });
+        this.server.start();
+        final int port = ((ServerConnector) this.server.getConnectors()[0]).getLocalPort();
+
+        final Map<String, Object> params = new HashMap<>();
+        params.put("urls", Collections.singletonList("http://localhost:" + port + "/warmup"));
+        this.warmer = new HttpWarmer();
+        this.warmer.init(params);
+        this.asyncWarmer = new HttpAsyncWarmer();
+        this.asyncWarmer.init(params);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        this.warmer.close();
+        this.asyncWarmer.close();
+        this.server.stop();
+    }
+
+    @Benchmark
+    public void next() throws Exception {
+        this.warmer.next();
+    }
+
+    @Benchmark
+    public Object nextAsync() throws Exception {
+        return this.asyncWarmer.nextAsync().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.benchmarks;
+
+import com.salesforce.centrifuge.Centrifuge;
+import com.salesforce.centrifuge.CentrifugeConfig;
+import com.salesforce.centrifuge.NoopWarmer;
+import com.salesforce.centrifuge.WarmerConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of polling isWarm() from request threads, e.g. in a readiness check, while warmers run and
+ * update their state.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class IsWarmBenchmark {
+
+    // warmers are required, so the engine is not warm while they run
+    @Param({"true", "false"})
+    public boolean required;
+
+    private Centrifuge centrifuge;
+
+    @Setup
+    public void setup() {
+        this.centrifuge = Centrifuge.newInstance(new CentrifugeConfig()
+                .setParallelism(2)
+                .addWarmerConfig(new WarmerConfig()
+                        .setWarmerName("busy")
+                        .setWarmerClass(NoopWarmer.class)
+                        .setConcurrency(2)
+                        .setThreadSafe(true)
+                        .setMaxIterations(-1)
+                        .setTimeoutMillis(Integer.MAX_VALUE)
+                        .setBurstIterations(1000)
+                        .setYieldMillis(1)
+                        .setRequired(this.required)));
+        this.centrifuge.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.centrifuge.stop();
+    }
+
+    @Benchmark
+    public boolean isWarm() {
+        return this.centrifuge.isWarm();
+    }
+}
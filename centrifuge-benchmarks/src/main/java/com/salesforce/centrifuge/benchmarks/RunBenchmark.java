@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.benchmarks;
+
+import com.salesforce.centrifuge.Centrifuge;
+import com.salesforce.centrifuge.CentrifugeConfig;
+import com.salesforce.centrifuge.NoopWarmer;
+import com.salesforce.centrifuge.WarmerConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of the engine per iteration of a no-op warmer: scheduling, locking, stats, latency tracking and
+ * completion checks, for a run of {@link #ITERATIONS} iterations spread over the instances of the warmer.
+ * Yields between bursts are included, so small bursts show the cost of scheduling.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RunBenchmark {
+
+    static final int ITERATIONS = 64_000;
+
+    @Param({"1", "4"})
+    public int concurrency;
+
+    @Param({"1", "4"})
+    public int parallelism;
+
+    @Param({"100", "10000"})
+    public int burstIterations;
+
+    private Centrifuge centrifuge;
+
+    @Setup
+    public void setup() {
+        this.centrifuge = Centrifuge.newInstance(new CentrifugeConfig()
+                .setParallelism(this.parallelism)
+                .addWarmerConfig(new WarmerConfig()
+                        .setWarmerName("noop")
+                        .setWarmerClass(NoopWarmer.class)
+                        .setConcurrency(this.concurrency)
+                        .setThreadSafe(true)
+                        .setMaxIterations(ITERATIONS / this.concurrency)
+                        .setBurstIterations(this.burstIterations)
+                        .setYieldMillis(1)
+                        .setRequired(true)));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITERATIONS)
+    public void run() throws Exception {
+        Engines.run(this.centrifuge);
+    }
+}
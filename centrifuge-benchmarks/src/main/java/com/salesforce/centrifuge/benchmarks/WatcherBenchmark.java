@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.benchmarks;
+
+import com.salesforce.centrifuge.Centrifuge;
+import com.salesforce.centrifuge.CentrifugeConfig;
+import com.salesforce.centrifuge.LatencyHistogram;
+import com.salesforce.centrifuge.Metric;
+import com.salesforce.centrifuge.MetricsVisitor;
+import com.salesforce.centrifuge.NoopWarmer;
+import com.salesforce.centrifuge.WarmerConfig;
+import com.salesforce.centrifuge.WarmerSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of supervising N containers: the per-tick scans of all containers done for logging, snapshots and
+ * metrics while warmers keep running, and setting up and tearing down the supervision of a whole run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class WatcherBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class RunningEngine {
+
+        @Param({"16", "256", "4096"})
+        public int containers;
+
+        Centrifuge centrifuge;
+
+        @Setup
+        public void setup() {
+            // mostly idle containers, running now and then until stopped
+            this.centrifuge = Centrifuge.newInstance(new CentrifugeConfig()
+                    .setParallelism(4)
+                    .addWarmerConfig(new WarmerConfig()
+                            .setWarmerName("idle")
+                            .setWarmerClass(NoopWarmer.class)
+                            .setConcurrency(this.containers)
+                            .setThreadSafe(true)
+                            .setMaxIterations(-1)
+                            .setTimeoutMillis(Integer.MAX_VALUE)
+                            .setYieldMillis(100)));
+            this.centrifuge.start();
+        }
+
+        @TearDown
+        public void tearDown() {
+            this.centrifuge.stop();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ShortRuns {
+
+        @Param({"16", "256", "4096"})
+        public int containers;
+
+        Centrifuge centrifuge;
+
+        @Setup
+        public void setup() {
+            this.centrifuge = Centrifuge.newInstance(new CentrifugeConfig()
+                    .setParallelism(4)
+                    .addWarmerConfig(new WarmerConfig()
+                            .setWarmerName("single")
+                            .setWarmerClass(NoopWarmer.class)
+                            .setConcurrency(this.containers)
+                            .setThreadSafe(true)
+                            .setMaxIterations(1)
+                            .setYieldMillis(1)
+                            .setRequired(true)));
+        }
+    }
+
+    @Benchmark
+    public Map<String, WarmerSnapshot> snapshots(final RunningEngine engine) {
+        return engine.centrifuge.getWarmerSnapshots();
+    }
+
+    @Benchmark
+    public void metrics(final RunningEngine engine, final Blackhole blackhole) {
+        engine.centrifuge.collectMetrics(new MetricsVisitor() {
+            @Override
+            public void counter(final Metric metric, final String warmer, double value) {
+                blackhole.consume(value);
+            }
+
+            @Override
+            public void gauge(final Metric metric, final String warmer, double value) {
+                blackhole.consume(value);
+            }
+
+            @Override
+            public void timer(final Metric metric, final String warmer, long count, double totalSeconds) {
+                blackhole.consume(count);
+                blackhole.consume(totalSeconds);
+            }
+
+            @Override
+            public void histogram(final Metric metric, final String warmer, final LatencyHistogram histogram) {
+                blackhole.consume(histogram.getValueAtPercentile(99.0));
+            }
+        });
+    }
+
+    // start, watch every container, wait for all of them to stop, and stop the engine
+    @Benchmark
+    public void run(final ShortRuns runs) throws Exception {
+        Engines.run(runs.centrifuge);
+    }
+}
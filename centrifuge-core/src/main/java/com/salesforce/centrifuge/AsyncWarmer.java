@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A {@link Warmer} whose operations complete asynchronously; centrifuge keeps up to the configured
+ * maximum number of operations in flight per warmer instance, and counts success or failure when
+ * each of them completes. Outstanding operations are cancelled when the warmer is stopped.
+ */
+public interface AsyncWarmer extends Warmer {
+
+    /**
+     * This method is called instead of {@link #next()} to start a new operation; the returned stage
+     * completing exceptionally, or this method throwing an exception, is counted as a failure.
+     *
+     * @return stage completed when the operation is done
+     */
+    CompletionStage<?> nextAsync() throws Exception;
+
+    /**
+     * Starts an operation and waits for it to complete.
+     */
+    @Override
+    default void next() throws Exception {
+        try {
+            nextAsync().toCompletableFuture().get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+/**
+ * A {@link Warmer} that runs many cheap operations per call; centrifuge adapts the batch size so that
+ * each call takes roughly the configured batch target time, and counts every item in a batch as one
+ * iteration towards the maximum number of iterations.
+ */
+public interface BatchWarmer extends Warmer {
+
+    /**
+     * This method is called instead of {@link #next()} with the number of operations to run;
+     * if an exception is thrown, or the call times out, the whole batch is counted as a single failure.
+     *
+     * @param batchSize number of operations to run; always at least 1
+     */
+    void next(int batchSize) throws Exception;
+
+    /**
+     * Runs a batch of a single operation.
+     */
+    @Override
+    default void next() throws Exception {
+        next(1);
+    }
+}
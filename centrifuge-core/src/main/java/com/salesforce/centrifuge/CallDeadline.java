@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Interrupts calls of a single thread at a time that run longer than a timeout. Rather than scheduling a
+ * task per call, one timer task checks the call in progress and re-arms itself for its deadline; it fires
+ * at most once per timeout while calls are made, and is disarmed while there are none.
+ */
+final class CallDeadline {
+    private static final long NO_CALL = Long.MIN_VALUE;
+    private static final long TIMED_OUT = Long.MIN_VALUE + 1;
+
+    private final long timeoutNanos;
+
+    // nano time when the call in progress started, or one of the markers above
+    private final AtomicLong callStartNanos = new AtomicLong(NO_CALL);
+
+    // set while a check is scheduled
+    private final AtomicBoolean isArmed = new AtomicBoolean();
+
+    // thread making the call in progress
+    private volatile Thread callThread;
+
+    private final Runnable checkTask = this::check;
+
+    CallDeadline(long timeoutMillis) {
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    /**
+     * Marks the start of a call on the current thread.
+     */
+    void begin(long nowNanos) {
+        this.callThread = Thread.currentThread();
+        this.callStartNanos.set(nowNanos);
+        if (!this.isArmed.get() && this.isArmed.compareAndSet(false, true)) {
+            schedule(this.timeoutNanos);
+        }
+    }
+
+    /**
+     * Marks the end of the call; clears the interrupt of the current thread if the call timed out.
+     *
+     * @return true if the call timed out.
+     */
+    boolean end() {
+        if (this.callStartNanos.getAndSet(NO_CALL) != TIMED_OUT) {
+            return false;
+        }
+        // wait for the timer to be done interrupting this thread, so that no interrupt leaks to the next call
+        synchronized (this) {
+            Thread.interrupted();
+        }
+        return true;
+    }
+
+    private void check() {
+        final long startNanos = this.callStartNanos.get();
+        if (startNanos == NO_CALL || startNanos == TIMED_OUT) {
+            this.isArmed.set(false);
+            // a call may have started before disarming, without arming again
+            final long raceNanos = this.callStartNanos.get();
+            if (raceNanos != NO_CALL && raceNanos != TIMED_OUT && this.isArmed.compareAndSet(false, true)) {
+                schedule(raceNanos + this.timeoutNanos - System.nanoTime());
+            }
+            return;
+        }
+        final long remainingNanos = startNanos + this.timeoutNanos - System.nanoTime();
+        if (remainingNanos > 0) {
+            schedule(remainingNanos);
+            return;
+        }
+        synchronized (this) {
+            if (this.callStartNanos.compareAndSet(startNanos, TIMED_OUT)) {
+                final Thread thread = this.callThread;
+                if (thread != null) {
+                    thread.interrupt();
+                }
+            }
+        }
+        // the next call starts after this one ended
+        schedule(this.timeoutNanos);
+    }
+
+    private void schedule(long delayNanos) {
+        SharedTimer.INSTANCE.schedule(this.checkTask, Math.max(0, delayNanos), TimeUnit.NANOSECONDS);
+    }
+}
@@ -7,7 +7,15 @@
 
 package com.salesforce.centrifuge;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.salesforce.centrifuge.Constants.PROPERTY_VALUE_DEFAULT_CLEANUP_INTERVAL_MILLIS;
 
 public interface Centrifuge {
 
@@ -36,7 +44,7 @@ public interface Centrifuge {
 
     /**
      * Starts {@link Centrifuge} which will schedule all registered {@link Warmer}s to run
-     * and returns immediately.
+     * and returns immediately. Can be called again once stopped to re-run all warmers with reset stats.
      */
     void start();
 
@@ -53,15 +61,166 @@ public interface Centrifuge {
      */
     boolean isWarm();
 
+    /**
+     * Returns a future completed once all required warmers are stopped, without polling; completed
+     * right away if there are none. Can be called before the engine is started. Warmer listeners are
+     * notified of required warmers stopping before the future completes; warmers that are not required
+     * may still be running. By default, {@link #isWarm()} is polled every cleanup interval instead.
+     *
+     * @return future completed once warm.
+     */
+    default CompletableFuture<Void> awaitWarm() {
+        final CompletableFuture<Void> warm = new CompletableFuture<>();
+        if (isWarm()) {
+            warm.complete(null);
+            return warm;
+        }
+        final ScheduledFuture<?> poller = SharedTimer.INSTANCE.scheduleWithFixedDelay(() -> {
+            try {
+                if (isWarm()) {
+                    warm.complete(null);
+                }
+            } catch (Exception e) {
+                warm.completeExceptionally(e);
+            }
+        }, PROPERTY_VALUE_DEFAULT_CLEANUP_INTERVAL_MILLIS, PROPERTY_VALUE_DEFAULT_CLEANUP_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+        warm.whenComplete((v, e) -> poller.cancel(false));
+        return warm;
+    }
+
+    /**
+     * Same as {@link #awaitWarm()}, but the future completes exceptionally with a
+     * {@link java.util.concurrent.TimeoutException} if not warm within the timeout.
+     *
+     * @param timeout maximum time to wait
+     * @param unit unit of the timeout
+     * @return future completed once warm, or on timeout.
+     */
+    default CompletableFuture<Void> awaitWarm(long timeout, TimeUnit unit) {
+        final CompletableFuture<Void> warm = awaitWarm();
+        if (warm.isDone()) {
+            return warm;
+        }
+        final ScheduledFuture<?> timer = SharedTimer.INSTANCE.schedule(
+                () -> warm.completeExceptionally(new TimeoutException("centrifuge is not warm after "
+                        + unit.toMillis(timeout) + "ms")),
+                timeout, unit);
+        warm.whenComplete((v, e) -> timer.cancel(false));
+        return warm;
+    }
+
+    /**
+     * Registers a listener notified on state transitions of all warmer instances.
+     *
+     * @param listener listener to add
+     * @throws UnsupportedOperationException if warmer listeners are not supported.
+     */
+    default void addWarmerListener(WarmerListener listener) {
+        throw new UnsupportedOperationException("warmer listeners are not supported by " + getClass().getName());
+    }
+
+    /**
+     * Removes a listener registered with {@link #addWarmerListener(WarmerListener)}.
+     *
+     * @param listener listener to remove
+     * @throws UnsupportedOperationException if warmer listeners are not supported.
+     */
+    default void removeWarmerListener(WarmerListener listener) {
+        throw new UnsupportedOperationException("warmer listeners are not supported by " + getClass().getName());
+    }
+
+    /**
+     * Check for whether the engine is running; it stops once all warmers are stopped, and can be started
+     * again to re-warm, e.g. after a config reload or long idle periods.
+     *
+     * @return true if started and not stopped yet; by default, true while any registered warmer is started
+     * and not stopped.
+     */
+    default boolean isRunning() {
+        return getWarmers().stream().anyMatch(wc -> wc.getStartTimestampMillis() != 0 && !wc.isStopped());
+    }
+
     /**
      * Register controller MBean that can be used to call/stop the engine.
      */
     void registerMbean();
 
     /**
-     * Returns all registered warmers.
+     * Returns all registered warmers, as a read-only view that reflects later changes; polling it does not
+     * allocate. Iterating the view is safe while warmers change, and sees the warmers as of the start of the
+     * iteration.
      *
      * @return list of registered warmers.
      */
     List<WarmerContainer> getWarmers();
+
+    /**
+     * Passes the current metrics of the engine and all registered warmers to the given visitor, on the calling
+     * thread; warmer metrics are aggregated over the instances of each warmer. Reads counters the warmers
+     * maintain anyway, so warmer threads do no extra work for metrics. By default, only warm-up state and
+     * the metrics of {@link #getWarmers()} are reported.
+     *
+     * @param visitor visitor receiving the metrics
+     */
+    default void collectMetrics(MetricsVisitor visitor) {
+        visitor.gauge(Metric.WARM, null, isWarm() ? 1 : 0);
+        CentrifugeImpl.groupByName(getWarmers()).forEach((name, instances) ->
+                CentrifugeImpl.collectMetrics(visitor, name, instances));
+    }
+
+    /**
+     * Returns current stats of all registered warmers, aggregated over their instances.
+     *
+     * @return snapshots by warmer name, in registration order.
+     */
+    default Map<String, WarmerSnapshot> getWarmerSnapshots() {
+        // instances of a warmer share its config
+        final Map<String, WarmerSnapshot> snapshots = new LinkedHashMap<>();
+        CentrifugeImpl.groupByName(getWarmers()).forEach((name, instances) -> snapshots.put(name,
+                new WarmerSnapshot(name, instances.get(0).getWarmerConfig(), instances)));
+        return snapshots;
+    }
+
+    /**
+     * Returns the maximum rate of operations per second across all warmers.
+     *
+     * @return maximum rate per second, or 0 if unlimited; always 0 if rate limits are not supported.
+     */
+    default double getMaxRate() {
+        return 0;
+    }
+
+    /**
+     * Changes the maximum rate of operations per second across all warmers; takes effect immediately.
+     *
+     * @param maxRate maximum rate per second, or 0 for unlimited
+     * @throws UnsupportedOperationException if rate limits are not supported.
+     */
+    default void setMaxRate(double maxRate) {
+        throw new UnsupportedOperationException("rate limits are not supported by " + getClass().getName());
+    }
+
+    /**
+     * Returns the maximum rate of operations per second across all instances of a warmer.
+     *
+     * @param warmerName name of the warmer
+     * @return maximum rate per second, or 0 if unlimited or there is no such warmer; always 0 if rate limits
+     * are not supported.
+     */
+    default double getWarmerMaxRate(String warmerName) {
+        return 0;
+    }
+
+    /**
+     * Changes the maximum rate of operations per second across all instances of a warmer; takes
+     * effect immediately.
+     *
+     * @param warmerName name of the warmer
+     * @param maxRate maximum rate per second, or 0 for unlimited
+     * @throws UnsupportedOperationException if rate limits are not supported.
+     */
+    default void setWarmerMaxRate(String warmerName, double maxRate) {
+        throw new UnsupportedOperationException("rate limits are not supported by " + getClass().getName());
+    }
 }
\ No newline at end of file
@@ -8,6 +8,7 @@
 package com.salesforce.centrifuge;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 import org.slf4j.Logger;
@@ -15,7 +16,10 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import static com.salesforce.centrifuge.Constants.*;
@@ -26,9 +30,19 @@ public class CentrifugeConfig {
     private int parallelism = Runtime.getRuntime().availableProcessors();
     private int logIntervalSeconds = Constants.PROPERTY_VALUE_DEFAULT_LOG_INTERVAL_SECONDS;
     private int cleanupIntervalMillis = Constants.PROPERTY_VALUE_DEFAULT_CLEANUP_INTERVAL_MILLIS;
+    private boolean virtualThreads = false;
+    private double maxRate = Constants.PROPERTY_VALUE_DEFAULT_MAX_RATE;
+    private double cpuTargetPercent = Constants.PROPERTY_VALUE_DEFAULT_CPU_TARGET_PERCENT;
+    private String cpuMode = Constants.PROPERTY_VALUE_DEFAULT_CPU_MODE;
+    private double maxGcOverheadPercent = Constants.PROPERTY_VALUE_DEFAULT_MAX_GC_OVERHEAD_PERCENT;
+    private double maxOldGenPercent = Constants.PROPERTY_VALUE_DEFAULT_MAX_OLD_GEN_PERCENT;
+    private String memoryPressureAction = Constants.PROPERTY_VALUE_DEFAULT_MEMORY_PRESSURE_ACTION;
 
     private final List<WarmerConfig> warmerConfigs = new CopyOnWriteArrayList<>();
 
+    // exporters and their params, in registration order
+    private final Map<MetricsExporter, Map<String, Object>> metricsExporters = new LinkedHashMap<>();
+
     public CentrifugeConfig() {
         // no-op
     }
@@ -59,10 +73,52 @@ public class CentrifugeConfig {
             this.cleanupIntervalMillis = config.getInt(CONFIG_KEY_CLEANUP_INTERVAL_MILLIS);
         }
 
+        if (config.hasPath(CONFIG_KEY_VIRTUAL_THREADS)) {
+            this.virtualThreads = config.getBoolean(CONFIG_KEY_VIRTUAL_THREADS);
+        }
+
+        if (config.hasPath(CONFIG_KEY_GLOBAL_MAX_RATE)) {
+            this.maxRate = config.getDouble(CONFIG_KEY_GLOBAL_MAX_RATE);
+        }
+
+        if (config.hasPath(CONFIG_KEY_CPU_TARGET_PERCENT)) {
+            setCpuTargetPercent(config.getDouble(CONFIG_KEY_CPU_TARGET_PERCENT));
+        }
+        if (config.hasPath(CONFIG_KEY_CPU_MODE)) {
+            setCpuMode(config.getString(CONFIG_KEY_CPU_MODE));
+        }
+
+        if (config.hasPath(CONFIG_KEY_MAX_GC_OVERHEAD_PERCENT)) {
+            setMaxGcOverheadPercent(config.getDouble(CONFIG_KEY_MAX_GC_OVERHEAD_PERCENT));
+        }
+        if (config.hasPath(CONFIG_KEY_MAX_OLD_GEN_PERCENT)) {
+            setMaxOldGenPercent(config.getDouble(CONFIG_KEY_MAX_OLD_GEN_PERCENT));
+        }
+        if (config.hasPath(CONFIG_KEY_MEMORY_PRESSURE_ACTION)) {
+            setMemoryPressureAction(config.getString(CONFIG_KEY_MEMORY_PRESSURE_ACTION));
+        }
+
         if (config.hasPath(CONFIG_KEY_LOG_INTERVAL_SECONDS)) {
             this.logIntervalSeconds = config.getInt(CONFIG_KEY_LOG_INTERVAL_SECONDS);
         }
 
+        if (config.hasPath(CONFIG_KEY_METRICS_EXPORTERS)) {
+            config.getConfigList(CONFIG_KEY_METRICS_EXPORTERS).forEach(c -> {
+                try {
+                    if (!c.hasPath(CONFIG_KEY_CLASS)) {
+                        logger.warn(LOGGER_PREFIX + "the '" + CONFIG_KEY_CLASS + "' property is missing from config; ignoring metrics exporter.");
+                        return;
+                    }
+                    final Class<?> exporterClass = getClass().getClassLoader().loadClass(c.getString(CONFIG_KEY_CLASS));
+                    addMetricsExporter((MetricsExporter) exporterClass.newInstance(), c.hasPath(CONFIG_KEY_PARAMS)
+                            ? c.getObject(CONFIG_KEY_PARAMS).unwrapped()
+                            : Collections.emptyMap());
+                } catch (Exception e) {
+                    logger.warn(LOGGER_PREFIX + "failed to register metrics exporter", e);
+                }
+            });
+        }
+
         config.getConfigList(CONFIG_KEY_WARMERS).forEach(c -> {
             try {
                 if (!c.hasPath(CONFIG_KEY_CLASS)) {
@@ -95,6 +151,69 @@ public class CentrifugeConfig {
                 if (c.hasPath(CONFIG_KEY_REQUIRED)) {
                     warmerConfig.setRequired(c.getBoolean(CONFIG_KEY_REQUIRED));
                 }
+                if (c.hasPath(CONFIG_KEY_REUSE_ON_RERUN)) {
+                    warmerConfig.setReuseOnRerun(c.getBoolean(CONFIG_KEY_REUSE_ON_RERUN));
+                }
+                if (c.hasPath(CONFIG_KEY_PHASE)) {
+                    warmerConfig.setPhase(c.getInt(CONFIG_KEY_PHASE));
+                }
+                if (c.hasPath(CONFIG_KEY_DEPENDS_ON)) {
+                    warmerConfig.setDependsOn(c.getStringList(CONFIG_KEY_DEPENDS_ON));
+                }
+                if (c.hasPath(CONFIG_KEY_THREAD_SAFE)) {
+                    warmerConfig.setThreadSafe(c.getBoolean(CONFIG_KEY_THREAD_SAFE));
+                }
+                if (c.hasPath(CONFIG_KEY_BURST_ITERATIONS)) {
+                    warmerConfig.setBurstIterations(c.getInt(CONFIG_KEY_BURST_ITERATIONS));
+                }
+                if (c.hasPath(CONFIG_KEY_BURST_MILLIS)) {
+                    warmerConfig.setBurstMillis(c.getInt(CONFIG_KEY_BURST_MILLIS));
+                }
+                if (c.hasPath(CONFIG_KEY_MAX_IN_FLIGHT)) {
+                    warmerConfig.setMaxInFlight(c.getInt(CONFIG_KEY_MAX_IN_FLIGHT));
+                }
+                if (c.hasPath(CONFIG_KEY_MAX_BATCH_SIZE)) {
+                    warmerConfig.setMaxBatchSize(c.getInt(CONFIG_KEY_MAX_BATCH_SIZE));
+                }
+                if (c.hasPath(CONFIG_KEY_BATCH_TARGET_MICROS)) {
+                    warmerConfig.setBatchTargetMicros(c.getInt(CONFIG_KEY_BATCH_TARGET_MICROS));
+                }
+                if (c.hasPath(CONFIG_KEY_JIT_PLATEAU_WINDOW)) {
+                    warmerConfig.setJitPlateauWindow(c.getInt(CONFIG_KEY_JIT_PLATEAU_WINDOW));
+                }
+                if (c.hasPath(CONFIG_KEY_JIT_PLATEAU_THRESHOLD_MILLIS)) {
+                    warmerConfig.setJitPlateauThresholdMillis(c.getLong(CONFIG_KEY_JIT_PLATEAU_THRESHOLD_MILLIS));
+                }
+                if (c.hasPath(CONFIG_KEY_JIT_PLATEAU_THRESHOLD_COMPILES)) {
+                    warmerConfig.setJitPlateauThresholdCompiles(c.getLong(CONFIG_KEY_JIT_PLATEAU_THRESHOLD_COMPILES));
+                }
+                if (c.hasPath(CONFIG_KEY_LATENCY_WINDOW)) {
+                    warmerConfig.setLatencyWindow(c.getInt(CONFIG_KEY_LATENCY_WINDOW));
+                }
+                if (c.hasPath(CONFIG_KEY_LATENCY_STABLE_WINDOWS)) {
+                    warmerConfig.setLatencyStableWindows(c.getInt(CONFIG_KEY_LATENCY_STABLE_WINDOWS));
+                }
+                if (c.hasPath(CONFIG_KEY_LATENCY_TOLERANCE_PERCENT)) {
+                    warmerConfig.setLatencyTolerancePercent(c.getDouble(CONFIG_KEY_LATENCY_TOLERANCE_PERCENT));
+                }
+                if (c.hasPath(CONFIG_KEY_TARGET_RATE)) {
+                    warmerConfig.setTargetRate(c.getDouble(CONFIG_KEY_TARGET_RATE));
+                }
+                if (c.hasPath(CONFIG_KEY_RAMP_MILLIS)) {
+                    warmerConfig.setRampMillis(c.getInt(CONFIG_KEY_RAMP_MILLIS));
+                }
+                if (c.hasPath(CONFIG_KEY_CALL_TIMEOUT_MILLIS)) {
+                    warmerConfig.setCallTimeoutMillis(c.getInt(CONFIG_KEY_CALL_TIMEOUT_MILLIS));
+                }
+                if (c.hasPath(CONFIG_KEY_MAX_CPU_MILLIS)) {
+                    warmerConfig.setMaxCpuMillis(c.getLong(CONFIG_KEY_MAX_CPU_MILLIS));
+                }
+                if (c.hasPath(CONFIG_KEY_MAX_ALLOC_BYTES)) {
+                    warmerConfig.setMaxAllocBytes(c.getBytes(CONFIG_KEY_MAX_ALLOC_BYTES));
+                }
+                if (c.hasPath(CONFIG_KEY_MAX_RATE)) {
+                    warmerConfig.setMaxRate(c.getDouble(CONFIG_KEY_MAX_RATE));
+                }
                 if (c.hasPath(CONFIG_KEY_PARAMS)) {
                     warmerConfig.setParams(c.getObject(CONFIG_KEY_PARAMS).unwrapped());
                 } else {
@@ -118,6 +237,32 @@ public class CentrifugeConfig {
         return ImmutableList.copyOf(this.warmerConfigs);
     }
 
+    public CentrifugeConfig addMetricsExporter(final MetricsExporter exporter) {
+        return addMetricsExporter(exporter, Collections.emptyMap());
+    }
+
+    /**
+     * Adds an exporter publishing the metrics of the engine while it runs.
+     *
+     * @param exporter exporter to add
+     * @param params custom parameters passed to the exporter on start
+     * @return this config.
+     */
+    public synchronized CentrifugeConfig addMetricsExporter(final MetricsExporter exporter,
+                                                            final Map<String, Object> params) {
+        if (exporter != null) {
+            this.metricsExporters.put(exporter, params != null ? params : Collections.emptyMap());
+        }
+        return this;
+    }
+
+    /**
+     * @return exporters and their params, in registration order.
+     */
+    public synchronized Map<MetricsExporter, Map<String, Object>> getMetricsExporters() {
+        return ImmutableMap.copyOf(this.metricsExporters);
+    }
+
     public int getLogIntervalSeconds() {
         return this.logIntervalSeconds;
     }
@@ -144,4 +289,123 @@ public class CentrifugeConfig {
         this.parallelism = parallelism;
         return this;
     }
+
+    /**
+     * Whether warmers run on virtual threads instead of a pool of {@link #getParallelism()} platform
+     * threads; only honoured on JDK 21+, ignored otherwise.
+     *
+     * @return true if warmers should run on virtual threads; false otherwise.
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public CentrifugeConfig setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+        return this;
+    }
+
+    /**
+     * Maximum rate of operations per second across all warmers; can be changed at runtime through
+     * {@link Centrifuge#setMaxRate(double)}.
+     *
+     * @return maximum rate per second, or 0 if unlimited.
+     */
+    public double getMaxRate() {
+        return maxRate;
+    }
+
+    public CentrifugeConfig setMaxRate(double maxRate) {
+        if (maxRate >= 0) {
+            this.maxRate = maxRate;
+        }
+        return this;
+    }
+
+    /**
+     * Target cpu utilisation that warmers are throttled to hold; see {@link #getCpuMode()}.
+     *
+     * @return target cpu utilisation in percent, or 0 if warmers are not throttled by cpu load.
+     */
+    public double getCpuTargetPercent() {
+        return cpuTargetPercent;
+    }
+
+    public CentrifugeConfig setCpuTargetPercent(double cpuTargetPercent) {
+        if (cpuTargetPercent >= 0 && cpuTargetPercent <= 100) {
+            this.cpuTargetPercent = cpuTargetPercent;
+        }
+        return this;
+    }
+
+    /**
+     * How cpu target is applied; "fast" keeps load of the whole machine below target, so warmers
+     * finish as fast as possible without starving serving threads; "idle" keeps load of warmers below
+     * the part of target left idle by everything else.
+     *
+     * @return either "fast" or "idle".
+     */
+    public String getCpuMode() {
+        return cpuMode;
+    }
+
+    public CentrifugeConfig setCpuMode(final String cpuMode) {
+        if ("fast".equalsIgnoreCase(cpuMode) || "idle".equalsIgnoreCase(cpuMode)) {
+            this.cpuMode = cpuMode.toLowerCase(Locale.ROOT);
+        } else {
+            logger.warn(LOGGER_PREFIX + "unknown cpu mode {}; ignoring.", cpuMode);
+        }
+        return this;
+    }
+
+    /**
+     * Maximum share of time spent in gc pauses before non-required warmers are paused or shed.
+     *
+     * @return maximum gc overhead in percent, or 0 if not checked.
+     */
+    public double getMaxGcOverheadPercent() {
+        return maxGcOverheadPercent;
+    }
+
+    public CentrifugeConfig setMaxGcOverheadPercent(double maxGcOverheadPercent) {
+        if (maxGcOverheadPercent >= 0 && maxGcOverheadPercent <= 100) {
+            this.maxGcOverheadPercent = maxGcOverheadPercent;
+        }
+        return this;
+    }
+
+    /**
+     * Maximum old gen occupancy right after a collection before non-required warmers are paused or shed.
+     *
+     * @return maximum occupancy in percent of the maximum old gen size, or 0 if not checked.
+     */
+    public double getMaxOldGenPercent() {
+        return maxOldGenPercent;
+    }
+
+    public CentrifugeConfig setMaxOldGenPercent(double maxOldGenPercent) {
+        if (maxOldGenPercent >= 0 && maxOldGenPercent <= 100) {
+            this.maxOldGenPercent = maxOldGenPercent;
+        }
+        return this;
+    }
+
+    /**
+     * What happens to non-required warmers under memory pressure; "pause" pauses them until pressure
+     * clears, "shed" stops them.
+     *
+     * @return either "pause" or "shed".
+     */
+    public String getMemoryPressureAction() {
+        return memoryPressureAction;
+    }
+
+    public CentrifugeConfig setMemoryPressureAction(final String memoryPressureAction) {
+        if ("pause".equalsIgnoreCase(memoryPressureAction) || "shed".equalsIgnoreCase(memoryPressureAction)) {
+            this.memoryPressureAction = memoryPressureAction.toLowerCase(Locale.ROOT);
+        } else {
+            logger.warn(LOGGER_PREFIX + "unknown memory pressure action {}; ignoring.", memoryPressureAction);
+        }
+        return this;
+    }
 }
@@ -7,6 +7,8 @@
 
 package com.salesforce.centrifuge;
 
+import java.util.Map;
+
 /**
  * Executes MBean initiated operations on the contained {@link Centrifuge} instance.
  */
@@ -38,4 +40,39 @@ public class CentrifugeController implements CentrifugeControllerMBean {
     public void stop() {
         this.centrifuge.stop();
     }
-}
\ No newline at end of file
+
+    /**
+     * Formats stats of all warmers returned by {@link Centrifuge#getWarmers()}.
+     */
+    @Override
+    public String[] getWarmerStats() {
+        return this.centrifuge.getWarmers().stream()
+                .map(w -> WarmerWatcher.appendStats(new StringBuilder(), w).toString())
+                .toArray(String[]::new);
+    }
+
+    @Override
+    public Map<String, WarmerSnapshot> getWarmerSnapshots() {
+        return this.centrifuge.getWarmerSnapshots();
+    }
+
+    @Override
+    public double getMaxRate() {
+        return this.centrifuge.getMaxRate();
+    }
+
+    @Override
+    public void setMaxRate(double maxRate) {
+        this.centrifuge.setMaxRate(maxRate);
+    }
+
+    @Override
+    public double getWarmerMaxRate(final String warmerName) {
+        return this.centrifuge.getWarmerMaxRate(warmerName);
+    }
+
+    @Override
+    public void setWarmerMaxRate(final String warmerName, double maxRate) {
+        this.centrifuge.setWarmerMaxRate(warmerName, maxRate);
+    }
+}
@@ -7,9 +7,13 @@
 
 package com.salesforce.centrifuge;
 
+import javax.management.MXBean;
+import java.util.Map;
+
 /**
  * MBean interface for controlling {@link Centrifuge}.
  */
+@MXBean
 public interface CentrifugeControllerMBean {
 
     /**
@@ -21,4 +25,34 @@ public interface CentrifugeControllerMBean {
      * Stop Centrifuge engine if it is running.
      */
     void stop();
-}
\ No newline at end of file
+
+    /**
+     * Returns stats of all registered warmers, including p50/p90/p99/max latencies of next().
+     *
+     * @return one line of stats per warmer.
+     */
+    String[] getWarmerStats();
+
+    /**
+     * Returns current stats of all warmers by name, exposed as tabular data; cheap enough to be polled
+     * every second. Each warmer can be controlled through its own {@link WarmerControllerMXBean}.
+     */
+    Map<String, WarmerSnapshot> getWarmerSnapshots();
+
+    /**
+     * Maximum rate of operations per second across all warmers; 0 if unlimited.
+     */
+    double getMaxRate();
+
+    void setMaxRate(double maxRate);
+
+    /**
+     * Returns the maximum rate of operations per second of a warmer; 0 if unlimited.
+     */
+    double getWarmerMaxRate(String warmerName);
+
+    /**
+     * Changes the maximum rate of operations per second of a warmer; 0 for unlimited.
+     */
+    void setWarmerMaxRate(String warmerName, double maxRate);
+}
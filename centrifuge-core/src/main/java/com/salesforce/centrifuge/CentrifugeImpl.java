@@ -7,31 +7,67 @@
 
 package com.salesforce.centrifuge;
 
-import com.google.common.collect.ImmutableList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.management.ObjectName;
+import javax.management.StandardMBean;
 import java.lang.management.ManagementFactory;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.concurrent.*;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static com.salesforce.centrifuge.Constants.LOGGER_PREFIX;
 import static com.salesforce.centrifuge.Constants.PROPERTY_VALUE_DEFAULT_YIELD_MILLIS;
+import static com.salesforce.centrifuge.Tracing.TRACER;
 
 public final class CentrifugeImpl implements Centrifuge {
     private static final Logger logger = LoggerFactory.getLogger(CentrifugeImpl.class);
 
     private final CentrifugeConfig config;
-    private final List<WarmerContainer> warmerContainers = Collections.synchronizedList(new ArrayList<>());
+    // copy on write so that monitoring reads never contend with registration
+    private final List<WarmerContainer> warmerContainers = new CopyOnWriteArrayList<>();
+    // read-only view returned to callers; iterating it never sees a list in the middle of a change
+    private final List<WarmerContainer> warmerContainersView = Collections.unmodifiableList(this.warmerContainers);
+
+    // configs of all registered warmers, in registration order
+    private final List<WarmerConfig> warmerConfigs = new CopyOnWriteArrayList<>();
+
+    // counts outstanding required warmers, and passes state transitions on to listeners
+    private final WarmerEvents events = new WarmerEvents();
+
+    // set once the metrics exporters are started, on the first start
+    private boolean areMetricsExportersStarted = false;
+
+    // set once the controller mbeans are registered, so that warmers registered later get one too
+    private volatile boolean isMbeanRegistered = false;
     private ScheduledExecutorService executorService = null;
     private WarmerWatcher watcher;
+    // starts warmers of the current run in dependency order
+    private WarmerScheduler scheduler;
+
+    // limits rate of operations of all warmers, and of each warmer by name
+    private final RateLimiter rateLimiter;
+    private final Map<String, RateLimiter> warmerRateLimiters = new ConcurrentHashMap<>();
 
-    private long startTimestampMillis = 0;
-    private long startTimestampNanos = 0;
+    // adapts warmers to cpu load; null if not enabled
+    private CpuThrottle cpuThrottle;
+
+    // detects gc and heap pressure; null if not enabled
+    private MemoryPressureMonitor memoryMonitor;
+
+    // read by metrics exporters without holding the lock
+    private volatile long startTimestampMillis = 0;
+    private volatile long startTimestampNanos = 0;
+
+    // trace of the current run, see CentrifugeTracer
+    private Object runTrace;
 
     @SuppressWarnings("unused")
     CentrifugeImpl() {
@@ -40,29 +76,53 @@ public final class CentrifugeImpl implements Centrifuge {
 
     public CentrifugeImpl(final CentrifugeConfig config) {
         this.config = config;
+        this.rateLimiter = new RateLimiter(config.getMaxRate());
+        // not warm until the configured required warmers ran
+        this.events.reset(config.getWarmerConfigs().stream()
+                .filter(WarmerConfig::isRequired)
+                .mapToInt(WarmerConfig::getConcurrency)
+                .sum());
     }
 
     @Override
     public synchronized void start() {
-        if (this.startTimestampMillis != 0) {
+        if (this.executorService != null) {
             logger.warn(LOGGER_PREFIX + "centrifuge is already running; ignoring call request");
             return;
         }
+        if (this.startTimestampMillis != 0) {
+            logger.info(LOGGER_PREFIX + "restarting centrifuge; stats of all warmers are reset");
+        }
+
+        this.executorService = newExecutorService();
+        this.cpuThrottle = newCpuThrottle();
+        this.memoryMonitor = newMemoryMonitor();
 
-        this.executorService = Executors.newScheduledThreadPool(this.config.getParallelism());
-        config.getWarmerConfigs().forEach(this::registerWarmer);
+        // every run gets new containers; initialized warmers of the previous run may be reused
+        final List<WarmerContainer> previous = new ArrayList<>(this.warmerContainers);
+        this.warmerContainers.clear();
+        getWarmerConfigs().forEach(c -> registerWarmer(c, previous));
+        closeUnused(previous);
+        this.events.reset((int) this.warmerContainers.stream().filter(wc -> wc.getWarmerConfig().isRequired()).count());
 
-        // set up watcher (cleanup) thread
+        // set up watcher thread, supervising timeouts and stopping the engine once all warmers are stopped
         this.watcher = new WarmerWatcher(
                 this,
                 this.config.getCleanupIntervalMillis(),
-                this.config.getLogIntervalSeconds()
+                this.config.getLogIntervalSeconds(),
+                this.cpuThrottle,
+                this.memoryMonitor,
+                "shed".equals(this.config.getMemoryPressureAction())
         );
+        this.events.addListener(this.watcher);
+        this.warmerContainers.forEach(this.watcher::watch);
 
         this.startTimestampNanos = System.nanoTime();
         this.startTimestampMillis = System.currentTimeMillis();
+        this.runTrace = TRACER.beginRun(this.warmerContainers.size());
 
         this.watcher.run();
+        startMetricsExporters();
 
         logger.info(LOGGER_PREFIX + "trying to call centrifuge...");
         doStart();
@@ -70,11 +130,30 @@ public final class CentrifugeImpl implements Centrifuge {
 
     @Override
     public synchronized void stop() {
+        if (this.executorService == null) {
+            return;
+        }
+        this.watcher.stop();
+        // stopping dependencies must not start their dependents on the executor being shut down
+        if (this.scheduler != null) {
+            this.scheduler.cancel();
+            this.scheduler = null;
+        }
+
         logger.info(LOGGER_PREFIX + "calling shutdown now on executor service");
         this.executorService.shutdownNow();
 
         logger.info(LOGGER_PREFIX + "calling stop on all warmers");
         this.warmerContainers.forEach(WarmerContainer::stop);
+        this.events.removeListener(this.watcher);
+        notifyMetricsExporters();
+        TRACER.endRun(this.runTrace);
+        this.runTrace = null;
+
+        if (this.memoryMonitor != null) {
+            this.memoryMonitor.stop();
+            this.memoryMonitor = null;
+        }
 
         // set to null for GC
         this.executorService = null;
@@ -85,15 +164,39 @@ public final class CentrifugeImpl implements Centrifuge {
                 (System.nanoTime() - this.startTimestampNanos) / 1_000_000);
     }
 
+    /**
+     * Stops the engine on behalf of a watcher; ignored unless the watcher supervises the current run.
+     */
+    synchronized void stop(final WarmerWatcher watcher) {
+        if (this.watcher != watcher) {
+            return;
+        }
+        stop();
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return this.executorService != null;
+    }
+
     @Override
     public boolean isWarm() {
-        boolean isWarm = true;
-        for (final WarmerContainer wc : getWarmers()) {
-            if (wc.getWarmerConfig().isRequired() && ! wc.isStopped()) {
-                isWarm = false;
-            }
-        }
-        return isWarm;
+        return this.events.isWarm();
+    }
+
+    @Override
+    public CompletableFuture<Void> awaitWarm() {
+        return this.events.awaitWarm();
+    }
+
+    @Override
+    public void addWarmerListener(final WarmerListener listener) {
+        this.events.addListener(listener);
+    }
+
+    @Override
+    public void removeWarmerListener(final WarmerListener listener) {
+        this.events.removeListener(listener);
     }
 
     @Override
@@ -101,29 +204,321 @@ public final class CentrifugeImpl implements Centrifuge {
         try {
             final String mbeanName = getMbeanName();
             logger.info(LOGGER_PREFIX + "registering mbean: {}", mbeanName);
+            // registered explicitly as an mxbean, as the interface name would make it a standard mbean
             ManagementFactory.getPlatformMBeanServer().registerMBean(
-                    new CentrifugeController(this), new ObjectName(mbeanName)
+                    new StandardMBean(new CentrifugeController(this), CentrifugeControllerMBean.class, true),
+                    new ObjectName(mbeanName)
             );
         } catch (Throwable e) {
             logger.warn(LOGGER_PREFIX + "failed to register centrifuge mbean");
+            return;
+        }
+        this.isMbeanRegistered = true;
+        getWarmerConfigs().forEach(this::registerWarmerMbean);
+    }
+
+    private void registerWarmerMbean(final WarmerConfig warmerConfig) {
+        try {
+            final ObjectName name = WarmerController.getObjectName(warmerConfig.getWarmerName());
+            if (ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+                return;
+            }
+            logger.info(LOGGER_PREFIX + "registering mbean: {}", name);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new WarmerController(this, warmerConfig), name);
+        } catch (Throwable e) {
+            logger.warn(LOGGER_PREFIX + "failed to register mbean of warmer {}", warmerConfig.getWarmerName());
         }
     }
 
     @Override
     public List<WarmerContainer> getWarmers() {
-        return ImmutableList.copyOf(this.warmerContainers);
+        return this.warmerContainersView;
+    }
+
+    // instances of a warmer; configs are matched by identity as names are not required to be unique
+    List<WarmerContainer> getWarmers(final WarmerConfig warmerConfig) {
+        return this.warmerContainers.stream()
+                .filter(wc -> wc.getWarmerConfig() == warmerConfig)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void collectMetrics(final MetricsVisitor visitor) {
+        final boolean isWarm = isWarm();
+        visitor.gauge(Metric.WARM, null, isWarm ? 1 : 0);
+        final long startTimestampMillis = this.startTimestampMillis;
+        if (startTimestampMillis != 0) {
+            visitor.gauge(Metric.START_TIME, null, startTimestampMillis / 1000.0);
+            if (isWarm) {
+                // warm before the start if there are no required warmers
+                final long timeToWarmNanos = Math.max(0, this.events.getWarmTimestampNanos() - this.startTimestampNanos);
+                visitor.gauge(Metric.TIME_TO_WARM, null, timeToWarmNanos / 1e9);
+            }
+        }
+
+        // instances by warmer name; registered warmers without instances are reported too
+        final Map<String, List<WarmerContainer>> warmers = new LinkedHashMap<>();
+        getWarmerConfigs().forEach(c -> warmers.putIfAbsent(c.getWarmerName(), new ArrayList<>()));
+        groupByName(this.warmerContainers).forEach((name, containers) ->
+                warmers.computeIfAbsent(name, n -> new ArrayList<>()).addAll(containers));
+        warmers.forEach((name, containers) -> collectMetrics(visitor, name, containers));
+    }
+
+    // instances by warmer name, in registration order
+    static Map<String, List<WarmerContainer>> groupByName(final List<WarmerContainer> containers) {
+        final Map<String, List<WarmerContainer>> warmers = new LinkedHashMap<>();
+        containers.forEach(wc -> warmers.computeIfAbsent(wc.getWarmerConfig().getWarmerName(),
+                name -> new ArrayList<>()).add(wc));
+        return warmers;
+    }
+
+    // aggregates the metrics of the instances of a warmer
+    static void collectMetrics(final MetricsVisitor visitor, final String warmer,
+                                       final List<WarmerContainer> containers) {
+        final LatencyHistogram latencies = new LatencyHistogram();
+        long iterations = 0;
+        long successes = 0;
+        long failures = 0;
+        long durationNanos = 0;
+        long cpuNanos = 0;
+        long allocatedBytes = 0;
+        int running = 0;
+        for (final WarmerContainer wc : containers) {
+            final WarmerStats.Snapshot stats = wc.getStatsSnapshot();
+            iterations += stats.iterations;
+            successes += stats.successes;
+            failures += stats.failures;
+            durationNanos += stats.durationNanos;
+            cpuNanos += stats.cpuNanos;
+            allocatedBytes += stats.allocatedBytes;
+            latencies.add(wc.getLatencyHistogram());
+            if (wc.getStartTimestampMillis() != 0 && !wc.isStopped()) {
+                running++;
+            }
+        }
+        visitor.counter(Metric.WARMER_ITERATIONS, warmer, iterations);
+        visitor.counter(Metric.WARMER_SUCCESSES, warmer, successes);
+        visitor.counter(Metric.WARMER_FAILURES, warmer, failures);
+        visitor.counter(Metric.WARMER_CPU, warmer, cpuNanos / 1e9);
+        visitor.counter(Metric.WARMER_ALLOCATED, warmer, allocatedBytes);
+        visitor.gauge(Metric.WARMER_RUNNING_INSTANCES, warmer, running);
+        visitor.timer(Metric.WARMER_EXECUTION, warmer, successes + failures, durationNanos / 1e9);
+        visitor.histogram(Metric.WARMER_LATENCY, warmer, latencies);
+    }
+
+    // exporters keep running once started, see MetricsExporter
+    private void startMetricsExporters() {
+        if (this.areMetricsExportersStarted) {
+            return;
+        }
+        this.areMetricsExportersStarted = true;
+        this.config.getMetricsExporters().forEach((exporter, params) -> {
+            try {
+                exporter.start(this, params);
+            } catch (Exception e) {
+                logger.warn(LOGGER_PREFIX + "failed to start metrics exporter {}", exporter.getClass().getName(), e);
+            }
+        });
+    }
+
+    private void notifyMetricsExporters() {
+        this.config.getMetricsExporters().keySet().forEach(exporter -> {
+            try {
+                exporter.onEngineStopped();
+            } catch (Exception e) {
+                logger.warn(LOGGER_PREFIX + "metrics exporter {} failed on engine stop", exporter.getClass().getName(), e);
+            }
+        });
+    }
+
+    @Override
+    public Map<String, WarmerSnapshot> getWarmerSnapshots() {
+        final Map<String, WarmerSnapshot> snapshots = new LinkedHashMap<>();
+        getWarmerConfigs().forEach(c -> snapshots.putIfAbsent(c.getWarmerName(), getWarmerSnapshot(c)));
+        return snapshots;
+    }
+
+    WarmerSnapshot getWarmerSnapshot(final WarmerConfig warmerConfig) {
+        return new WarmerSnapshot(warmerConfig.getWarmerName(), warmerConfig, getWarmers(warmerConfig));
+    }
+
+    // configured warmers are registered on start, and listed before then too
+    private List<WarmerConfig> getWarmerConfigs() {
+        final List<WarmerConfig> configs = new ArrayList<>(this.warmerConfigs);
+        this.config.getWarmerConfigs().stream()
+                .filter(c -> configs.stream().noneMatch(registered -> registered == c))
+                .forEach(configs::add);
+        return configs;
+    }
+
+    /**
+     * Stops all instances of a warmer and replaces them with new ones, started right away; ignored if
+     * centrifuge is not started.
+     */
+    synchronized void rerunWarmer(final WarmerConfig warmerConfig) {
+        if (this.executorService == null) {
+            logger.warn(LOGGER_PREFIX + "centrifuge is not running; ignoring re-run of warmer {}",
+                    warmerConfig.getWarmerName());
+            return;
+        }
+        logger.info(LOGGER_PREFIX + "re-running warmer {}", warmerConfig.getWarmerName());
+        // tracked before the previous instances stop, so that waiting callers do not see a warm engine in between
+        if (warmerConfig.isRequired()) {
+            this.events.addRequired(warmerConfig.getConcurrency());
+        }
+        // the engine stops once all warmers are stopped, which must not happen in between either
+        this.watcher.retain();
+        try {
+            final List<WarmerContainer> previous = getWarmers(warmerConfig);
+            previous.forEach(WarmerContainer::stop);
+            this.warmerContainers.removeAll(previous);
+            final List<WarmerContainer> started = startInstances(warmerConfig, 0, warmerConfig.getConcurrency(),
+                    previous);
+            previous.removeAll(started);
+            closeUnused(previous);
+        } finally {
+            this.watcher.release();
+        }
+    }
+
+    /**
+     * Changes the number of instances of a warmer; new instances are started right away if centrifuge
+     * is running, and the most recently created instances are stopped if there are too many.
+     */
+    synchronized void setWarmerConcurrency(final WarmerConfig warmerConfig, int concurrency) {
+        if (concurrency <= 0) {
+            return;
+        }
+        logger.info(LOGGER_PREFIX + "setting concurrency of warmer {} to {}", warmerConfig.getWarmerName(), concurrency);
+        warmerConfig.setConcurrency(concurrency);
+        if (this.executorService == null) {
+            return;
+        }
+        final List<WarmerContainer> instances = getWarmers(warmerConfig);
+        final List<WarmerContainer> live = instances.stream()
+                .filter(wc -> !wc.isStopped())
+                .collect(Collectors.toList());
+        if (live.size() < concurrency) {
+            if (warmerConfig.isRequired()) {
+                this.events.addRequired(concurrency - live.size());
+            }
+            startInstances(warmerConfig, instances.size(), concurrency - live.size(), Collections.emptyList());
+        } else {
+            live.subList(concurrency, live.size()).forEach(WarmerContainer::stop);
+        }
+    }
+
+    // returns the previous containers whose warmers were reused
+    private List<WarmerContainer> startInstances(final WarmerConfig warmerConfig, int firstInstance, int count,
+                                                 final List<WarmerContainer> previous) {
+        final List<WarmerContainer> reused = new ArrayList<>();
+        try {
+            for (int i = 0; i < count; ++i) {
+                final WarmerContainer reusable = findReusable(warmerConfig, firstInstance + i, previous);
+                final WarmerContainer container = newContainer(warmerConfig, firstInstance + i, reusable);
+                if (reusable != null) {
+                    reused.add(reusable);
+                }
+                this.warmerContainers.add(container);
+                this.watcher.watch(container);
+                container.start();
+            }
+        } catch (Exception e) {
+            logger.warn(LOGGER_PREFIX + "failed to start warmer {}", warmerConfig.getWarmerName(), e);
+        }
+        return reused;
+    }
+
+    private WarmerContainer newContainer(final WarmerConfig warmerConfig, int instance,
+                                         final WarmerContainer reusable) throws Exception {
+        final RateLimiter warmerRateLimiter = this.warmerRateLimiters.computeIfAbsent(
+                warmerConfig.getWarmerName(), name -> new RateLimiter(warmerConfig.getMaxRate()));
+        final WarmerContainer container = new WarmerContainer(warmerConfig, this.executorService, instance,
+                reusable != null ? reusable.getWarmer() : null, this.rateLimiter, warmerRateLimiter);
+        container.setCpuThrottle(this.cpuThrottle);
+        container.setWarmerListener(this.events);
+        return container;
+    }
+
+    // container of a previous run with the same config and instance index, if its warmer can be reused
+    private static WarmerContainer findReusable(final WarmerConfig warmerConfig, int instance,
+                                                final List<WarmerContainer> previous) {
+        if (!warmerConfig.isReuseOnRerun()) {
+            return null;
+        }
+        for (final WarmerContainer wc : previous) {
+            if (wc.getWarmerConfig() == warmerConfig && wc.getInstance() == instance && wc.isInitialized()) {
+                return wc;
+            }
+        }
+        return null;
+    }
+
+    // warmers kept for re-runs but not reused are closed
+    private static void closeUnused(final List<WarmerContainer> previous) {
+        previous.stream()
+                .filter(wc -> wc.getWarmerConfig().isReuseOnRerun())
+                .forEach(WarmerContainer::closeWarmer);
     }
 
     @Override
-    public void registerWarmer(final WarmerConfig warmerConfig) {
+    public synchronized void registerWarmer(final WarmerConfig warmerConfig) {
+        final int registered = this.warmerContainers.size();
+        registerWarmer(warmerConfig, Collections.emptyList());
+        // not warm until registered required warmers ran, same as configured ones
+        if (warmerConfig.isRequired()) {
+            this.events.addRequired(this.warmerContainers.size() - registered);
+        }
+    }
+
+    private void registerWarmer(final WarmerConfig warmerConfig, final List<WarmerContainer> previous) {
         logger.info(LOGGER_PREFIX + "registering warmer {}", warmerConfig.getWarmerClass());
         try {
             for (int i = 0; i < warmerConfig.getConcurrency(); ++i) {
-                this.warmerContainers.add(new WarmerContainer(warmerConfig, this.executorService));
+                final WarmerContainer reusable = findReusable(warmerConfig, i, previous);
+                this.warmerContainers.add(newContainer(warmerConfig, i, reusable));
+                if (reusable != null) {
+                    previous.remove(reusable);
+                }
             }
         } catch (Exception e) {
             logger.warn(LOGGER_PREFIX + "failed to register warmer", e);
+            return;
+        }
+        if (this.warmerConfigs.stream().noneMatch(c -> c == warmerConfig)) {
+            this.warmerConfigs.add(warmerConfig);
+        }
+        if (this.isMbeanRegistered) {
+            registerWarmerMbean(warmerConfig);
+        }
+    }
+
+    @Override
+    public double getMaxRate() {
+        return this.rateLimiter.getRate();
+    }
+
+    @Override
+    public void setMaxRate(double maxRate) {
+        logger.info(LOGGER_PREFIX + "setting max rate of all warmers to {}/s", maxRate);
+        this.rateLimiter.setRate(maxRate);
+    }
+
+    @Override
+    public double getWarmerMaxRate(final String warmerName) {
+        final RateLimiter limiter = this.warmerRateLimiters.get(warmerName);
+        return limiter != null ? limiter.getRate() : 0;
+    }
+
+    @Override
+    public void setWarmerMaxRate(final String warmerName, double maxRate) {
+        final RateLimiter limiter = this.warmerRateLimiters.get(warmerName);
+        if (limiter == null) {
+            logger.warn(LOGGER_PREFIX + "cannot find warmer {}; ignoring max rate", warmerName);
+            return;
         }
+        logger.info(LOGGER_PREFIX + "setting max rate of warmer {} to {}/s", warmerName, maxRate);
+        limiter.setRate(maxRate);
     }
 
     String getMbeanName() {
@@ -131,6 +526,40 @@ public final class CentrifugeImpl implements Centrifuge {
                 + ":type=CentrifugeController";
     }
 
+    private ScheduledExecutorService newExecutorService() {
+        if (this.config.isVirtualThreads()) {
+            final ScheduledExecutorService virtualThreadExecutor = VirtualThreadExecutorService.newInstance();
+            if (virtualThreadExecutor != null) {
+                logger.info(LOGGER_PREFIX + "running warmers on virtual threads");
+                return virtualThreadExecutor;
+            }
+            logger.warn(LOGGER_PREFIX + "falling back to {} platform threads", this.config.getParallelism());
+        }
+        return Executors.newScheduledThreadPool(this.config.getParallelism());
+    }
+
+    private CpuThrottle newCpuThrottle() {
+        if (this.config.getCpuTargetPercent() <= 0) {
+            return null;
+        }
+        logger.info(LOGGER_PREFIX + "throttling warmers to {}% cpu in {} mode",
+                this.config.getCpuTargetPercent(), this.config.getCpuMode());
+        return CpuThrottle.newInstance(CpuThrottle.Mode.valueOf(this.config.getCpuMode().toUpperCase(Locale.ROOT)),
+                this.config.getCpuTargetPercent());
+    }
+
+    private MemoryPressureMonitor newMemoryMonitor() {
+        if (this.config.getMaxGcOverheadPercent() <= 0 && this.config.getMaxOldGenPercent() <= 0) {
+            return null;
+        }
+        logger.info(LOGGER_PREFIX + "watching memory pressure; max gc overhead {}%, max old gen occupancy {}%",
+                this.config.getMaxGcOverheadPercent(), this.config.getMaxOldGenPercent());
+        final MemoryPressureMonitor monitor = new MemoryPressureMonitor(
+                this.config.getMaxGcOverheadPercent(), this.config.getMaxOldGenPercent());
+        monitor.start();
+        return monitor;
+    }
+
     private void doStart() {
         if (this.warmerContainers.isEmpty()) {
             logger.warn(LOGGER_PREFIX + "null/empty warmers; ignoring schedule");
@@ -138,9 +567,21 @@ public final class CentrifugeImpl implements Centrifuge {
         }
 
         logger.info(LOGGER_PREFIX + "scheduling threads to start...");
-        this.warmerContainers.forEach(wc -> this.executorService.schedule(wc::start,
-                ThreadLocalRandom.current().nextInt(0, 2 * PROPERTY_VALUE_DEFAULT_YIELD_MILLIS),
-                TimeUnit.MILLISECONDS));
+        final ScheduledExecutorService executor = this.executorService;
+        this.scheduler = new WarmerScheduler(getWarmers(), wc -> startLater(executor, wc));
+        this.scheduler.start();
     }
-}
 
+    private static void startLater(final ScheduledExecutorService executor, final WarmerContainer wc) {
+        try {
+            executor.schedule(wc::start,
+                    ThreadLocalRandom.current().nextInt(0, 2 * PROPERTY_VALUE_DEFAULT_YIELD_MILLIS),
+                    TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            if (!executor.isShutdown()) {
+                throw e;
+            }
+            // the engine is stopped; the warmer is stopped along with it
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+/**
+ * Traces engine runs and warmer calls, e.g. as JDK Flight Recorder events with the centrifuge-jfr module.
+ * A tracer is looked up once with {@link java.util.ServiceLoader} when the engine classes load; without one,
+ * calls go to a no-op implementation that the JIT compiles away.
+ *
+ * Methods are called on engine and warmer threads, so they should return quickly. Begin methods return a trace
+ * passed back to the matching end method; they should return null, and allocate nothing, while tracing is off.
+ */
+public interface CentrifugeTracer {
+
+    /**
+     * Called when the engine starts with the given number of warmer instances.
+     *
+     * @return trace of the run, passed to {@link #endRun(Object)}; may be null.
+     */
+    default Object beginRun(int instances) {
+        return null;
+    }
+
+    /**
+     * Called when the engine stops.
+     */
+    default void endRun(Object trace) {
+    }
+
+    /**
+     * Called when the engine becomes warm, i.e. once all required warmer instances of a run stopped.
+     */
+    default void warm(long timeToWarmNanos) {
+    }
+
+    /**
+     * Called before init() of a warmer instance.
+     *
+     * @return trace of the call, passed to {@link #endInit(Object, Throwable)}; may be null.
+     */
+    default Object beginInit(WarmerContainer warmer) {
+        return null;
+    }
+
+    /**
+     * Called after init() of a warmer instance returned, threw the given error, or timed out; the error is a
+     * {@link java.util.concurrent.TimeoutException} if the call timed out, even if it returned afterwards.
+     */
+    default void endInit(Object trace, Throwable error) {
+    }
+
+    /**
+     * Called before a warmer instance is asked for a batch of the given number of iterations; iterations of async
+     * warmers are traced one at a time, until their operation completes.
+     *
+     * @return trace of the call, passed to {@link #endNext(Object, Throwable)}; may be null.
+     */
+    default Object beginNext(WarmerContainer warmer, int batchSize) {
+        return null;
+    }
+
+    /**
+     * Called after a batch of iterations returned, threw the given error, or timed out; the error is a
+     * {@link java.util.concurrent.TimeoutException} if the call timed out, even if it returned afterwards.
+     */
+    default void endNext(Object trace, Throwable error) {
+    }
+
+    /**
+     * Called when the given number of calls of a warmer instance are accounted for as failures; the error
+     * is null if not known, e.g. for calls that timed out.
+     */
+    default void failed(WarmerContainer warmer, int count, Throwable error) {
+    }
+
+    /**
+     * Called when a call of a warmer instance is interrupted, or an async operation cancelled,
+     * after the call timeout.
+     */
+    default void callTimedOut(WarmerContainer warmer) {
+    }
+
+    /**
+     * Called when a warmer instance is stopped after reaching its timeout.
+     */
+    default void timedOut(WarmerContainer warmer) {
+    }
+
+    /**
+     * Called once when a warmer instance stops, for whatever reason.
+     */
+    default void stopped(WarmerContainer warmer) {
+    }
+}
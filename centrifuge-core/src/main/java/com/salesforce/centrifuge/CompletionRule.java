@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+/**
+ * Condition that marks a warmer as completed before it reaches its maximum number of iterations.
+ * Each {@link WarmerContainer} owns its own rule instances; rules are only called from the thread
+ * executing the container, after every successful call to next().
+ */
+interface CompletionRule {
+
+    /**
+     * Checks whether the warmer executed by the given container is warm.
+     *
+     * @param container the container executing the warmer
+     * @param latencyNanos duration of the last call to next()
+     * @return true if the warmer can be considered completed; false otherwise.
+     */
+    boolean isComplete(WarmerContainer container, long latencyNanos);
+
+    /**
+     * Called when the container starts; not called again once the rule is stopped.
+     */
+    default void start() {
+    }
+
+    /**
+     * Called once when the container stops, from any thread; releases resources acquired on start.
+     */
+    default void stop() {
+    }
+}
@@ -18,6 +18,9 @@ public class Constants {
     public static final String PROPERTY_KEY_DEFAULT_CONCURRENCY = "centrifuge.default.concurrency";
     public static final String PROPERTY_KEY_DEFAULT_MAX_ITERATIONS = "centrifuge.default.max_iterations";
     public static final String PROPERTY_KEY_DEFAULT_MAX_FAILURE = "centrifuge.default.max_failure";
+    public static final String PROPERTY_KEY_DEFAULT_BURST_ITERATIONS = "centrifuge.default.burst_iterations";
+    public static final String PROPERTY_KEY_DEFAULT_BURST_MILLIS = "centrifuge.default.burst_millis";
+    public static final String PROPERTY_KEY_JIT_EVENTS_ENABLED = "centrifuge.jit_events_enabled";
 
     public static final int PROPERTY_VALUE_DEFAULT_TIMEOUT_MILLIS = Integer.MAX_VALUE;
     public static final int PROPERTY_VALUE_DEFAULT_CLEANUP_INTERVAL_MILLIS = 300;
@@ -26,11 +29,41 @@ public class Constants {
     public static final int PROPERTY_VALUE_DEFAULT_CONCURRENCY = 1;
     public static final long PROPERTY_VALUE_DEFAULT_MAX_ITERATIONS = Long.MAX_VALUE;
     public static final long PROPERTY_VALUE_DEFAULT_MAX_FAILURE = Long.MAX_VALUE;
+    public static final int PROPERTY_VALUE_DEFAULT_BURST_ITERATIONS = 1;
+    public static final int PROPERTY_VALUE_DEFAULT_BURST_MILLIS = 0;
+    public static final int PROPERTY_VALUE_DEFAULT_MAX_BATCH_SIZE = 1000;
+    public static final int PROPERTY_VALUE_DEFAULT_MAX_IN_FLIGHT = 1;
+    public static final int PROPERTY_VALUE_DEFAULT_BATCH_TARGET_MICROS = 1000;
+    public static final int PROPERTY_VALUE_DEFAULT_JIT_PLATEAU_WINDOW = 0;
+    public static final long PROPERTY_VALUE_DEFAULT_JIT_PLATEAU_THRESHOLD_MILLIS = 10;
+    public static final long PROPERTY_VALUE_DEFAULT_JIT_PLATEAU_THRESHOLD_COMPILES = 10;
+    public static final int PROPERTY_VALUE_DEFAULT_LATENCY_WINDOW = 0;
+    public static final int PROPERTY_VALUE_DEFAULT_LATENCY_STABLE_WINDOWS = 3;
+    public static final double PROPERTY_VALUE_DEFAULT_LATENCY_TOLERANCE_PERCENT = 10.0;
+    public static final double PROPERTY_VALUE_DEFAULT_TARGET_RATE = 0;
+    public static final int PROPERTY_VALUE_DEFAULT_RAMP_MILLIS = 0;
+    public static final double PROPERTY_VALUE_DEFAULT_MAX_RATE = 0;
+    public static final int PROPERTY_VALUE_DEFAULT_CALL_TIMEOUT_MILLIS = 0;
+    public static final long PROPERTY_VALUE_DEFAULT_MAX_CPU_MILLIS = Long.MAX_VALUE;
+    public static final long PROPERTY_VALUE_DEFAULT_MAX_ALLOC_BYTES = Long.MAX_VALUE;
+    public static final double PROPERTY_VALUE_DEFAULT_CPU_TARGET_PERCENT = 0;
+    public static final String PROPERTY_VALUE_DEFAULT_CPU_MODE = "fast";
+    public static final double PROPERTY_VALUE_DEFAULT_MAX_GC_OVERHEAD_PERCENT = 0;
+    public static final double PROPERTY_VALUE_DEFAULT_MAX_OLD_GEN_PERCENT = 0;
+    public static final String PROPERTY_VALUE_DEFAULT_MEMORY_PRESSURE_ACTION = "pause";
 
     public static final String CONFIG_KEY_WARMERS = "centrifuge.warmers";
     public static final String CONFIG_KEY_PARALLELISM = "centrifuge.parallelism";
     public static final String CONFIG_KEY_LOG_INTERVAL_SECONDS = "centrifuge.log_interval_seconds";
     public static final String CONFIG_KEY_CLEANUP_INTERVAL_MILLIS = "centrifuge.cleanup_interval_millis";
+    public static final String CONFIG_KEY_VIRTUAL_THREADS = "centrifuge.virtual_threads";
+    public static final String CONFIG_KEY_GLOBAL_MAX_RATE = "centrifuge.max_rate";
+    public static final String CONFIG_KEY_CPU_TARGET_PERCENT = "centrifuge.cpu_target_percent";
+    public static final String CONFIG_KEY_CPU_MODE = "centrifuge.cpu_mode";
+    public static final String CONFIG_KEY_MAX_GC_OVERHEAD_PERCENT = "centrifuge.max_gc_overhead_percent";
+    public static final String CONFIG_KEY_MAX_OLD_GEN_PERCENT = "centrifuge.max_old_gen_percent";
+    public static final String CONFIG_KEY_MEMORY_PRESSURE_ACTION = "centrifuge.memory_pressure_action";
+    public static final String CONFIG_KEY_METRICS_EXPORTERS = "centrifuge.metrics_exporters";
 
     public static final String CONFIG_KEY_CLASS = "class";
     public static final String CONFIG_KEY_NAME = "name";
@@ -41,4 +74,29 @@ public class Constants {
     public static final String CONFIG_KEY_MAX_ITERATIONS = "max_iterations";
     public static final String CONFIG_KEY_MAX_FAILURE = "max_failure";
     public static final String CONFIG_KEY_PARAMS = "params";
+    public static final String CONFIG_KEY_THREAD_SAFE = "thread_safe";
+    public static final String CONFIG_KEY_BURST_ITERATIONS = "burst_iterations";
+    public static final String CONFIG_KEY_BURST_MILLIS = "burst_millis";
+    public static final String CONFIG_KEY_MAX_BATCH_SIZE = "max_batch_size";
+    public static final String CONFIG_KEY_MAX_IN_FLIGHT = "max_in_flight";
+    public static final String CONFIG_KEY_BATCH_TARGET_MICROS = "batch_target_micros";
+    public static final String CONFIG_KEY_JIT_PLATEAU_WINDOW = "jit_plateau_window";
+    public static final String CONFIG_KEY_JIT_PLATEAU_THRESHOLD_MILLIS = "jit_plateau_threshold_millis";
+    public static final String CONFIG_KEY_JIT_PLATEAU_THRESHOLD_COMPILES = "jit_plateau_threshold_compiles";
+    public static final String CONFIG_KEY_PHASE = "phase";
+    public static final String CONFIG_KEY_DEPENDS_ON = "depends_on";
+    public static final String CONFIG_KEY_LATENCY_WINDOW = "latency_window";
+    public static final String CONFIG_KEY_LATENCY_STABLE_WINDOWS = "latency_stable_windows";
+    public static final String CONFIG_KEY_LATENCY_TOLERANCE_PERCENT = "latency_tolerance_percent";
+    public static final String CONFIG_KEY_TARGET_RATE = "target_rate";
+    public static final String CONFIG_KEY_RAMP_MILLIS = "ramp_millis";
+    public static final String CONFIG_KEY_MAX_RATE = "max_rate";
+    public static final String CONFIG_KEY_MAX_CPU_MILLIS = "max_cpu_millis";
+    public static final String CONFIG_KEY_MAX_ALLOC_BYTES = "max_alloc_bytes";
+    public static final String CONFIG_KEY_CALL_TIMEOUT_MILLIS = "call_timeout_millis";
+    public static final String CONFIG_KEY_REUSE_ON_RERUN = "reuse_on_rerun";
+
+    // params added to the warmer params passed to init()
+    public static final String PARAM_KEY_INSTANCE_INDEX = "centrifuge.instance_index";
+    public static final String PARAM_KEY_INSTANCE_COUNT = "centrifuge.instance_count";
 }
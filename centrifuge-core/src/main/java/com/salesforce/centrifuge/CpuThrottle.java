@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.concurrent.TimeUnit;
+
+import static com.salesforce.centrifuge.Constants.LOGGER_PREFIX;
+
+/**
+ * Adapts how hard warmers run to the cpu load of the machine. A throttle level between 0 and 1 is
+ * lowered multiplicatively while load is above target, and raised additively while it is below;
+ * each container has a random rank and only runs while its rank is below the level, so the level
+ * is the fraction of containers running. Running containers yield longer as the level drops.
+ */
+class CpuThrottle {
+    private static final Logger logger = LoggerFactory.getLogger(CpuThrottle.class);
+
+    enum Mode {
+        // keep load of the whole machine below target; warmers use whatever serving threads leave
+        FAST,
+        // keep load of warmers below whatever part of target is not used by the rest of the machine
+        IDLE
+    }
+
+    /**
+     * Source of cpu load samples, each between 0 and 1, or negative if not available.
+     */
+    interface CpuLoad {
+        double getSystemLoad();
+
+        double getProcessLoad();
+    }
+
+    // load below target by this fraction raises the level
+    private static final double HEADROOM = 0.1;
+    private static final double LEVEL_INCREMENT = 0.1;
+    private static final double MIN_FAST_LEVEL = 0.1;
+    // running containers never yield longer than this, however low the level is
+    private static final long MAX_YIELD_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Mode mode;
+    private final double targetLoad;
+    private final CpuLoad cpuLoad;
+    private volatile double level = 1.0;
+
+    CpuThrottle(final Mode mode, double targetPercent, final CpuLoad cpuLoad) {
+        this.mode = mode;
+        this.targetLoad = targetPercent / 100;
+        this.cpuLoad = cpuLoad;
+    }
+
+    /**
+     * @return throttle for the platform mbean cpu load, or null if cpu load is not available.
+     */
+    static CpuThrottle newInstance(final Mode mode, double targetPercent) {
+        final OperatingSystemMXBean bean = ManagementFactory.getOperatingSystemMXBean();
+        if (!(bean instanceof com.sun.management.OperatingSystemMXBean)) {
+            logger.warn(LOGGER_PREFIX + "cpu load is not available on this jvm; cpu throttling is disabled");
+            return null;
+        }
+        final com.sun.management.OperatingSystemMXBean osBean = (com.sun.management.OperatingSystemMXBean) bean;
+        return new CpuThrottle(mode, targetPercent, new CpuLoad() {
+            @Override
+            @SuppressWarnings("deprecation")
+            public double getSystemLoad() {
+                return osBean.getSystemCpuLoad();
+            }
+
+            @Override
+            public double getProcessLoad() {
+                return osBean.getProcessCpuLoad();
+            }
+        });
+    }
+
+    double getLevel() {
+        return this.level;
+    }
+
+    boolean isAdmitted(double rank) {
+        return rank < this.level;
+    }
+
+    long adjustYieldNanos(long yieldNanos) {
+        final double level = this.level;
+        return level >= 1 ? yieldNanos : Math.min(MAX_YIELD_NANOS, (long) (yieldNanos / Math.max(level, 0.01)));
+    }
+
+    /**
+     * Samples cpu load and adjusts the level; called periodically by the engine.
+     */
+    void sample() {
+        final double systemLoad = this.cpuLoad.getSystemLoad();
+        final double processLoad = this.cpuLoad.getProcessLoad();
+        if (systemLoad < 0 || (this.mode == Mode.IDLE && processLoad < 0)) {
+            return;
+        }
+        final double load;
+        final double target;
+        if (this.mode == Mode.FAST) {
+            load = systemLoad;
+            target = this.targetLoad;
+        } else {
+            // warmers get the part of target not used by other processes, nor by serving threads of
+            // this process; the latter cannot be told apart, so they are counted as warmer load
+            load = processLoad;
+            target = Math.max(0, this.targetLoad - Math.max(0, systemLoad - processLoad));
+        }
+        final double minLevel = this.mode == Mode.FAST ? MIN_FAST_LEVEL : 0;
+        final double previous = this.level;
+        if (load > target) {
+            final double lowered = previous * (target > 0 ? Math.max(0.5, target / load) : 0.5);
+            // snap to the floor rather than approaching it forever
+            this.level = lowered < minLevel + 0.01 ? minLevel : lowered;
+        } else if (load < target * (1 - HEADROOM)) {
+            this.level = Math.min(1.0, previous + LEVEL_INCREMENT);
+        }
+        if (this.level != previous) {
+            logger.debug(LOGGER_PREFIX + "cpu load {}% (target {}%); warmers throttle level set to {}",
+                    Math.round(load * 100), Math.round(target * 100), String.format("%.2f", this.level));
+        }
+    }
+}
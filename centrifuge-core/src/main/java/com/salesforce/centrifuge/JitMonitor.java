@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+import static com.salesforce.centrifuge.Constants.LOGGER_PREFIX;
+
+/**
+ * Process wide view of JIT compiler activity; compilation time is read from {@link CompilationMXBean},
+ * and when running on a JDK with event streaming (14+), compile events are counted as well while the
+ * monitor is in use. The event stream is closed once the last user releases the monitor.
+ */
+final class JitMonitor {
+    private static final Logger logger = LoggerFactory.getLogger(JitMonitor.class);
+
+    // reads total compilation time; null if not supported
+    private final LongSupplier compilationMillis;
+
+    // number of compile events seen; stays at zero if events are not available
+    private final AtomicLong compileEvents = new AtomicLong();
+
+    private final boolean isEventsEnabled;
+
+    // number of users that acquired the monitor and did not release it yet
+    private int users = 0;
+
+    // running event stream; null if not started
+    private volatile AutoCloseable eventStream = null;
+
+    private JitMonitor() {
+        final CompilationMXBean bean = ManagementFactory.getCompilationMXBean();
+        this.compilationMillis = bean != null && bean.isCompilationTimeMonitoringSupported()
+                ? bean::getTotalCompilationTime
+                : null;
+        if (this.compilationMillis == null) {
+            logger.warn(LOGGER_PREFIX + "jit compilation time monitoring is not supported by this jvm");
+        }
+        this.isEventsEnabled =
+                Boolean.parseBoolean(System.getProperty(Constants.PROPERTY_KEY_JIT_EVENTS_ENABLED, "true"));
+    }
+
+    // monitor of the given compilation time source, without compile events; for testing
+    JitMonitor(final LongSupplier compilationMillis) {
+        this.compilationMillis = compilationMillis;
+        this.isEventsEnabled = false;
+    }
+
+    static JitMonitor getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * @return true if compilation time can be monitored; false otherwise.
+     */
+    boolean isSupported() {
+        return this.compilationMillis != null;
+    }
+
+    /**
+     * Starts counting compile events if this is the first user; every call has to be paired with a call
+     * to {@link #release()}.
+     */
+    synchronized void acquire() {
+        if (this.users++ == 0 && this.isEventsEnabled) {
+            startEventStream();
+        }
+    }
+
+    /**
+     * Stops counting compile events if this is the last user; counts seen so far are kept.
+     */
+    synchronized void release() {
+        if (this.users == 0 || --this.users > 0) {
+            return;
+        }
+        final AutoCloseable stream = this.eventStream;
+        this.eventStream = null;
+        if (stream != null) {
+            try {
+                stream.close();
+                logger.info(LOGGER_PREFIX + "stopped counting jit compile events");
+            } catch (Exception e) {
+                logger.warn(LOGGER_PREFIX + "failed to close jit compile event stream", e);
+            }
+        }
+    }
+
+    /**
+     * @return true if compile events are being counted; false otherwise.
+     */
+    boolean isEventStreamStarted() {
+        return this.eventStream != null;
+    }
+
+    /**
+     * @return approximate accumulated time spent in JIT compilation, or -1 if not supported.
+     */
+    long getTotalCompilationMillis() {
+        return this.compilationMillis != null ? this.compilationMillis.getAsLong() : -1;
+    }
+
+    /**
+     * @return number of compile events observed since the monitor started; always 0 if not supported.
+     */
+    long getCompileEventCount() {
+        return this.compileEvents.get();
+    }
+
+    // the streaming api is not part of java 8, so it is accessed reflectively
+    private void startEventStream() {
+        try {
+            final Class<?> streamClass = Class.forName("jdk.jfr.consumer.RecordingStream");
+            final AutoCloseable stream = (AutoCloseable) streamClass.getConstructor().newInstance();
+            streamClass.getMethod("enable", String.class).invoke(stream, "jdk.Compilation");
+            final Consumer<Object> onCompilation = event -> this.compileEvents.incrementAndGet();
+            streamClass.getMethod("onEvent", String.class, Consumer.class)
+                    .invoke(stream, "jdk.Compilation", onCompilation);
+            streamClass.getMethod("startAsync").invoke(stream);
+            this.eventStream = stream;
+            logger.info(LOGGER_PREFIX + "counting jit compile events from event stream");
+        } catch (ClassNotFoundException e) {
+            logger.info(LOGGER_PREFIX + "jit compile events are not available on this jvm");
+        } catch (Throwable e) {
+            logger.warn(LOGGER_PREFIX + "failed to start jit compile event stream", e);
+        }
+    }
+
+    // lazily created on first use
+    private static final class Holder {
+        private static final JitMonitor INSTANCE = new JitMonitor();
+    }
+}
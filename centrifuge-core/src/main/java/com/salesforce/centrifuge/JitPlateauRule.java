@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Completes a warmer once JIT compilation plateaus; that is, once the increase in total compilation
+ * time over a sliding window of iterations stays under a threshold, and the number of compile events
+ * (where available) seen during the window stays under another threshold.
+ *
+ * The window is sampled in {@link #SAMPLES} steps, so it is rounded down to a multiple of that.
+ */
+final class JitPlateauRule implements CompletionRule {
+
+    static final int SAMPLES = 8;
+
+    private static final int NEW = 0;
+    private static final int STARTED = 1;
+    private static final int STOPPED = 2;
+
+    private final JitMonitor monitor;
+    private final long thresholdMillis;
+    private final long thresholdCompiles;
+    private final int step;
+
+    // ring buffers holding the last SAMPLES + 1 samples
+    private final long[] compilationMillis = new long[SAMPLES + 1];
+    private final long[] compileEvents = new long[SAMPLES + 1];
+    private long samples = 0;
+    private long nextSampleIteration = 0;
+
+    // the monitor is used only while started, and never again once stopped
+    private final AtomicInteger state = new AtomicInteger(NEW);
+
+    JitPlateauRule(final JitMonitor monitor, int windowIterations, long thresholdMillis, long thresholdCompiles) {
+        this.monitor = monitor;
+        this.thresholdMillis = thresholdMillis;
+        this.thresholdCompiles = thresholdCompiles;
+        this.step = Math.max(1, windowIterations / SAMPLES);
+    }
+
+    @Override
+    public void start() {
+        if (this.state.compareAndSet(NEW, STARTED)) {
+            this.monitor.acquire();
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (this.state.getAndSet(STOPPED) == STARTED) {
+            this.monitor.release();
+        }
+    }
+
+    @Override
+    public boolean isComplete(final WarmerContainer container, long latencyNanos) {
+        // batch warmers may advance more than one iteration at a time
+        if (!this.monitor.isSupported() || container.getIteration() < this.nextSampleIteration) {
+            return false;
+        }
+        this.nextSampleIteration = container.getIteration() + this.step;
+
+        final int slot = (int) (this.samples % (SAMPLES + 1));
+        this.compilationMillis[slot] = this.monitor.getTotalCompilationMillis();
+        this.compileEvents[slot] = this.monitor.getCompileEventCount();
+        this.samples++;
+        if (this.samples <= SAMPLES) {
+            return false;
+        }
+
+        // oldest sample is the one taken SAMPLES steps ago
+        final int oldest = (int) (this.samples % (SAMPLES + 1));
+        return this.compilationMillis[slot] - this.compilationMillis[oldest] < this.thresholdMillis
+                && this.compileEvents[slot] - this.compileEvents[oldest] < this.thresholdCompiles;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed memory histogram of latencies with log-linear buckets, similar to HdrHistogram: values are
+ * grouped by power of two, and each power of two is split into {@link #SUB_BUCKET_HALF_COUNT} linear
+ * sub-buckets, which keeps the relative error of reported values under ~6%.
+ *
+ * Recording does not allocate and is meant to be done by a single thread; reads can happen
+ * concurrently from any thread and see a possibly slightly stale view.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+
+    // values above this (~18 minutes in nanos) are recorded in the last bucket
+    static final long MAX_TRACKABLE_VALUE = (1L << 40) - 1;
+
+    private static final int BUCKET_COUNT = indexOf(MAX_TRACKABLE_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private volatile long totalCount = 0;
+    private volatile long totalValue = 0;
+    private volatile long maxValue = 0;
+
+    /**
+     * Records a value; should only be called by a single thread at a time.
+     *
+     * @param value value to record, in nanos; negative values are ignored.
+     */
+    public void record(long value) {
+        if (value < 0) {
+            return;
+        }
+        final long trackedValue = Math.min(value, MAX_TRACKABLE_VALUE);
+        final int index = indexOf(trackedValue);
+        this.counts.lazySet(index, this.counts.get(index) + 1);
+        if (value > this.maxValue) {
+            this.maxValue = value;
+        }
+        this.totalValue += trackedValue;
+        this.totalCount++;
+    }
+
+    /**
+     * Clears all recorded values; should only be called by the recording thread.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            this.counts.lazySet(i, 0);
+        }
+        this.maxValue = 0;
+        this.totalValue = 0;
+        this.totalCount = 0;
+    }
+
+    /**
+     * Adds all values recorded by another histogram, e.g. to aggregate the instances of a warmer;
+     * should only be called by a single thread at a time.
+     */
+    void add(final LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            final long count = other.counts.get(i);
+            if (count > 0) {
+                this.counts.lazySet(i, this.counts.get(i) + count);
+            }
+        }
+        this.maxValue = Math.max(this.maxValue, other.maxValue);
+        this.totalValue += other.totalValue;
+        this.totalCount += other.totalCount;
+    }
+
+    public long getTotalCount() {
+        return this.totalCount;
+    }
+
+    /**
+     * @return sum of all recorded values, in nanos, with values above the trackable range counted at
+     * its maximum; exact otherwise, unlike the values read from the buckets.
+     */
+    public long getTotalValue() {
+        return this.totalValue;
+    }
+
+    public long getMaxValue() {
+        return this.maxValue;
+    }
+
+    /**
+     * Returns the number of recorded values at or below the given value, e.g. for the cumulative buckets
+     * of a prometheus histogram; values in the same bucket as the given value are counted too.
+     *
+     * @param value upper bound, in nanos
+     * @return number of values recorded up to the bucket of the given value.
+     */
+    public long getCountAtOrBelow(long value) {
+        if (value < 0) {
+            return 0;
+        }
+        final int maxIndex = indexOf(Math.min(value, MAX_TRACKABLE_VALUE));
+        long count = 0;
+        for (int i = 0; i <= maxIndex; ++i) {
+            count += this.counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the value at the given percentile; the value is the highest value equivalent to the
+     * bucket the percentile falls in, capped at the max recorded value.
+     *
+     * @param percentile percentile between 0 and 100
+     * @return value at the given percentile, or 0 if nothing is recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            total += this.counts.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        final long target = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * total));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            cumulative += this.counts.get(i);
+            if (cumulative >= target) {
+                return Math.min(highestEquivalentValue(i), this.maxValue);
+            }
+        }
+        return this.maxValue;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        // shift so that the value falls in the upper half of the sub-buckets
+        final int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        final int subBucket = (int) (value >>> shift);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT + (subBucket - SUB_BUCKET_HALF_COUNT);
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int offset = index - SUB_BUCKET_COUNT;
+        final int shift = offset / SUB_BUCKET_HALF_COUNT + 1;
+        final long subBucket = offset % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
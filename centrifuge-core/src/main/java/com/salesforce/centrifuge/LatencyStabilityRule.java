@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+/**
+ * Completes a warmer once its p99 latency stabilises; that is, once the p99 latencies of the last
+ * K consecutive windows of iterations are all within a tolerance (percentage) of each other.
+ */
+final class LatencyStabilityRule implements CompletionRule {
+
+    private final int windowIterations;
+    private final double tolerancePercent;
+
+    // histogram of the current window only
+    private final LatencyHistogram windowHistogram = new LatencyHistogram();
+
+    // ring buffer of p99 latencies of the last K windows
+    private final long[] p99s;
+    private long windows = 0;
+
+    LatencyStabilityRule(int windowIterations, int stableWindows, double tolerancePercent) {
+        this.windowIterations = windowIterations;
+        this.tolerancePercent = tolerancePercent;
+        this.p99s = new long[Math.max(2, stableWindows)];
+    }
+
+    @Override
+    public boolean isComplete(final WarmerContainer container, long latencyNanos) {
+        this.windowHistogram.record(latencyNanos);
+        if (this.windowHistogram.getTotalCount() < this.windowIterations) {
+            return false;
+        }
+
+        this.p99s[(int) (this.windows++ % this.p99s.length)] = this.windowHistogram.getValueAtPercentile(99.0);
+        this.windowHistogram.reset();
+        if (this.windows < this.p99s.length) {
+            return false;
+        }
+
+        long min = Long.MAX_VALUE;
+        long max = 0;
+        for (final long p99 : this.p99s) {
+            min = Math.min(min, p99);
+            max = Math.max(max, p99);
+        }
+        return max - min <= min * this.tolerancePercent / 100.0;
+    }
+}
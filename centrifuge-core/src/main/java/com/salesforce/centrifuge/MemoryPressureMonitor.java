@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.salesforce.centrifuge.Constants.LOGGER_PREFIX;
+
+/**
+ * Detects memory pressure from gc notifications and old gen usage thresholds. Gc overhead is the
+ * share of wall clock time spent in stop-the-world collections, measured over windows of at least
+ * {@link #WINDOW_MILLIS}; old gen occupancy is checked against a collection usage threshold, i.e.
+ * usage right after the last collection. Pressure clears once neither limit is crossed for
+ * {@link #CLEAR_WINDOWS} consecutive windows.
+ */
+class MemoryPressureMonitor implements NotificationListener {
+    private static final Logger logger = LoggerFactory.getLogger(MemoryPressureMonitor.class);
+
+    static final long WINDOW_MILLIS = 1000;
+    static final int CLEAR_WINDOWS = 2;
+
+    private final double maxGcOverheadPercent;
+    private final double maxOldGenPercent;
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+    private final List<MemoryPoolMXBean> oldGenPools = new ArrayList<>();
+
+    // thresholds are jvm wide; the ones set before start are restored on stop
+    private final Map<MemoryPoolMXBean, Long> previousThresholds = new LinkedHashMap<>();
+
+    // total duration of collections seen in notifications
+    private final AtomicLong gcNanos = new AtomicLong();
+
+    private long windowStartNanos;
+    private long windowStartGcNanos;
+    private int clearWindows = 0;
+    private String pressure = null;
+
+    MemoryPressureMonitor(double maxGcOverheadPercent, double maxOldGenPercent) {
+        this.maxGcOverheadPercent = maxGcOverheadPercent;
+        this.maxOldGenPercent = maxOldGenPercent;
+    }
+
+    void start() {
+        for (final GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gc instanceof NotificationEmitter) {
+                ((NotificationEmitter) gc).addNotificationListener(this, null, null);
+                this.emitters.add((NotificationEmitter) gc);
+            }
+        }
+        if (this.maxOldGenPercent > 0) {
+            for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                final long max = pool.getUsage() != null ? pool.getUsage().getMax() : -1;
+                if (pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported()
+                        && max > 0 && !pool.getName().contains("Eden") && !pool.getName().contains("Survivor")) {
+                    this.previousThresholds.put(pool, pool.getCollectionUsageThreshold());
+                    pool.setCollectionUsageThreshold((long) (max * this.maxOldGenPercent / 100));
+                    this.oldGenPools.add(pool);
+                }
+            }
+        }
+        this.windowStartNanos = System.nanoTime();
+        this.windowStartGcNanos = this.gcNanos.get();
+    }
+
+    void stop() {
+        for (final NotificationEmitter emitter : this.emitters) {
+            try {
+                emitter.removeNotificationListener(this);
+            } catch (Exception e) {
+                logger.debug(LOGGER_PREFIX + "failed to remove gc listener", e);
+            }
+        }
+        this.emitters.clear();
+        this.previousThresholds.forEach((pool, threshold) -> {
+            try {
+                pool.setCollectionUsageThreshold(threshold);
+            } catch (Exception e) {
+                logger.debug(LOGGER_PREFIX + "failed to restore collection usage threshold of {}", pool.getName(), e);
+            }
+        });
+        this.previousThresholds.clear();
+        this.oldGenPools.clear();
+    }
+
+    @Override
+    public void handleNotification(final Notification notification, final Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        final GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        // concurrent cycles of zgc and shenandoah do not stop application threads
+        if (info.getGcName().endsWith("Cycles")) {
+            return;
+        }
+        this.gcNanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(info.getGcInfo().getDuration()));
+    }
+
+    // for tests
+    void recordGc(long nanos) {
+        this.gcNanos.addAndGet(nanos);
+    }
+
+    /**
+     * Checks limits once a window is over; called periodically by the engine.
+     *
+     * @return reason of memory pressure, or null if there is none.
+     */
+    String sample(long nowNanos) {
+        final long elapsedNanos = nowNanos - this.windowStartNanos;
+        if (elapsedNanos < TimeUnit.MILLISECONDS.toNanos(WINDOW_MILLIS)) {
+            return this.pressure;
+        }
+        final long gcNanos = this.gcNanos.get();
+        final double gcOverheadPercent = 100.0 * (gcNanos - this.windowStartGcNanos) / elapsedNanos;
+        this.windowStartNanos = nowNanos;
+        this.windowStartGcNanos = gcNanos;
+
+        String reason = null;
+        if (this.maxGcOverheadPercent > 0 && gcOverheadPercent > this.maxGcOverheadPercent) {
+            reason = String.format("gc overhead %.1f%% above %.1f%%", gcOverheadPercent, this.maxGcOverheadPercent);
+        }
+        for (final MemoryPoolMXBean pool : this.oldGenPools) {
+            if (pool.isCollectionUsageThresholdExceeded()) {
+                reason = String.format("%s occupancy after gc above %.1f%%", pool.getName(), this.maxOldGenPercent);
+            }
+        }
+        if (reason != null) {
+            this.pressure = reason;
+            this.clearWindows = 0;
+        } else if (this.pressure != null && ++this.clearWindows >= CLEAR_WINDOWS) {
+            this.pressure = null;
+        }
+        return this.pressure;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+/**
+ * Metrics of the engine and its warmers, passed to a {@link MetricsVisitor}. Names are dot separated
+ * and carry neither unit nor type suffixes, which exporters add as their format requires.
+ */
+public enum Metric {
+
+    WARM("centrifuge.warm", Type.GAUGE, null,
+            "1 if all required warmers are stopped, 0 otherwise"),
+    TIME_TO_WARM("centrifuge.time.to.warm", Type.GAUGE, "seconds",
+            "time from the last start until all required warmers stopped; not reported until warm"),
+    START_TIME("centrifuge.start.time", Type.GAUGE, "seconds",
+            "epoch time of the last start; not reported until started"),
+
+    WARMER_ITERATIONS("centrifuge.warmer.iterations", Type.COUNTER, null,
+            "iterations started by all instances of the warmer"),
+    WARMER_SUCCESSES("centrifuge.warmer.successes", Type.COUNTER, null,
+            "successful rounds of all instances of the warmer"),
+    WARMER_FAILURES("centrifuge.warmer.failures", Type.COUNTER, null,
+            "failed rounds of all instances of the warmer"),
+    WARMER_CPU("centrifuge.warmer.cpu", Type.COUNTER, "seconds",
+            "cpu time spent in init() and next() by all instances of the warmer"),
+    WARMER_ALLOCATED("centrifuge.warmer.allocated", Type.COUNTER, "bytes",
+            "bytes allocated in init() and next() by all instances of the warmer"),
+    WARMER_RUNNING_INSTANCES("centrifuge.warmer.running.instances", Type.GAUGE, null,
+            "instances of the warmer started and not stopped yet"),
+    WARMER_EXECUTION("centrifuge.warmer.execution", Type.TIMER, "seconds",
+            "rounds of all instances of the warmer, and the time spent running them"),
+    WARMER_LATENCY("centrifuge.warmer.latency", Type.HISTOGRAM, "seconds",
+            "latencies of next() calls of all instances of the warmer");
+
+    /**
+     * Kind of a metric, which determines the {@link MetricsVisitor} method it is passed to.
+     */
+    public enum Type {
+        COUNTER,
+        GAUGE,
+        TIMER,
+        HISTOGRAM
+    }
+
+    private final String name;
+    private final Type type;
+    private final String baseUnit;
+    private final String description;
+
+    Metric(final String name, final Type type, final String baseUnit, final String description) {
+        this.name = name;
+        this.type = type;
+        this.baseUnit = baseUnit;
+        this.description = description;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public Type getType() {
+        return this.type;
+    }
+
+    /**
+     * @return unit of the values, e.g. seconds or bytes; null for plain counts.
+     */
+    public String getBaseUnit() {
+        return this.baseUnit;
+    }
+
+    public String getDescription() {
+        return this.description;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+import java.util.Map;
+
+/**
+ * Publishes the metrics of an engine, e.g. to a metrics registry or an endpoint; see
+ * {@link CentrifugeConfig#addMetricsExporter(MetricsExporter, Map)}. Exporters pull metrics with
+ * {@link Centrifuge#collectMetrics(MetricsVisitor)} rather than being called by the warmer threads, so exporting
+ * adds no work to the warmers.
+ * <p>
+ * Exporters are started the first time the engine starts, and keep publishing after it stops, so that the final
+ * stats of a run and the time to warm stay visible, and across restarts. Threads of exporters should be daemon
+ * threads, so that they do not keep the jvm alive. Exporters configured in the config file are created with
+ * their no-arg constructor.
+ */
+public interface MetricsExporter {
+
+    /**
+     * Starts publishing the metrics of the given engine; called on the thread starting the engine.
+     *
+     * @param centrifuge engine to export the metrics of
+     * @param params custom parameters of this exporter
+     * @throws Exception if the exporter cannot start; the engine starts regardless
+     */
+    void start(Centrifuge centrifuge, Map<String, Object> params) throws Exception;
+
+    /**
+     * Called every time the engine stops, after all warmers are stopped, e.g. to publish the final stats of
+     * the run right away.
+     */
+    default void onEngineStopped() {
+    }
+
+    /**
+     * Stops publishing and releases resources, e.g. the port of an endpoint; not called by the engine, but by
+     * applications that outlive the exporter.
+     */
+    void stop();
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+/**
+ * Receives the current metrics of the engine and its warmers on {@link Centrifuge#collectMetrics(MetricsVisitor)}.
+ * Metrics of a warmer are aggregated over its instances and passed with the warmer name; engine metrics are
+ * passed with a null warmer name. Values are in the base unit of the metric, see {@link Metric#getBaseUnit()}.
+ */
+public interface MetricsVisitor {
+
+    /**
+     * Receives a {@link Metric.Type#COUNTER}, a value that only grows within a run of the engine.
+     */
+    void counter(Metric metric, String warmer, double value);
+
+    /**
+     * Receives a {@link Metric.Type#GAUGE}, a current value.
+     */
+    void gauge(Metric metric, String warmer, double value);
+
+    /**
+     * Receives a {@link Metric.Type#TIMER}, a number of events and their total duration.
+     */
+    void timer(Metric metric, String warmer, long count, double totalSeconds);
+
+    /**
+     * Receives a {@link Metric.Type#HISTOGRAM}; the histogram is a copy owned by the caller, and records values
+     * in nanos.
+     */
+    void histogram(Metric metric, String warmer, LatencyHistogram histogram);
+}
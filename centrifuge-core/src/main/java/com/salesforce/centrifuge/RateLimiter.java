@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket limiting the rate of operations shared by many threads. The bucket holds
+ * up to {@link #BURST_MILLIS} worth of tokens; it is tracked as the time at which the bucket is
+ * empty, updated with a single compare-and-set, so there is no lock to contend on. A call taking
+ * more tokens than available succeeds as long as the bucket is not empty, and later calls wait until
+ * the debt is paid; this lets batches larger than the bucket through without exceeding the rate.
+ */
+class RateLimiter {
+    static final long BURST_MILLIS = 100;
+    private static final long BURST_NANOS = TimeUnit.MILLISECONDS.toNanos(BURST_MILLIS);
+
+    // time at which all tokens taken so far are replenished
+    private final AtomicLong emptyUntilNanos = new AtomicLong(Long.MIN_VALUE);
+
+    private volatile double ratePerSecond;
+
+    RateLimiter(double ratePerSecond) {
+        setRate(ratePerSecond);
+    }
+
+    /**
+     * @return rate of operations per second; 0 if unlimited.
+     */
+    double getRate() {
+        return this.ratePerSecond;
+    }
+
+    /**
+     * @param ratePerSecond rate of operations per second; 0 or less disables the limit.
+     */
+    void setRate(double ratePerSecond) {
+        this.ratePerSecond = Math.max(0, ratePerSecond);
+    }
+
+    /**
+     * Takes tokens if the bucket is not empty.
+     *
+     * @return 0 if tokens are taken; otherwise nanos to wait before trying again.
+     */
+    long tryAcquire(int permits, long nowNanos) {
+        final double rate = this.ratePerSecond;
+        if (rate <= 0) {
+            return 0;
+        }
+        final long costNanos = costNanos(permits, rate);
+        while (true) {
+            final long emptyUntil = this.emptyUntilNanos.get();
+            // the bucket never holds more than burst worth of tokens
+            final long full = Math.max(emptyUntil, nowNanos - BURST_NANOS);
+            if (full > nowNanos) {
+                return full - nowNanos;
+            }
+            if (this.emptyUntilNanos.compareAndSet(emptyUntil, full + costNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Gives back tokens taken by {@link #tryAcquire(int, long)} that ended up not being used.
+     */
+    void release(int permits) {
+        final double rate = this.ratePerSecond;
+        if (rate > 0) {
+            this.emptyUntilNanos.addAndGet(-costNanos(permits, rate));
+        }
+    }
+
+    private static long costNanos(int permits, double rate) {
+        return (long) (permits * TimeUnit.SECONDS.toNanos(1) / rate);
+    }
+}
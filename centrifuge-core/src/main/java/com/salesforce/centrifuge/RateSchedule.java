@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Start times of iterations running at a target rate, after a linear ramp up from 0. Start times are
+ * computed from the iteration number rather than from the previous start time, so rounding errors do
+ * not add up and the schedule does not drift.
+ */
+class RateSchedule {
+    private final double ratePerNano;
+    private final double rampNanos;
+    // number of iterations started during the ramp up
+    private final double rampIterations;
+    private long startNanos;
+    private long next = 0;
+
+    RateSchedule(double ratePerSecond, long rampMillis) {
+        this.ratePerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.rampNanos = TimeUnit.MILLISECONDS.toNanos(rampMillis);
+        this.rampIterations = this.ratePerNano * this.rampNanos / 2;
+    }
+
+    void start(long nowNanos) {
+        this.startNanos = nowNanos;
+        this.next = 0;
+    }
+
+    /**
+     * @return scheduled start time of the next iteration, in {@link System#nanoTime()} terms.
+     */
+    long nextNanos() {
+        return this.startNanos + offsetNanos(this.next);
+    }
+
+    void advance() {
+        this.next++;
+    }
+
+    // rate grows linearly during the ramp, so n(t) = rate * t^2 / (2 * ramp)
+    private long offsetNanos(long iteration) {
+        if (iteration < this.rampIterations) {
+            return (long) Math.sqrt(2 * this.rampNanos * iteration / this.ratePerNano);
+        }
+        return (long) (this.rampNanos + (iteration - this.rampIterations) / this.ratePerNano);
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+/**
+ * Single timer thread for short tasks that must run even if all warmer threads are blocked, e.g. call
+ * deadlines; created on first use, and never blocks jvm exit.
+ */
+final class SharedTimer {
+    static final ScheduledExecutorService INSTANCE = newInstance();
+
+    private SharedTimer() {
+        throw new UnsupportedOperationException();
+    }
+
+    private static ScheduledExecutorService newInstance() {
+        final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1,
+                new ThreadFactoryBuilder().setNameFormat("centrifuge-timer").setDaemon(true).build());
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Reads cpu time and allocated bytes of the current thread; readings are -1 if not supported by the
+ * jvm, or for the current thread (e.g. virtual threads).
+ */
+final class ThreadMeter {
+    private static final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private static final com.sun.management.ThreadMXBean allocationBean = newAllocationBean();
+    private static final boolean isCpuTimeEnabled = threadBean.isCurrentThreadCpuTimeSupported()
+            && threadBean.isThreadCpuTimeEnabled();
+
+    private ThreadMeter() {
+        throw new UnsupportedOperationException();
+    }
+
+    private static com.sun.management.ThreadMXBean newAllocationBean() {
+        if (!(threadBean instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        final com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) threadBean;
+        return bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled() ? bean : null;
+    }
+
+    static long currentThreadCpuNanos() {
+        return isCpuTimeEnabled ? threadBean.getCurrentThreadCpuTime() : -1;
+    }
+
+    @SuppressWarnings("deprecation")
+    static long currentThreadAllocatedBytes() {
+        return allocationBean != null ? allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+    }
+}
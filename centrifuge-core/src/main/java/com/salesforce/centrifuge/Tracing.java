@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+import static com.salesforce.centrifuge.Constants.LOGGER_PREFIX;
+
+/**
+ * Holds the tracer of this jvm; the first {@link CentrifugeTracer} found on the class path, or a no-op one.
+ */
+final class Tracing {
+    private static final Logger logger = LoggerFactory.getLogger(Tracing.class);
+
+    // final, so that call sites see a single implementation and calls to the no-op one are inlined away
+    static final CentrifugeTracer TRACER = loadTracer();
+
+    private Tracing() {
+        throw new UnsupportedOperationException();
+    }
+
+    private static CentrifugeTracer loadTracer() {
+        try {
+            final Iterator<CentrifugeTracer> tracers = ServiceLoader.load(CentrifugeTracer.class,
+                    Tracing.class.getClassLoader()).iterator();
+            if (tracers.hasNext()) {
+                final CentrifugeTracer tracer = tracers.next();
+                logger.info(LOGGER_PREFIX + "tracing with {}", tracer.getClass().getName());
+                return tracer;
+            }
+        } catch (ServiceConfigurationError | LinkageError e) {
+            // e.g. a tracer built for a newer jvm than the running one
+            logger.warn(LOGGER_PREFIX + "failed to load tracer; tracing is disabled", e);
+        }
+        return new CentrifugeTracer() {
+        };
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static com.salesforce.centrifuge.Constants.LOGGER_PREFIX;
+
+/**
+ * Scheduled executor that runs every task on a new virtual thread; a single platform thread acts as
+ * timer, and hands tasks over to virtual threads when their delay expires. Only available on JDK 21+.
+ *
+ * Every way of submitting a task goes through the virtual threads, and futures complete once the task
+ * finished running. Periodic tasks never overlap, the same as with {@link ScheduledThreadPoolExecutor};
+ * their next run is scheduled once the current one finished. Delayed tasks are dropped on shutdown.
+ */
+class VirtualThreadExecutorService extends AbstractExecutorService implements ScheduledExecutorService {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadExecutorService.class);
+
+    // only hands tasks over to the workers, never runs them itself
+    private final ScheduledThreadPoolExecutor timer;
+
+    private final ExecutorService workers;
+
+    // workers are passed in by tests, to run on platform threads
+    VirtualThreadExecutorService(final ExecutorService workers) {
+        this.timer = new ScheduledThreadPoolExecutor(1,
+                new ThreadFactoryBuilder().setNameFormat("centrifuge-timer").setDaemon(true).build());
+        this.timer.setRemoveOnCancelPolicy(true);
+        this.timer.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.workers = workers;
+    }
+
+    /**
+     * Creates a new instance if virtual threads are supported by the running JVM.
+     *
+     * @return new executor service, or null if virtual threads are not supported.
+     */
+    static VirtualThreadExecutorService newInstance() {
+        try {
+            // not part of java 8, so it is accessed reflectively
+            final ExecutorService workers = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+            return new VirtualThreadExecutorService(workers);
+        } catch (NoSuchMethodException e) {
+            logger.warn(LOGGER_PREFIX + "virtual threads are not available on this jvm");
+        } catch (Exception e) {
+            // jdk 19 and 20 throw if preview features are not enabled
+            logger.warn(LOGGER_PREFIX + "virtual threads are not supported on this jvm", e);
+        }
+        return null;
+    }
+
+    // submit(), invokeAll() and invokeAny() of the parent class end up here as well
+    @Override
+    public void execute(final Runnable command) {
+        this.workers.execute(command);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(final Runnable command, long delay, final TimeUnit unit) {
+        return schedule(Executors.callable(command), delay, unit);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(final Callable<V> callable, long delay, final TimeUnit unit) {
+        final DelayedTask<V> task = new DelayedTask<>(callable);
+        task.handOver(unit.toNanos(delay));
+        return task;
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(final Runnable command, long initialDelay, long period,
+                                                  final TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        final PeriodicTask task = new PeriodicTask(command, unit.toNanos(period), true);
+        task.scheduleFirst(unit.toNanos(initialDelay));
+        return task;
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(final Runnable command, long initialDelay, long delay,
+                                                     final TimeUnit unit) {
+        if (delay <= 0) {
+            throw new IllegalArgumentException("delay must be positive");
+        }
+        final PeriodicTask task = new PeriodicTask(command, unit.toNanos(delay), false);
+        task.scheduleFirst(unit.toNanos(initialDelay));
+        return task;
+    }
+
+    @Override
+    public void shutdown() {
+        this.timer.shutdown();
+        this.workers.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        final List<Runnable> pending = new ArrayList<>(this.timer.shutdownNow());
+        pending.addAll(this.workers.shutdownNow());
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return this.timer.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return this.timer.isTerminated() && this.workers.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadlineNanos = System.nanoTime() + unit.toNanos(timeout);
+        return this.timer.awaitTermination(timeout, unit)
+                && this.workers.awaitTermination(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Task run once on a worker after a delay; cancelling it cancels the hand over as well.
+     */
+    private class DelayedTask<V> extends FutureTask<V> implements ScheduledFuture<V> {
+        // hand over to the workers; replaced for every run of periodic tasks
+        private volatile ScheduledFuture<?> handOverFuture;
+
+        DelayedTask(final Callable<V> callable) {
+            super(callable);
+        }
+
+        DelayedTask(final Runnable runnable) {
+            super(runnable, null);
+        }
+
+        // schedules the hand over of this task to the workers after the given delay
+        void handOver(long delayNanos) {
+            this.handOverFuture = VirtualThreadExecutorService.this.timer.schedule(
+                    () -> VirtualThreadExecutorService.this.workers.execute(this),
+                    delayNanos, TimeUnit.NANOSECONDS);
+            // cancelled in between, e.g. while a periodic task was running
+            if (isCancelled()) {
+                this.handOverFuture.cancel(false);
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            final boolean isCancelled = super.cancel(mayInterruptIfRunning);
+            final ScheduledFuture<?> handOverFuture = this.handOverFuture;
+            if (isCancelled && handOverFuture != null) {
+                handOverFuture.cancel(false);
+            }
+            return isCancelled;
+        }
+
+        @Override
+        public long getDelay(final TimeUnit unit) {
+            final ScheduledFuture<?> handOverFuture = this.handOverFuture;
+            return handOverFuture != null ? handOverFuture.getDelay(unit) : 0L;
+        }
+
+        @Override
+        public int compareTo(final Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+
+    /**
+     * Task run repeatedly on workers; runs until cancelled, or until it throws, which completes its future.
+     */
+    private final class PeriodicTask extends DelayedTask<Void> {
+        private final long periodNanos;
+        private final boolean isFixedRate;
+
+        // nano time the next run is due
+        private long nextRunNanos;
+
+        PeriodicTask(final Runnable command, long periodNanos, boolean isFixedRate) {
+            super(command);
+            this.periodNanos = periodNanos;
+            this.isFixedRate = isFixedRate;
+        }
+
+        void scheduleFirst(long initialDelayNanos) {
+            this.nextRunNanos = System.nanoTime() + initialDelayNanos;
+            handOver(initialDelayNanos);
+        }
+
+        @Override
+        public void run() {
+            if (!runAndReset()) {
+                return;
+            }
+            final long nowNanos = System.nanoTime();
+            this.nextRunNanos = this.isFixedRate ? this.nextRunNanos + this.periodNanos : nowNanos + this.periodNanos;
+            try {
+                handOver(Math.max(0L, this.nextRunNanos - nowNanos));
+            } catch (RejectedExecutionException e) {
+                // shut down while running
+                cancel(false);
+            }
+        }
+    }
+}
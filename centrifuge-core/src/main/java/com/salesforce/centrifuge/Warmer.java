@@ -16,7 +16,9 @@ public interface Warmer {
      * is thrown, centrifuge pauses (thread sleeps) for a configurable
      * duration, and then retries calling init.
      *
-     * @param params parameters passed from config file
+     * @param params parameters passed from config file, plus the index of this instance
+     *               ({@link Constants#PARAM_KEY_INSTANCE_INDEX}) and the number of instances
+     *               ({@link Constants#PARAM_KEY_INSTANCE_COUNT}) of the warmer
      */
     void init(final Map<String, Object> params) throws Exception;
 
@@ -8,9 +8,11 @@
 package com.salesforce.centrifuge;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import static com.salesforce.centrifuge.Constants.*;
@@ -32,15 +34,43 @@ public class WarmerConfig {
     static final long DEFAULT_MAX_FAILURE = Long.getLong(PROPERTY_KEY_DEFAULT_MAX_FAILURE,
             PROPERTY_VALUE_DEFAULT_MAX_FAILURE);
 
+    static final int DEFAULT_BURST_ITERATIONS = Integer.getInteger(PROPERTY_KEY_DEFAULT_BURST_ITERATIONS,
+            PROPERTY_VALUE_DEFAULT_BURST_ITERATIONS);
+
+    static final int DEFAULT_BURST_MILLIS = Integer.getInteger(PROPERTY_KEY_DEFAULT_BURST_MILLIS,
+            PROPERTY_VALUE_DEFAULT_BURST_MILLIS);
+
     private Class<? extends Warmer> warmerClass = null;
     private String name = "";
     private int timeoutMillis = DEFAULT_TIMEOUT_MILLIS;
-    private int yieldMillis = DEFAULT_YIELD_MILLIS;
-    private long maxIterations = DEFAULT_MAX_ITERATIONS;
+    // can be changed while warmers are running, see WarmerControllerMXBean
+    private volatile int yieldMillis = DEFAULT_YIELD_MILLIS;
+    private volatile long maxIterations = DEFAULT_MAX_ITERATIONS;
     private long maxFailure = DEFAULT_MAX_FAILURE;
-    private int concurrency = DEFAULT_CONCURRENCY;
+    private volatile int concurrency = DEFAULT_CONCURRENCY;
     private boolean required = false;
+    private boolean threadSafe = true;
+    private boolean reuseOnRerun = false;
+    private int burstIterations = DEFAULT_BURST_ITERATIONS;
+    private int burstMillis = DEFAULT_BURST_MILLIS;
+    private int maxBatchSize = PROPERTY_VALUE_DEFAULT_MAX_BATCH_SIZE;
+    private int maxInFlight = PROPERTY_VALUE_DEFAULT_MAX_IN_FLIGHT;
+    private int batchTargetMicros = PROPERTY_VALUE_DEFAULT_BATCH_TARGET_MICROS;
+    private int jitPlateauWindow = PROPERTY_VALUE_DEFAULT_JIT_PLATEAU_WINDOW;
+    private long jitPlateauThresholdMillis = PROPERTY_VALUE_DEFAULT_JIT_PLATEAU_THRESHOLD_MILLIS;
+    private long jitPlateauThresholdCompiles = PROPERTY_VALUE_DEFAULT_JIT_PLATEAU_THRESHOLD_COMPILES;
+    private int latencyWindow = PROPERTY_VALUE_DEFAULT_LATENCY_WINDOW;
+    private int latencyStableWindows = PROPERTY_VALUE_DEFAULT_LATENCY_STABLE_WINDOWS;
+    private double latencyTolerancePercent = PROPERTY_VALUE_DEFAULT_LATENCY_TOLERANCE_PERCENT;
+    private double targetRate = PROPERTY_VALUE_DEFAULT_TARGET_RATE;
+    private int rampMillis = PROPERTY_VALUE_DEFAULT_RAMP_MILLIS;
+    private double maxRate = PROPERTY_VALUE_DEFAULT_MAX_RATE;
+    private int callTimeoutMillis = PROPERTY_VALUE_DEFAULT_CALL_TIMEOUT_MILLIS;
+    private long maxCpuMillis = PROPERTY_VALUE_DEFAULT_MAX_CPU_MILLIS;
+    private long maxAllocBytes = PROPERTY_VALUE_DEFAULT_MAX_ALLOC_BYTES;
     private Map<String, Object> params = Collections.emptyMap();
+    private int phase = 0;
+    private List<String> dependsOn = Collections.emptyList();
 
     public long getMaxIterations() {
         return this.maxIterations;
@@ -130,5 +160,348 @@ public class WarmerConfig {
         this.required = required;
         return this;
     }
-}
 
+    /**
+     * Whether re-runs keep the warmer objects that are already initialized and skip init(), e.g. when
+     * the engine is started again; warmer objects are then not closed when the warmer stops.
+     *
+     * @return true if initialized warmer objects are reused.
+     */
+    public boolean isReuseOnRerun() {
+        return this.reuseOnRerun;
+    }
+
+    public WarmerConfig setReuseOnRerun(boolean reuseOnRerun) {
+        this.reuseOnRerun = reuseOnRerun;
+        return this;
+    }
+
+    /**
+     * Phase this warmer runs in; a warmer starts only after all warmers in lower phases are stopped.
+     *
+     * @return phase number.
+     */
+    public int getPhase() {
+        return this.phase;
+    }
+
+    public WarmerConfig setPhase(int phase) {
+        this.phase = phase;
+        return this;
+    }
+
+    /**
+     * Names of warmers that have to stop before this warmer starts; if any of them is required and
+     * fails, this warmer is skipped.
+     *
+     * @return names of warmers this warmer depends on.
+     */
+    public List<String> getDependsOn() {
+        return this.dependsOn;
+    }
+
+    public WarmerConfig setDependsOn(final List<String> dependsOn) {
+        if (dependsOn != null) {
+            this.dependsOn = ImmutableList.copyOf(dependsOn);
+        }
+        return this;
+    }
+
+    /**
+     * Whether instances of the warmer can run in parallel; if false, or if the warmer class
+     * is annotated with {@link SingleThreaded}, calls to init() and next() are serialized
+     * across all instances of the warmer class.
+     *
+     * @return true if warmer instances run in parallel; false otherwise.
+     */
+    public boolean isThreadSafe() {
+        return this.threadSafe
+                && (this.warmerClass == null || !this.warmerClass.isAnnotationPresent(SingleThreaded.class));
+    }
+
+    public WarmerConfig setThreadSafe(boolean threadSafe) {
+        this.threadSafe = threadSafe;
+        return this;
+    }
+
+    /**
+     * Maximum number of next() calls to run back to back on the same thread before yielding.
+     *
+     * @return burst size; 1 means yield after every call.
+     */
+    public int getBurstIterations() {
+        return this.burstIterations;
+    }
+
+    public WarmerConfig setBurstIterations(int burstIterations) {
+        // ignore invalid values
+        if (burstIterations > 0) {
+            this.burstIterations = burstIterations;
+        }
+        return this;
+    }
+
+    /**
+     * Maximum time slice to run next() calls back to back before yielding.
+     *
+     * @return time slice in millis; 0 means bursts are bounded by iterations only.
+     */
+    public int getBurstMillis() {
+        return this.burstMillis;
+    }
+
+    public WarmerConfig setBurstMillis(int burstMillis) {
+        if (burstMillis >= 0) {
+            this.burstMillis = burstMillis;
+        }
+        return this;
+    }
+
+    /**
+     * Maximum number of operations passed to a {@link BatchWarmer} in a single call.
+     *
+     * @return maximum batch size.
+     */
+    public int getMaxBatchSize() {
+        return this.maxBatchSize;
+    }
+
+    public WarmerConfig setMaxBatchSize(int maxBatchSize) {
+        if (maxBatchSize > 0) {
+            this.maxBatchSize = maxBatchSize;
+        }
+        return this;
+    }
+
+    /**
+     * Target duration of a single call to a {@link BatchWarmer}; batch size is doubled while calls are
+     * faster than half of this, and halved while they are slower than twice this.
+     *
+     * @return target duration in micros.
+     */
+    public int getBatchTargetMicros() {
+        return this.batchTargetMicros;
+    }
+
+    public WarmerConfig setBatchTargetMicros(int batchTargetMicros) {
+        if (batchTargetMicros > 0) {
+            this.batchTargetMicros = batchTargetMicros;
+        }
+        return this;
+    }
+
+    /**
+     * Maximum number of operations of an {@link AsyncWarmer} instance that can be in flight at once.
+     *
+     * @return maximum number of outstanding operations per instance.
+     */
+    public int getMaxInFlight() {
+        return this.maxInFlight;
+    }
+
+    public WarmerConfig setMaxInFlight(int maxInFlight) {
+        if (maxInFlight > 0) {
+            this.maxInFlight = maxInFlight;
+        }
+        return this;
+    }
+
+    /**
+     * Number of iterations over which JIT compilation is expected to plateau before the warmer is
+     * considered completed; see {@link #getJitPlateauThresholdMillis()}.
+     *
+     * @return window size in iterations; 0 means the rule is disabled.
+     */
+    public int getJitPlateauWindow() {
+        return this.jitPlateauWindow;
+    }
+
+    public WarmerConfig setJitPlateauWindow(int jitPlateauWindow) {
+        if (jitPlateauWindow >= 0) {
+            this.jitPlateauWindow = jitPlateauWindow;
+        }
+        return this;
+    }
+
+    /**
+     * Compilation time considered as plateau if total JIT compilation time grows by less than
+     * this amount within the plateau window.
+     *
+     * @return threshold in millis.
+     */
+    public long getJitPlateauThresholdMillis() {
+        return this.jitPlateauThresholdMillis;
+    }
+
+    public WarmerConfig setJitPlateauThresholdMillis(long jitPlateauThresholdMillis) {
+        if (jitPlateauThresholdMillis > 0) {
+            this.jitPlateauThresholdMillis = jitPlateauThresholdMillis;
+        }
+        return this;
+    }
+
+    /**
+     * Compilation considered as plateau if fewer than this many compile events are seen within the
+     * plateau window; only used on JVMs where compile events are available.
+     *
+     * @return threshold in number of compilations.
+     */
+    public long getJitPlateauThresholdCompiles() {
+        return this.jitPlateauThresholdCompiles;
+    }
+
+    public WarmerConfig setJitPlateauThresholdCompiles(long jitPlateauThresholdCompiles) {
+        if (jitPlateauThresholdCompiles > 0) {
+            this.jitPlateauThresholdCompiles = jitPlateauThresholdCompiles;
+        }
+        return this;
+    }
+
+    /**
+     * Number of iterations in each window over which p99 latency of next() is computed; the warmer
+     * is considered completed once p99 latency is stable over {@link #getLatencyStableWindows()}
+     * consecutive windows.
+     *
+     * @return window size in iterations; 0 means the rule is disabled.
+     */
+    public int getLatencyWindow() {
+        return this.latencyWindow;
+    }
+
+    public WarmerConfig setLatencyWindow(int latencyWindow) {
+        if (latencyWindow >= 0) {
+            this.latencyWindow = latencyWindow;
+        }
+        return this;
+    }
+
+    public int getLatencyStableWindows() {
+        return this.latencyStableWindows;
+    }
+
+    public WarmerConfig setLatencyStableWindows(int latencyStableWindows) {
+        if (latencyStableWindows > 1) {
+            this.latencyStableWindows = latencyStableWindows;
+        }
+        return this;
+    }
+
+    /**
+     * Maximum difference between the lowest and highest p99 latency of the stable windows, as a
+     * percentage of the lowest, for p99 latency to be considered stable.
+     *
+     * @return tolerance in percent.
+     */
+    public double getLatencyTolerancePercent() {
+        return this.latencyTolerancePercent;
+    }
+
+    public WarmerConfig setLatencyTolerancePercent(double latencyTolerancePercent) {
+        if (latencyTolerancePercent >= 0) {
+            this.latencyTolerancePercent = latencyTolerancePercent;
+        }
+        return this;
+    }
+
+    /**
+     * Target rate of iterations per second of each instance; if greater than 0, iterations are started
+     * on a fixed schedule regardless of how long previous ones take (open loop), and yield millis is
+     * ignored. Latencies are measured from the scheduled start of each iteration, so that iterations
+     * delayed by slow ones are accounted for.
+     *
+     * @return target rate per second, or 0 to start an iteration after the previous one is done.
+     */
+    public double getTargetRate() {
+        return this.targetRate;
+    }
+
+    public WarmerConfig setTargetRate(double targetRate) {
+        if (targetRate >= 0) {
+            this.targetRate = targetRate;
+        }
+        return this;
+    }
+
+    /**
+     * Duration over which the rate ramps up linearly from 0 to target rate.
+     *
+     * @return ramp duration in millis.
+     */
+    public int getRampMillis() {
+        return this.rampMillis;
+    }
+
+    public WarmerConfig setRampMillis(int rampMillis) {
+        if (rampMillis >= 0) {
+            this.rampMillis = rampMillis;
+        }
+        return this;
+    }
+
+    /**
+     * Maximum rate of operations per second across all instances of this warmer; can be changed at
+     * runtime through {@link Centrifuge#setWarmerMaxRate(String, double)}.
+     *
+     * @return maximum rate per second, or 0 if unlimited.
+     */
+    public double getMaxRate() {
+        return this.maxRate;
+    }
+
+    public WarmerConfig setMaxRate(double maxRate) {
+        if (maxRate >= 0) {
+            this.maxRate = maxRate;
+        }
+        return this;
+    }
+
+    /**
+     * Maximum time a single call to init() or next() can take before it is interrupted and counted as a
+     * failure; for async warmers, operations in flight for longer are cancelled.
+     *
+     * @return call timeout in millis, or 0 if calls are not timed out.
+     */
+    public int getCallTimeoutMillis() {
+        return this.callTimeoutMillis;
+    }
+
+    public WarmerConfig setCallTimeoutMillis(int callTimeoutMillis) {
+        if (callTimeoutMillis >= 0) {
+            this.callTimeoutMillis = callTimeoutMillis;
+        }
+        return this;
+    }
+
+    /**
+     * Maximum cpu time each instance of this warmer can spend in init() and next() before it is stopped.
+     *
+     * @return maximum cpu time in millis.
+     */
+    public long getMaxCpuMillis() {
+        return this.maxCpuMillis;
+    }
+
+    public WarmerConfig setMaxCpuMillis(long maxCpuMillis) {
+        if (maxCpuMillis > 0) {
+            this.maxCpuMillis = maxCpuMillis;
+        }
+        return this;
+    }
+
+    /**
+     * Maximum number of bytes each instance of this warmer can allocate in init() and next() before
+     * it is stopped.
+     *
+     * @return maximum allocated bytes.
+     */
+    public long getMaxAllocBytes() {
+        return this.maxAllocBytes;
+    }
+
+    public WarmerConfig setMaxAllocBytes(long maxAllocBytes) {
+        if (maxAllocBytes > 0) {
+            this.maxAllocBytes = maxAllocBytes;
+        }
+        return this;
+    }
+}
@@ -10,11 +10,28 @@ package com.salesforce.centrifuge;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 import static com.salesforce.centrifuge.Constants.LOGGER_PREFIX;
+import static com.salesforce.centrifuge.Tracing.TRACER;
 
 /**
  * Works as a contained thread to initialize and execute a single warmer.
@@ -22,6 +39,9 @@ import static com.salesforce.centrifuge.Constants.LOGGER_PREFIX;
 public class WarmerContainer {
     private final Logger logger = LoggerFactory.getLogger(WarmerContainer.class);
 
+    // time paused containers wait before checking again whether they can run
+    private static final long PAUSE_MILLIS = 100;
+
     // instance counter used to keep track of total number of warmers
     private static final AtomicInteger instanceCounter = new AtomicInteger();
 
@@ -31,21 +51,72 @@ public class WarmerContainer {
     // warmer config passed by user
     private final WarmerConfig config;
 
+    // params passed to init(); warmer config params plus the index of this instance
+    private final Map<String, Object> params;
+
     // warmer class
     private final Class warmerClass;
 
     // warmer instance
     private final Warmer warmer;
 
+    // warmer instance if it runs in batches; null otherwise
+    private final BatchWarmer batchWarmer;
+
+    // warmer instance if it runs asynchronously; null otherwise
+    private final AsyncWarmer asyncWarmer;
+
+    // operations of an async warmer that are not completed yet
+    private final Map<CompletableFuture<?>, Long> inFlight = new ConcurrentHashMap<>();
+
+    // completed async operations waiting to be accounted for by the thread executing this container
+    private final Queue<AsyncCompletion> asyncCompletions = new ConcurrentLinkedQueue<>();
+
+    // nano timestamp of the first run; async warmers account for wall clock time since then
+    private volatile long firstRunNanos = 0L;
+
+    // nano time when the round in progress started; 0 if no round is in progress
+    private volatile long roundStartNanos = 0L;
+
+    // current batch size; adapted after each batch
+    private int batchSize = 1;
+
+    // locks shared by all instances of thread-unsafe warmer classes
+    private static final Map<Class<?>, Lock> warmerClassLocks = new ConcurrentHashMap<>();
+
+    // lock shared by all instances of a thread-unsafe warmer class; null if the warmer runs in parallel
+    private final Lock warmerLock;
+
+    // held while running; explicit locks do not pin virtual threads to their carrier when blocking
+    private final Lock runLock = new ReentrantLock();
+
     // the thread executing this warmer
     private volatile Thread warmerThread;
 
-    // executor service to watch and interrupt thread on timeout
+    // executor service running this warmer
     private final ScheduledExecutorService executorService;
 
     // set to true when stop() is called
     private volatile boolean isStopped = false;
 
+    // set to true when the warmer stopped because it failed too many times
+    private volatile boolean isFailed = false;
+
+    // guards notifying the stop listener only once
+    private final AtomicBoolean isStopNotified = new AtomicBoolean();
+
+    // set once the warmer is to be closed; it is closed as soon as no round is in progress
+    private volatile boolean isClosePending = false;
+
+    // guards closing the warmer only once
+    private final AtomicBoolean isClosed = new AtomicBoolean();
+
+    // called once when the container stops
+    private volatile Consumer<WarmerContainer> stopListener = null;
+
+    // notified on state transitions; set by the engine
+    private volatile WarmerListener warmerListener = null;
+
     // set to true when all iterations are completed successfully
     private volatile boolean isCompleted = false;
 
@@ -55,24 +126,63 @@ public class WarmerContainer {
     // set to true when init() ran successfully
     private volatile boolean isInitialized = false;
 
-    // number of successful rounds completed
-    private volatile int successfulRounds = 0;
-
-    // number of rounds throwing an exception
-    private volatile int failedRounds = 0;
-
-    // current iteration
-    private volatile int iteration = 0;
+    // iterations, successful and failed rounds, and resources used
+    private final WarmerStats stats = new WarmerStats();
 
     // millis timestamp for when start() is called
     private volatile long startTimestampMillis = 0L;
 
-    // accumulative duration of all executions
-    private volatile long durationNanos = 0L;
+    // epoch millis when stopped
+    private volatile long stopTimestampMillis = 0L;
+
+    // distribution of next() latencies
+    private final LatencyHistogram latencyHistogram = new LatencyHistogram();
 
     // thread name before executing this task
     private String oldThreadName;
 
+    // thread name while executing this task
+    private final String threadName;
+
+    // start times of iterations in open loop mode; null if iterations run back to back
+    private final RateSchedule rateSchedule;
+
+    // limits on the rate of operations shared with other containers
+    private final RateLimiter[] rateLimiters;
+
+    // set while the container is paused, e.g. under memory pressure
+    private volatile boolean isPaused = false;
+
+    // number of times this container was paused
+    private volatile int pauseCount = 0;
+
+    // time spent paused, excluding the current pause
+    private volatile long pausedNanos = 0L;
+
+    // nano time when the current pause started
+    private volatile long pauseStartNanos;
+
+    // adapts how often this container runs to cpu load; null if not enabled
+    private volatile CpuThrottle cpuThrottle;
+
+    // this container runs only while the cpu throttle level is above its rank
+    private final double throttleRank = ThreadLocalRandom.current().nextDouble();
+
+    // time to wait for a rate limiter to have permits again; reset when the next run is scheduled
+    private long throttleNanos = 0L;
+
+    // rules that can mark the warmer as completed before reaching max iterations
+    private final CompletionRule[] completionRules;
+
+    // index of this container among the instances of the same warmer config
+    private final int instance;
+
+    // interrupts calls to init() and next() running past the call timeout; null if not enabled
+    private final CallDeadline callDeadline;
+
+    // task scheduled on every round; kept to avoid allocating a new one each time
+    private final Runnable runTask = this::run;
+
     @SuppressWarnings("unused")
     private WarmerContainer() {
         throw new UnsupportedOperationException();
@@ -81,16 +191,72 @@ public class WarmerContainer {
     // warmer container is used internally; constructor is not exposed to users.
     WarmerContainer(final WarmerConfig config, final ScheduledExecutorService executorService)
             throws Exception {
+        this(config, executorService, 0);
+    }
+
+    // instance is the index of this container among the concurrency instances of the same warmer config
+    WarmerContainer(final WarmerConfig config, final ScheduledExecutorService executorService, final int instance,
+                    final RateLimiter... rateLimiters) throws Exception {
+        this(config, executorService, instance, null, rateLimiters);
+    }
+
+    // an initialized warmer of a previous run can be passed in to skip init(); a new one is created if null
+    WarmerContainer(final WarmerConfig config, final ScheduledExecutorService executorService, final int instance,
+                    final Warmer initializedWarmer, final RateLimiter... rateLimiters) throws Exception {
         this.config = config;
+        this.instance = instance;
+        this.rateLimiters = rateLimiters;
+        this.params = createParams(config, instance);
         this.executorService = executorService;
         this.warmerClass = config.getWarmerClass();
-        this.warmer = (Warmer) this.warmerClass.newInstance();
+        this.warmer = initializedWarmer != null ? initializedWarmer : (Warmer) this.warmerClass.newInstance();
+        this.isInitialized = initializedWarmer != null;
+        this.asyncWarmer = this.warmer instanceof AsyncWarmer ? (AsyncWarmer) this.warmer : null;
+        this.batchWarmer = this.warmer instanceof BatchWarmer ? (BatchWarmer) this.warmer : null;
+        this.warmerLock = config.isThreadSafe()
+                ? null
+                : warmerClassLocks.computeIfAbsent(this.warmerClass, c -> new ReentrantLock());
+        this.threadName = "centrifuge-warmer-" + getName();
+        this.completionRules = createCompletionRules(config);
+        this.callDeadline = config.getCallTimeoutMillis() > 0
+                ? new CallDeadline(config.getCallTimeoutMillis())
+                : null;
+        this.rateSchedule = config.getTargetRate() > 0
+                ? new RateSchedule(config.getTargetRate(), config.getRampMillis())
+                : null;
+    }
+
+    private static Map<String, Object> createParams(final WarmerConfig config, final int instance) {
+        final Map<String, Object> params = new HashMap<>(config.getParams());
+        params.put(Constants.PARAM_KEY_INSTANCE_INDEX, instance);
+        params.put(Constants.PARAM_KEY_INSTANCE_COUNT, config.getConcurrency());
+        return Collections.unmodifiableMap(params);
+    }
+
+    private static CompletionRule[] createCompletionRules(final WarmerConfig config) {
+        final List<CompletionRule> rules = new ArrayList<>();
+        if (config.getJitPlateauWindow() > 0) {
+            rules.add(new JitPlateauRule(JitMonitor.getInstance(), config.getJitPlateauWindow(),
+                    config.getJitPlateauThresholdMillis(), config.getJitPlateauThresholdCompiles()));
+        }
+        if (config.getLatencyWindow() > 0) {
+            rules.add(new LatencyStabilityRule(config.getLatencyWindow(), config.getLatencyStableWindows(),
+                    config.getLatencyTolerancePercent()));
+        }
+        return rules.toArray(new CompletionRule[0]);
     }
 
     public String getName() {
         return this.getWarmerConfig().getWarmerName() + "-" + this.instanceIndex;
     }
 
+    /**
+     * @return index of this instance among the instances of its warmer, starting at 0.
+     */
+    public int getInstance() {
+        return this.instance;
+    }
+
     public Warmer getWarmer() {
         return this.warmer;
     }
@@ -100,21 +266,51 @@ public class WarmerContainer {
     }
 
     public int getIteration() {
-        return this.iteration;
+        return (int) this.stats.getIterations();
     }
 
     public long getStartTimestampMillis() {
         return this.startTimestampMillis;
     }
 
+    /**
+     * @return epoch millis when this container stopped, or 0 if it is not stopped.
+     */
+    public long getStopTimestampMillis() {
+        return this.stopTimestampMillis;
+    }
+
     public long getDurationNanos() {
-        return this.durationNanos;
+        return this.stats.getDurationNanos();
+    }
+
+    /**
+     * Cumulative execution time including the round in progress, which the timeout applies to; may
+     * briefly lag behind at the end of a round.
+     */
+    long getElapsedNanos() {
+        if (this.asyncWarmer != null) {
+            final long firstRunNanos = this.firstRunNanos;
+            return firstRunNanos == 0L ? 0L : System.nanoTime() - firstRunNanos;
+        }
+        final long roundStartNanos = this.roundStartNanos;
+        return getDurationNanos() + (roundStartNanos == 0L ? 0L : System.nanoTime() - roundStartNanos);
     }
 
     public boolean isStopped() {
         return this.isStopped;
     }
 
+    /**
+     * Whether the warmer stopped without doing its job; that is, it either reached maximum number
+     * of failures, or stopped before init() succeeded.
+     *
+     * @return true if the warmer failed; false otherwise.
+     */
+    public boolean isFailed() {
+        return this.isFailed || (this.isStopped && !this.isInitialized);
+    }
+
     public boolean isCompleted() {
         return this.isCompleted;
     }
@@ -127,26 +323,191 @@ public class WarmerContainer {
         return this.isInitialized;
     }
 
+    /**
+     * @return cpu time spent running init() and next(), including a small bookkeeping overhead;
+     * 0 if thread cpu time is not supported.
+     */
+    public long getCpuNanos() {
+        return this.stats.getCpuNanos();
+    }
+
+    /**
+     * @return bytes allocated while running init() and next(); 0 if thread allocation accounting
+     * is not supported.
+     */
+    public long getAllocatedBytes() {
+        return this.stats.getAllocatedBytes();
+    }
+
+    public LatencyHistogram getLatencyHistogram() {
+        return this.latencyHistogram;
+    }
+
     public int getSuccessfulRounds() {
-        return this.successfulRounds;
+        return (int) this.stats.getSuccesses();
     }
 
+    /**
+     * @return size of the next batch passed to a {@link BatchWarmer}; always 1 for other warmers.
+     */
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    /**
+     * @return number of failed calls; a batch passed to a {@link BatchWarmer} that throws or times out
+     * counts as a single failure, while its operations count as iterations.
+     */
     public int getFailedRounds() {
-        return this.failedRounds;
+        return (int) this.stats.getFailures();
+    }
+
+    /**
+     * @return counters of this container as of a single point in time; does not block the warmer threads.
+     */
+    WarmerStats.Snapshot getStatsSnapshot() {
+        return this.stats.snapshot();
     }
 
     void start() {
         this.startTimestampMillis = System.currentTimeMillis();
-        schedule(this::run);
+        if (!this.isStopped) {
+            for (final CompletionRule rule : this.completionRules) {
+                rule.start();
+            }
+        }
+        if (this.isInitialized && this.rateSchedule != null) {
+            // reused warmer skips init(), which otherwise starts the schedule
+            this.rateSchedule.start(System.nanoTime());
+        }
+        schedule(this.runTask);
     }
 
-    synchronized void stop() {
+    // not synchronized with run() so that a running burst can be interrupted
+    void stop() {
         logger.info(LOGGER_PREFIX + "stop called on warmer {} after {}ms",
                 getName(), System.currentTimeMillis() - getStartTimestampMillis());
 
+        setStopped();
+        final Thread thread = this.warmerThread;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    void setStopListener(final Consumer<WarmerContainer> stopListener) {
+        this.stopListener = stopListener;
+    }
+
+    void setWarmerListener(final WarmerListener warmerListener) {
+        this.warmerListener = warmerListener;
+    }
+
+    void setCpuThrottle(final CpuThrottle cpuThrottle) {
+        this.cpuThrottle = cpuThrottle;
+    }
+
+    public boolean isPaused() {
+        return this.isPaused;
+    }
+
+    public int getPauseCount() {
+        return this.pauseCount;
+    }
+
+    /**
+     * @return total time spent paused, including the current pause; not synchronized with resume(),
+     * which may make the value briefly lag behind.
+     */
+    public long getPausedNanos() {
+        // resume() clears the flag before adding to the total, so the current pause is never counted twice
+        final long pausedNanos = this.pausedNanos;
+        return this.isPaused ? pausedNanos + System.nanoTime() - this.pauseStartNanos : pausedNanos;
+    }
+
+    /**
+     * Stops running next() until {@link #resume()} is called; operations in flight are not cancelled.
+     */
+    synchronized void pause(final String reason) {
+        if (this.isPaused || this.isStopped) {
+            return;
+        }
+        logger.info(LOGGER_PREFIX + "pausing warmer {}: {}", getName(), reason);
+        this.pauseStartNanos = System.nanoTime();
+        this.pauseCount++;
+        this.isPaused = true;
+    }
+
+    synchronized void resume() {
+        if (!this.isPaused) {
+            return;
+        }
+        logger.info(LOGGER_PREFIX + "resuming warmer {} after {}ms", getName(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.pauseStartNanos));
+        final long pauseNanos = System.nanoTime() - this.pauseStartNanos;
+        this.isPaused = false;
+        this.pausedNanos += pauseNanos;
+    }
+
+    private void setStopped() {
         this.isStopped = true;
-        if (this.warmerThread != null) {
-            this.warmerThread.interrupt();
+        this.inFlight.keySet().forEach(future -> future.cancel(true));
+        if (!this.isStopNotified.compareAndSet(false, true)) {
+            return;
+        }
+        this.stopTimestampMillis = System.currentTimeMillis();
+        TRACER.stopped(this);
+        for (final CompletionRule rule : this.completionRules) {
+            rule.stop();
+        }
+        // warmers kept for re-runs are closed once they are replaced
+        if (!getWarmerConfig().isReuseOnRerun()) {
+            closeWarmer();
+        }
+        final WarmerListener warmerListener = this.warmerListener;
+        if (warmerListener != null) {
+            if (this.isCompleted) {
+                warmerListener.onCompleted(this);
+            } else if (isFailed()) {
+                warmerListener.onFailed(this);
+            }
+            warmerListener.onStopped(this);
+        }
+        final Consumer<WarmerContainer> listener = this.stopListener;
+        if (listener != null) {
+            listener.accept(this);
+        }
+    }
+
+    // release resources held by the warmer, e.g. connection pools; never while a round is in progress,
+    // which closes the warmer itself once it ends
+    void closeWarmer() {
+        this.isClosePending = true;
+        closeWarmerIfIdle();
+    }
+
+    // the pending flag is set before trying the lock, and the running thread checks it after releasing
+    // the lock, so that at least one of them closes the warmer
+    private void closeWarmerIfIdle() {
+        if (!this.runLock.tryLock()) {
+            return;
+        }
+        try {
+            if (this.isClosePending && this.isClosed.compareAndSet(false, true)) {
+                doCloseWarmer();
+            }
+        } finally {
+            this.runLock.unlock();
+        }
+    }
+
+    private void doCloseWarmer() {
+        if (this.warmer instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) this.warmer).close();
+            } catch (Exception e) {
+                logger.warn(LOGGER_PREFIX + "failed to close warmer {} with error '{}'.", getName(), e.getMessage());
+            }
         }
     }
 
@@ -161,7 +522,7 @@ public class WarmerContainer {
         this.oldThreadName = this.warmerThread.getName();
 
         // set thread name
-        this.warmerThread.setName("centrifuge-warmer-" + getName());
+        this.warmerThread.setName(this.threadName);
 
         return System.nanoTime();
     }
@@ -179,46 +540,368 @@ public class WarmerContainer {
         return System.nanoTime();
     }
 
-    private synchronized void run() {
+    private void run() {
+        this.runLock.lock();
+        try {
+            doRun();
+        } finally {
+            this.runLock.unlock();
+        }
+        if (this.isClosePending) {
+            closeWarmerIfIdle();
+        }
+    }
+
+    private void doRun() {
         final long startNanos = prepareForExecution();
+        // measured once per round rather than per call to keep the overhead low
+        final long startCpuNanos = ThreadMeter.currentThreadCpuNanos();
+        final long startAllocatedBytes = ThreadMeter.currentThreadAllocatedBytes();
+        if (this.firstRunNanos == 0L) {
+            this.firstRunNanos = startNanos;
+        }
+        this.roundStartNanos = startNanos;
         try {
+            if (this.asyncWarmer != null) {
+                expireAsyncOperations(startNanos);
+            }
+            drainAsyncCompletions();
             if (!shouldRun()) {
-                this.isStopped = true;
+                setStopped();
                 logger.info(LOGGER_PREFIX + "warmer {} stopped.", getName());
                 return;
             }
 
+            final CpuThrottle cpuThrottle = this.cpuThrottle;
+            if (this.isPaused || (cpuThrottle != null && !cpuThrottle.isAdmitted(this.throttleRank))) {
+                // paused, or throttled while cpu load is high; check again later
+                this.executorService.schedule(this.runTask, PAUSE_MILLIS, TimeUnit.MILLISECONDS);
+                return;
+            }
+
             if (!isInitialized()) {
                 // call init() if not initialized yet
                 logger.info(LOGGER_PREFIX + "trying to initialize warmer {}...", getName());
-                synchronized (this.warmerClass) {
-                    getWarmer().init(getWarmerConfig().getParams());
+                final Object trace = TRACER.beginInit(this);
+                beginCall(System.nanoTime());
+                Exception error = null;
+                try {
+                    doInit();
+                } catch (Exception e) {
+                    error = e;
+                }
+                if (endCall(trace, error, false)) {
+                    addFailures(1, null);
+                    schedule(this.runTask);
+                    return;
                 }
                 logger.info(LOGGER_PREFIX + "warmer {} initialized successfully", getName());
                 this.isInitialized = true;
+                if (this.rateSchedule != null) {
+                    this.rateSchedule.start(System.nanoTime());
+                }
+                final WarmerListener warmerListener = this.warmerListener;
+                if (warmerListener != null) {
+                    warmerListener.onInitialized(this);
+                }
+            } else if (this.asyncWarmer != null) {
+                // top up operations in flight if already initialized
+                runAsync();
             } else {
                 // call next if already initialized
-                this.iteration++;
-                synchronized (this.warmerClass) {
-                    getWarmer().next();
-                }
-                this.successfulRounds++;
+                runBurst(startNanos);
             }
 
             // schedule to run again
-            schedule(this::run);
+            schedule(this.runTask);
         } catch (InterruptedException e) {
             logger.warn(LOGGER_PREFIX + "warmer {} execution interrupted.", getName());
-            this.failedRounds++;
-            this.isStopped = true;
+            addFailures(1, e);
+            setStopped();
         } catch (Exception e) {
             logger.warn(LOGGER_PREFIX + "warmer {} execution failed with error '{}'.",
                     getName(), e.getMessage());
-            this.failedRounds++;
+            addFailures(1, e);
             // schedule to run again
-            schedule(this::run);
+            schedule(this.runTask);
         } finally {
-            this.durationNanos += postExecution() - startNanos;
+            final long endNanos = postExecution();
+            // cleared first, so that the elapsed time is never counted twice
+            this.roundStartNanos = 0L;
+            // operations of async warmers run outside of this thread, so wall clock time is accounted for;
+            // runs are serialized, so the total does not change in between
+            final long durationNanos = this.asyncWarmer != null
+                    ? endNanos - this.firstRunNanos - this.stats.getDurationNanos()
+                    : endNanos - startNanos;
+            final long endCpuNanos = ThreadMeter.currentThreadCpuNanos();
+            final long endAllocatedBytes = ThreadMeter.currentThreadAllocatedBytes();
+            this.stats.addRun(durationNanos,
+                    startCpuNanos >= 0 && endCpuNanos >= 0 ? endCpuNanos - startCpuNanos : 0L,
+                    startAllocatedBytes >= 0 && endAllocatedBytes >= 0 ? endAllocatedBytes - startAllocatedBytes : 0L);
+        }
+    }
+
+    // calls next() back to back until burst size or time slice is reached, or the warmer has to stop;
+    // in open loop mode, only calls that are due are made, one operation at a time
+    private void runBurst(final long startNanos) throws Exception {
+        final int burstIterations = getWarmerConfig().getBurstIterations();
+        final long burstNanos = TimeUnit.MILLISECONDS.toNanos(getWarmerConfig().getBurstMillis());
+        int burst = 0;
+        do {
+            final long nowNanos = System.nanoTime();
+            if (!isDue(nowNanos)) {
+                return;
+            }
+            final int size = this.rateSchedule == null ? nextBatchSize() : 1;
+            if (!acquirePermits(size, nowNanos)) {
+                return;
+            }
+            final long scheduledNanos = nextScheduledNanos(nowNanos);
+            this.stats.addIterations(size);
+            final long nextStartNanos = System.nanoTime();
+            final Object trace = TRACER.beginNext(this, size);
+            beginCall(nextStartNanos);
+            Exception error = null;
+            try {
+                doNext(size);
+            } catch (Exception e) {
+                error = e;
+            }
+            if (endCall(trace, error, true)) {
+                // a failed batch counts as a single failure, the same as one that throws
+                addFailures(1, null);
+                return;
+            }
+            final long endNanos = System.nanoTime();
+            final long batchNanos = endNanos - nextStartNanos;
+            this.stats.addSuccesses(size);
+            adaptBatchSize(batchNanos);
+
+            // latencies are tracked per operation; in open loop mode, from the scheduled start time
+            final long latencyNanos = this.rateSchedule == null ? batchNanos / size : endNanos - scheduledNanos;
+            this.latencyHistogram.record(latencyNanos);
+            if (checkCompletionRules(latencyNanos)) {
+                return;
+            }
+        } while (++burst < burstIterations
+                && (burstNanos == 0 || System.nanoTime() - startNanos < burstNanos)
+                && canContinueBurst());
+    }
+
+    // starts async operations until the maximum number of operations in flight is reached
+    private void runAsync() throws Exception {
+        final int maxInFlight = getWarmerConfig().getMaxInFlight();
+        while (this.inFlight.size() < maxInFlight && canContinueBurst()) {
+            final long nowNanos = System.nanoTime();
+            if (!isDue(nowNanos) || !acquirePermits(1, nowNanos)) {
+                return;
+            }
+            final long nextStartNanos = nextScheduledNanos(nowNanos);
+            this.stats.addIterations(1);
+            final Object trace = TRACER.beginNext(this, 1);
+            final CompletableFuture<?> future;
+            try {
+                future = doNextAsync().toCompletableFuture();
+            } catch (Exception e) {
+                TRACER.endNext(trace, e);
+                throw e;
+            }
+            this.inFlight.put(future, nowNanos);
+            future.whenComplete((result, error) -> {
+                TRACER.endNext(trace, error);
+                this.inFlight.remove(future);
+                if (!this.isStopped) {
+                    this.asyncCompletions.add(new AsyncCompletion(System.nanoTime() - nextStartNanos, error));
+                }
+            });
+        }
+    }
+
+    // whether the next operation can start; always true unless in open loop mode
+    private boolean isDue(long nowNanos) {
+        return this.rateSchedule == null || this.rateSchedule.nextNanos() <= nowNanos;
+    }
+
+    // start time of the next operation, moving the schedule forward in open loop mode
+    private long nextScheduledNanos(long nowNanos) {
+        if (this.rateSchedule == null) {
+            return nowNanos;
+        }
+        final long scheduledNanos = this.rateSchedule.nextNanos();
+        this.rateSchedule.advance();
+        return scheduledNanos;
+    }
+
+    // takes permits from all rate limiters, or none if any of them is exhausted
+    private boolean acquirePermits(int permits, long nowNanos) {
+        for (int i = 0; i < this.rateLimiters.length; ++i) {
+            final long waitNanos = this.rateLimiters[i].tryAcquire(permits, nowNanos);
+            if (waitNanos > 0) {
+                for (int j = 0; j < i; ++j) {
+                    this.rateLimiters[j].release(permits);
+                }
+                this.throttleNanos = waitNanos;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void beginCall(long nowNanos) {
+        if (this.callDeadline != null) {
+            this.callDeadline.begin(nowNanos);
+        }
+    }
+
+    // ends a call started with beginCall() and its trace, with a timeout as the outcome even if the call
+    // returned; returns true if it timed out, and rethrows its error otherwise
+    private boolean endCall(final Object trace, final Exception error, boolean isNext) throws Exception {
+        final boolean isTimedOut = this.callDeadline != null && this.callDeadline.end();
+        final Throwable outcome = isTimedOut
+                ? new TimeoutException("call timed out after " + getWarmerConfig().getCallTimeoutMillis() + "ms")
+                : error;
+        if (isNext) {
+            TRACER.endNext(trace, outcome);
+        } else {
+            TRACER.endInit(trace, outcome);
+        }
+        if (!isTimedOut) {
+            if (error != null) {
+                throw error;
+            }
+            return false;
+        }
+        logger.warn(LOGGER_PREFIX + "warmer {} call interrupted after call timeout of {}ms.",
+                getName(), getWarmerConfig().getCallTimeoutMillis());
+        TRACER.callTimedOut(this);
+        return true;
+    }
+
+    // cancels async operations in flight past the call timeout; they are accounted for as failures
+    private void expireAsyncOperations(long nowNanos) {
+        final long callTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(getWarmerConfig().getCallTimeoutMillis());
+        if (callTimeoutNanos == 0) {
+            return;
+        }
+        this.inFlight.forEach((future, startNanos) -> {
+            if (nowNanos - startNanos >= callTimeoutNanos && future.cancel(true)) {
+                TRACER.callTimedOut(this);
+            }
+        });
+    }
+
+    // accounts for completed async operations; called only by the thread executing this container
+    private void drainAsyncCompletions() {
+        AsyncCompletion completion;
+        while ((completion = this.asyncCompletions.poll()) != null) {
+            if (completion.error != null) {
+                logger.warn(LOGGER_PREFIX + "warmer {} async execution failed with error '{}'.",
+                        getName(), completion.error.getMessage());
+                addFailures(1, completion.error);
+                continue;
+            }
+            this.stats.addSuccesses(1);
+            this.latencyHistogram.record(completion.latencyNanos);
+            if (!this.isCompleted) {
+                checkCompletionRules(completion.latencyNanos);
+            }
+        }
+    }
+
+    private void addFailures(int count, final Throwable error) {
+        this.stats.addFailures(count);
+        TRACER.failed(this, count, error);
+    }
+
+    private boolean checkCompletionRules(long latencyNanos) {
+        for (final CompletionRule rule : this.completionRules) {
+            if (rule.isComplete(this, latencyNanos)) {
+                logger.info(LOGGER_PREFIX + "warmer {} completed after {} iterations; {} is satisfied.",
+                        getName(), this.stats.getIterations(), rule.getClass().getSimpleName());
+                this.isCompleted = true;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // cheap version of shouldRun() used between calls within a burst; no logging nor state changes
+    private boolean canContinueBurst() {
+        return !this.isStopped
+                && !hasReachedMaxIterations()
+                && !Thread.currentThread().isInterrupted();
+    }
+
+    // max iterations can be lowered below the current iteration while running
+    private boolean hasReachedMaxIterations() {
+        final long maxIterations = getWarmerConfig().getMaxIterations();
+        return maxIterations >= 0 && this.stats.getIterations() >= maxIterations;
+    }
+
+    private void doInit() throws Exception {
+        if (this.warmerLock == null) {
+            getWarmer().init(this.params);
+            return;
+        }
+        this.warmerLock.lock();
+        try {
+            getWarmer().init(this.params);
+        } finally {
+            this.warmerLock.unlock();
+        }
+    }
+
+    private void doNext(int size) throws Exception {
+        if (this.warmerLock == null) {
+            callNext(size);
+            return;
+        }
+        this.warmerLock.lock();
+        try {
+            callNext(size);
+        } finally {
+            this.warmerLock.unlock();
+        }
+    }
+
+    private CompletionStage<?> doNextAsync() throws Exception {
+        if (this.warmerLock == null) {
+            return this.asyncWarmer.nextAsync();
+        }
+        this.warmerLock.lock();
+        try {
+            return this.asyncWarmer.nextAsync();
+        } finally {
+            this.warmerLock.unlock();
+        }
+    }
+
+    private void callNext(int size) throws Exception {
+        if (this.batchWarmer != null) {
+            this.batchWarmer.next(size);
+        } else {
+            getWarmer().next();
+        }
+    }
+
+    // batch size capped so that max iterations is not exceeded; always 1 for non-batch warmers
+    private int nextBatchSize() {
+        final long maxIterations = getWarmerConfig().getMaxIterations();
+        if (this.batchWarmer == null || maxIterations < 0) {
+            return this.batchSize;
+        }
+        return (int) Math.max(1, Math.min(this.batchSize, maxIterations - this.stats.getIterations()));
+    }
+
+    private void adaptBatchSize(long batchNanos) {
+        if (this.batchWarmer == null) {
+            return;
+        }
+        final long targetNanos = TimeUnit.MICROSECONDS.toNanos(getWarmerConfig().getBatchTargetMicros());
+        if (batchNanos < targetNanos / 2) {
+            this.batchSize = Math.min(getWarmerConfig().getMaxBatchSize(), this.batchSize * 2);
+        } else if (batchNanos > targetNanos * 2) {
+            this.batchSize = Math.max(1, this.batchSize / 2);
         }
     }
 
@@ -229,13 +912,37 @@ public class WarmerContainer {
             return false;
         }
         // stop if too many failures
-        if (getFailedRounds() == getWarmerConfig().getMaxFailure()) {
+        // failures of async operations are accounted for in bulk, so count may jump past the maximum
+        final long maxFailure = getWarmerConfig().getMaxFailure();
+        if (maxFailure >= 0 && getFailedRounds() >= maxFailure) {
             logger.warn(LOGGER_PREFIX + "warmer failure count higher than allowed {}; " +
                     "stopping execution of warmer {}", getFailedRounds(), getName());
+            this.isFailed = true;
+            return false;
+        }
+        // stop if the timeout is reached; rounds running past it are interrupted by the watcher
+        if (getDurationNanos() >= TimeUnit.MILLISECONDS.toNanos(getWarmerConfig().getTimeoutMillis())) {
+            logger.info(LOGGER_PREFIX + "warmer {} reached its timeout of {}ms.",
+                    getName(), getWarmerConfig().getTimeoutMillis());
+            return false;
+        }
+        // stop if cpu or allocation budget is used up
+        if (TimeUnit.NANOSECONDS.toMillis(getCpuNanos()) >= getWarmerConfig().getMaxCpuMillis()) {
+            logger.info(LOGGER_PREFIX + "warmer {} used up its cpu budget of {}ms.",
+                    getName(), getWarmerConfig().getMaxCpuMillis());
+            return false;
+        }
+        if (getAllocatedBytes() >= getWarmerConfig().getMaxAllocBytes()) {
+            logger.info(LOGGER_PREFIX + "warmer {} used up its allocation budget of {} bytes.",
+                    getName(), getWarmerConfig().getMaxAllocBytes());
+            return false;
+        }
+        // stop if a completion rule is satisfied
+        if (this.isCompleted) {
             return false;
         }
-        // stop if max iterations reached
-        if (getIteration() == getWarmerConfig().getMaxIterations()) {
+        // stop if max iterations reached, once async operations in flight are completed
+        if (hasReachedMaxIterations() && this.inFlight.isEmpty()) {
             logger.info(LOGGER_PREFIX + "warmer {} reached max iterations {}.",
                     getName(), getWarmerConfig().getMaxIterations());
             this.isCompleted = true;
@@ -252,7 +959,40 @@ public class WarmerContainer {
 
     private void schedule(final Runnable runnable) {
         // schedule and yield
-        this.executorService.schedule(runnable, getWarmerConfig().getYieldMillis(), TimeUnit.MILLISECONDS);
+        this.executorService.schedule(runnable, nextDelayNanos(), TimeUnit.NANOSECONDS);
     }
-}
 
+    private long nextDelayNanos() {
+        // wait for a rate limiter to have permits again
+        final long delayNanos = Math.max(nextRunDelayNanos(), this.throttleNanos);
+        this.throttleNanos = 0L;
+        return delayNanos;
+    }
+
+    private long nextRunDelayNanos() {
+        final long yieldNanos = TimeUnit.MILLISECONDS.toNanos(getWarmerConfig().getYieldMillis());
+        if (this.rateSchedule == null || !isInitialized()) {
+            final CpuThrottle cpuThrottle = this.cpuThrottle;
+            return cpuThrottle != null ? cpuThrottle.adjustYieldNanos(yieldNanos) : yieldNanos;
+        }
+        // in open loop mode, run again when the next operation is due
+        final long delayNanos = this.rateSchedule.nextNanos() - System.nanoTime();
+        if (delayNanos > 0) {
+            return delayNanos;
+        }
+        // behind schedule; yield only if no operation can be started until others complete
+        final boolean isBlocked = hasReachedMaxIterations()
+                || (this.asyncWarmer != null && this.inFlight.size() >= getWarmerConfig().getMaxInFlight());
+        return isBlocked ? yieldNanos : 0;
+    }
+
+    private static final class AsyncCompletion {
+        private final long latencyNanos;
+        private final Throwable error;
+
+        private AsyncCompletion(long latencyNanos, final Throwable error) {
+            this.latencyNanos = latencyNanos;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import static com.salesforce.centrifuge.Constants.LOGGER_PREFIX;
+
+/**
+ * Delegates to {@link CentrifugeImpl} for a single warmer; instances are looked up on every call, so the
+ * controller keeps working when instances are added or re-run.
+ */
+public class WarmerController implements WarmerControllerMXBean {
+    private static final Logger logger = LoggerFactory.getLogger(WarmerController.class);
+
+    private final CentrifugeImpl centrifuge;
+    private final WarmerConfig config;
+
+    @SuppressWarnings("unused")
+    private WarmerController() {
+        throw new UnsupportedOperationException();
+    }
+
+    WarmerController(final CentrifugeImpl centrifuge, final WarmerConfig config) {
+        this.centrifuge = centrifuge;
+        this.config = config;
+    }
+
+    static ObjectName getObjectName(final String warmerName) throws MalformedObjectNameException {
+        return new ObjectName(WarmerControllerMXBean.class.getPackage().getName()
+                + ":type=WarmerController,name=" + ObjectName.quote(warmerName));
+    }
+
+    @Override
+    public WarmerSnapshot getSnapshot() {
+        return this.centrifuge.getWarmerSnapshot(this.config);
+    }
+
+    @Override
+    public void stop() {
+        logger.info(LOGGER_PREFIX + "stopping warmer {}", this.config.getWarmerName());
+        this.centrifuge.getWarmers(this.config).forEach(WarmerContainer::stop);
+    }
+
+    @Override
+    public void pause() {
+        this.centrifuge.getWarmers(this.config).forEach(wc -> wc.pause("paused through jmx"));
+    }
+
+    @Override
+    public void resume() {
+        this.centrifuge.getWarmers(this.config).forEach(WarmerContainer::resume);
+    }
+
+    @Override
+    public void rerun() {
+        this.centrifuge.rerunWarmer(this.config);
+    }
+
+    @Override
+    public int getYieldMillis() {
+        return this.config.getYieldMillis();
+    }
+
+    @Override
+    public void setYieldMillis(int yieldMillis) {
+        logger.info(LOGGER_PREFIX + "setting yield of warmer {} to {}ms", this.config.getWarmerName(), yieldMillis);
+        this.config.setYieldMillis(yieldMillis);
+    }
+
+    @Override
+    public int getConcurrency() {
+        return this.config.getConcurrency();
+    }
+
+    @Override
+    public void setConcurrency(int concurrency) {
+        this.centrifuge.setWarmerConcurrency(this.config, concurrency);
+    }
+
+    @Override
+    public long getMaxIterations() {
+        return this.config.getMaxIterations();
+    }
+
+    @Override
+    public void setMaxIterations(long maxIterations) {
+        logger.info(LOGGER_PREFIX + "setting max iterations of warmer {} to {}",
+                this.config.getWarmerName(), maxIterations);
+        this.config.setMaxIterations(maxIterations);
+    }
+
+    @Override
+    public double getMaxRate() {
+        return this.centrifuge.getWarmerMaxRate(this.config.getWarmerName());
+    }
+
+    @Override
+    public void setMaxRate(double maxRate) {
+        this.centrifuge.setWarmerMaxRate(this.config.getWarmerName(), maxRate);
+    }
+}
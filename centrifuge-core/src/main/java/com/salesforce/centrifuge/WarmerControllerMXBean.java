@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+/**
+ * Controller registered for each warmer, to watch and control all of its instances at runtime.
+ */
+public interface WarmerControllerMXBean {
+
+    /**
+     * Returns current stats of all instances of the warmer; cheap enough to be polled every second.
+     */
+    WarmerSnapshot getSnapshot();
+
+    /**
+     * Stops all instances of the warmer.
+     */
+    void stop();
+
+    /**
+     * Stops running next() on all instances until {@link #resume()} is called.
+     */
+    void pause();
+
+    /**
+     * Resumes all paused instances of the warmer.
+     */
+    void resume();
+
+    /**
+     * Stops all instances of the warmer and starts new ones, with fresh stats and warmer objects.
+     */
+    void rerun();
+
+    /**
+     * Time to yield between calls to next(), in millis.
+     */
+    int getYieldMillis();
+
+    void setYieldMillis(int yieldMillis);
+
+    /**
+     * Number of instances of the warmer; increasing it starts new instances, decreasing it stops
+     * the most recently created ones.
+     */
+    int getConcurrency();
+
+    void setConcurrency(int concurrency);
+
+    /**
+     * Maximum number of iterations of each instance; instances past a lowered budget complete.
+     */
+    long getMaxIterations();
+
+    void setMaxIterations(long maxIterations);
+
+    /**
+     * Maximum rate of operations per second across all instances; 0 if unlimited.
+     */
+    double getMaxRate();
+
+    void setMaxRate(double maxRate);
+}
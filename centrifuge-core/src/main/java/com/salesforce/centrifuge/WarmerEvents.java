@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static com.salesforce.centrifuge.Constants.LOGGER_PREFIX;
+import static com.salesforce.centrifuge.Tracing.TRACER;
+
+/**
+ * Receives state transitions pushed by warmer containers; counts required warmer instances not stopped yet,
+ * and passes transitions on to registered listeners.
+ */
+final class WarmerEvents implements WarmerListener {
+    private static final Logger logger = LoggerFactory.getLogger(WarmerEvents.class);
+
+    private final List<WarmerListener> listeners = new CopyOnWriteArrayList<>();
+
+    // required instances not stopped yet; only changed while holding the lock of this object
+    private volatile int outstandingRequired = 0;
+
+    // completed once there are no outstanding required instances; replaced when new ones are tracked
+    private volatile CompletableFuture<Void> warmFuture = CompletableFuture.completedFuture(null);
+
+    // nano time when the last required instance stopped, or when tracking was reset without any
+    private volatile long warmTimestampNanos = System.nanoTime();
+
+    // nano time of the last reset, i.e. start of the current run
+    private volatile long resetTimestampNanos = System.nanoTime();
+
+    void addListener(final WarmerListener listener) {
+        this.listeners.add(listener);
+    }
+
+    void removeListener(final WarmerListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * Tracks the given number of required instances instead of the outstanding ones, e.g. on start of a run;
+     * callers waiting for the previous run keep waiting if the new run has required instances.
+     */
+    synchronized void reset(int count) {
+        this.resetTimestampNanos = System.nanoTime();
+        this.outstandingRequired = 0;
+        if (count > 0) {
+            addRequired(count);
+        } else {
+            this.warmTimestampNanos = System.nanoTime();
+            this.warmFuture.complete(null);
+        }
+    }
+
+    /**
+     * Starts tracking the given number of required instances, e.g. on start of a run, or when
+     * instances are added to a running warmer.
+     */
+    synchronized void addRequired(int count) {
+        if (count <= 0) {
+            return;
+        }
+        if (this.outstandingRequired == 0 && this.warmFuture.isDone()) {
+            this.warmFuture = new CompletableFuture<>();
+        }
+        this.outstandingRequired += count;
+    }
+
+    boolean isWarm() {
+        return this.outstandingRequired == 0;
+    }
+
+    /**
+     * @return nano time when the engine last became warm; meaningful only while {@link #isWarm()}.
+     */
+    long getWarmTimestampNanos() {
+        return this.warmTimestampNanos;
+    }
+
+    /**
+     * @return future completed once no required instance is outstanding, after listeners were notified
+     * of the last one stopping; cancelling it has no effect on other callers.
+     */
+    CompletableFuture<Void> awaitWarm() {
+        return this.warmFuture.thenApply(v -> v);
+    }
+
+    @Override
+    public void onInitialized(final WarmerContainer warmer) {
+        dispatch(warmer, l -> l.onInitialized(warmer));
+    }
+
+    @Override
+    public void onCompleted(final WarmerContainer warmer) {
+        dispatch(warmer, l -> l.onCompleted(warmer));
+    }
+
+    @Override
+    public void onFailed(final WarmerContainer warmer) {
+        dispatch(warmer, l -> l.onFailed(warmer));
+    }
+
+    @Override
+    public void onStopped(final WarmerContainer warmer) {
+        CompletableFuture<Void> completed = null;
+        if (warmer.getWarmerConfig().isRequired()) {
+            synchronized (this) {
+                if (this.outstandingRequired > 0 && --this.outstandingRequired == 0) {
+                    this.warmTimestampNanos = System.nanoTime();
+                    TRACER.warm(this.warmTimestampNanos - this.resetTimestampNanos);
+                    completed = this.warmFuture;
+                }
+            }
+        }
+        dispatch(warmer, l -> l.onStopped(warmer));
+        // listeners see the last required instance stop before callers waiting for warm-up resume
+        if (completed != null) {
+            completed.complete(null);
+        }
+    }
+
+    private void dispatch(final WarmerContainer warmer, final Consumer<WarmerListener> event) {
+        for (final WarmerListener listener : this.listeners) {
+            try {
+                event.accept(listener);
+            } catch (Exception e) {
+                logger.warn(LOGGER_PREFIX + "warmer listener failed on event of warmer {}", warmer.getName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+/**
+ * Callbacks for state transitions of warmer instances; see {@link Centrifuge#addWarmerListener(WarmerListener)}.
+ * Callbacks run on the thread making the transition, e.g. a warmer thread, so they should return quickly.
+ */
+public interface WarmerListener {
+
+    /**
+     * Called once init() of a warmer instance returned successfully.
+     */
+    default void onInitialized(WarmerContainer warmer) {
+    }
+
+    /**
+     * Called when a warmer instance stops after reaching max iterations or a completion rule,
+     * right before {@link #onStopped(WarmerContainer)}.
+     */
+    default void onCompleted(WarmerContainer warmer) {
+    }
+
+    /**
+     * Called when a warmer instance stops after init() failed or too many failures,
+     * right before {@link #onStopped(WarmerContainer)}.
+     */
+    default void onFailed(WarmerContainer warmer) {
+    }
+
+    /**
+     * Called once when a warmer instance stops, for whatever reason.
+     */
+    default void onStopped(WarmerContainer warmer) {
+    }
+}
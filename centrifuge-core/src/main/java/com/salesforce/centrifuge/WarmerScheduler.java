@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static com.salesforce.centrifuge.Constants.LOGGER_PREFIX;
+
+/**
+ * Starts warmers in dependency order. Warmers are grouped by name; a warmer depends on the warmers
+ * listed in its depends_on, and on all warmers with a lower phase. A warmer is started once all of
+ * its dependencies are stopped, so independent warmers run in parallel. If a required dependency
+ * fails, or a dependency is skipped, the warmer is skipped as well; warmers in a dependency cycle
+ * are skipped. Once cancelled, e.g. when the engine is stopped, no more warmers are started.
+ */
+class WarmerScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(WarmerScheduler.class);
+
+    private enum State { PENDING, RUNNING, SUCCEEDED, FAILED, SKIPPED }
+
+    private static final class Node {
+        private final String name;
+        private final List<WarmerContainer> containers = new ArrayList<>();
+        private final Set<Node> dependencies = new LinkedHashSet<>();
+        private final Set<Node> dependents = new LinkedHashSet<>();
+        private int phase = Integer.MIN_VALUE;
+        private boolean required = false;
+        private int pendingDependencies = 0;
+        private int stoppedContainers = 0;
+        private boolean isBlocked = false;
+        private State state = State.PENDING;
+
+        private Node(final String name) {
+            this.name = name;
+        }
+
+        private boolean isDone() {
+            return this.state != State.PENDING && this.state != State.RUNNING;
+        }
+    }
+
+    private final Map<String, Node> nodes = new LinkedHashMap<>();
+    private final Map<WarmerContainer, Node> nodesByContainer = new IdentityHashMap<>();
+    private final Consumer<WarmerContainer> starter;
+
+    // not synchronized, so that the engine never waits for warmers being started while it stops
+    private volatile boolean isCancelled = false;
+
+    WarmerScheduler(final List<WarmerContainer> containers, final Consumer<WarmerContainer> starter) {
+        this.starter = starter;
+        for (final WarmerContainer container : containers) {
+            final WarmerConfig config = container.getWarmerConfig();
+            final Node node = this.nodes.computeIfAbsent(config.getWarmerName(), Node::new);
+            node.containers.add(container);
+            node.phase = Math.max(node.phase, config.getPhase());
+            node.required |= config.isRequired();
+            this.nodesByContainer.put(container, node);
+            container.setStopListener(this::onStopped);
+        }
+        for (final WarmerContainer container : containers) {
+            final Node node = this.nodesByContainer.get(container);
+            for (final String dependency : container.getWarmerConfig().getDependsOn()) {
+                final Node dependencyNode = this.nodes.get(dependency);
+                if (dependencyNode == null) {
+                    logger.warn(LOGGER_PREFIX + "warmer {} depends on unknown warmer {}; ignoring dependency.",
+                            node.name, dependency);
+                } else if (dependencyNode != node) {
+                    addDependency(node, dependencyNode);
+                }
+            }
+        }
+        for (final Node node : this.nodes.values()) {
+            for (final Node other : this.nodes.values()) {
+                if (other.phase < node.phase) {
+                    addDependency(node, other);
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts all warmers with no dependencies, and skips warmers in dependency cycles.
+     */
+    synchronized void start() {
+        for (final Node node : findCycles()) {
+            logger.error(LOGGER_PREFIX + "warmer {} is part of a dependency cycle; skipping warmer.", node.name);
+            skip(node);
+        }
+        for (final Node node : new ArrayList<>(this.nodes.values())) {
+            if (node.state == State.PENDING && node.pendingDependencies == 0) {
+                run(node);
+            }
+        }
+    }
+
+    /**
+     * Stops starting warmers; warmers already started keep running until stopped.
+     */
+    void cancel() {
+        this.isCancelled = true;
+    }
+
+    private void addDependency(final Node node, final Node dependency) {
+        if (node.dependencies.add(dependency)) {
+            dependency.dependents.add(node);
+            node.pendingDependencies++;
+        }
+    }
+
+    // kahn's algorithm; returns nodes that cannot be ordered
+    private Set<Node> findCycles() {
+        final Map<Node, Integer> inDegrees = new IdentityHashMap<>();
+        final Deque<Node> ready = new ArrayDeque<>();
+        for (final Node node : this.nodes.values()) {
+            inDegrees.put(node, node.dependencies.size());
+            if (node.dependencies.isEmpty()) {
+                ready.add(node);
+            }
+        }
+        while (!ready.isEmpty()) {
+            final Node node = ready.poll();
+            inDegrees.remove(node);
+            for (final Node dependent : node.dependents) {
+                if (inDegrees.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        final Set<Node> cyclic = new LinkedHashSet<>();
+        for (final Node node : this.nodes.values()) {
+            if (inDegrees.containsKey(node)) {
+                cyclic.add(node);
+            }
+        }
+        return cyclic;
+    }
+
+    private void run(final Node node) {
+        if (this.isCancelled) {
+            return;
+        }
+        logger.info(LOGGER_PREFIX + "starting warmer {} with {} instances.", node.name, node.containers.size());
+        node.state = State.RUNNING;
+        node.containers.forEach(this.starter);
+    }
+
+    private void skip(final Node node) {
+        if (node.isDone()) {
+            return;
+        }
+        node.state = State.SKIPPED;
+        node.containers.forEach(WarmerContainer::stop);
+        onDone(node);
+    }
+
+    // containers are stopped once; those stopped before their node runs, e.g. by an operator or under memory
+    // pressure, are counted as well, so that a node whose containers all stopped early is done too
+    private synchronized void onStopped(final WarmerContainer container) {
+        final Node node = this.nodesByContainer.get(container);
+        if (node == null || node.isDone()) {
+            return;
+        }
+        if (++node.stoppedContainers < node.containers.size()) {
+            return;
+        }
+        final boolean isFailed = node.containers.stream().allMatch(WarmerContainer::isFailed);
+        if (node.state == State.PENDING) {
+            logger.warn(LOGGER_PREFIX + "warmer {} was stopped before it started.", node.name);
+        }
+        node.state = isFailed ? State.FAILED : State.SUCCEEDED;
+        logger.info(LOGGER_PREFIX + "warmer {} {}.", node.name, isFailed ? "failed" : "finished");
+        onDone(node);
+    }
+
+    private void onDone(final Node node) {
+        for (final Node dependent : node.dependents) {
+            if (dependent.state != State.PENDING) {
+                continue;
+            }
+            if (node.state == State.SKIPPED || (node.state == State.FAILED && node.required)) {
+                logger.warn(LOGGER_PREFIX + "warmer {} depends on warmer {} which {}.", dependent.name, node.name,
+                        node.state == State.SKIPPED ? "was skipped" : "is required and failed");
+                dependent.isBlocked = true;
+            }
+            if (--dependent.pendingDependencies == 0) {
+                if (dependent.isBlocked) {
+                    logger.warn(LOGGER_PREFIX + "skipping warmer {}.", dependent.name);
+                    skip(dependent);
+                } else {
+                    run(dependent);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point in time stats of all instances of a warmer; exposed through jmx as composite data.
+ * The counters of each instance are read as of a single point in time, without blocking the warmer
+ * threads.
+ */
+public final class WarmerSnapshot {
+
+    /**
+     * State of a warmer, derived from the states of its instances.
+     */
+    public enum State {
+        // no instance started yet
+        WAITING,
+        // at least one instance is running
+        RUNNING,
+        // all instances not stopped are paused
+        PAUSED,
+        // all instances reached max iterations or a completion rule
+        COMPLETED,
+        // all instances stopped, and at least one failed
+        FAILED,
+        // all instances stopped, e.g. on timeout or by an operator
+        STOPPED
+    }
+
+    private final String name;
+    private final State state;
+    private final int instances;
+    private final long iterations;
+    private final long successes;
+    private final long failures;
+    private final double ratePerSecond;
+    private final long p50Micros;
+    private final long p90Micros;
+    private final long p99Micros;
+    private final long maxMicros;
+    private final long cpuMillis;
+    private final long allocatedBytes;
+    private final long pausedMillis;
+    private final long startMillis;
+    private final int yieldMillis;
+    private final long maxIterations;
+    private final int concurrency;
+
+    /**
+     * @param name name of the warmer
+     * @param config config shared by the instances
+     * @param containers all instances of the warmer
+     */
+    WarmerSnapshot(final String name, final WarmerConfig config, final List<WarmerContainer> containers) {
+        final LatencyHistogram latencies = new LatencyHistogram();
+        final long nowMillis = System.currentTimeMillis();
+        long iterations = 0;
+        long successes = 0;
+        long failures = 0;
+        double ratePerSecond = 0;
+        long cpuNanos = 0;
+        long allocatedBytes = 0;
+        long pausedNanos = 0;
+        long startMillis = 0;
+        int running = 0;
+        int paused = 0;
+        int stopped = 0;
+        int completed = 0;
+        int failed = 0;
+        for (final WarmerContainer wc : containers) {
+            final WarmerStats.Snapshot stats = wc.getStatsSnapshot();
+            iterations += stats.iterations;
+            successes += stats.successes;
+            failures += stats.failures;
+            cpuNanos += stats.cpuNanos;
+            allocatedBytes += stats.allocatedBytes;
+            pausedNanos += wc.getPausedNanos();
+            latencies.add(wc.getLatencyHistogram());
+
+            final long instanceStartMillis = wc.getStartTimestampMillis();
+            if (instanceStartMillis == 0) {
+                continue;
+            }
+            startMillis = startMillis == 0 ? instanceStartMillis : Math.min(startMillis, instanceStartMillis);
+            final long stopMillis = wc.getStopTimestampMillis();
+            final long elapsedMillis = (stopMillis != 0 ? stopMillis : nowMillis) - instanceStartMillis;
+            if (elapsedMillis > 0) {
+                ratePerSecond += stats.iterations * 1000.0 / elapsedMillis;
+            }
+            if (wc.isStopped()) {
+                stopped++;
+                completed += wc.isCompleted() ? 1 : 0;
+                failed += wc.isFailed() ? 1 : 0;
+            } else if (wc.isPaused()) {
+                paused++;
+            } else {
+                running++;
+            }
+        }
+
+        this.name = name;
+        this.state = toState(containers.size(), running, paused, stopped, completed, failed);
+        this.instances = containers.size();
+        this.iterations = iterations;
+        this.successes = successes;
+        this.failures = failures;
+        this.ratePerSecond = ratePerSecond;
+        this.p50Micros = TimeUnit.NANOSECONDS.toMicros(latencies.getValueAtPercentile(50.0));
+        this.p90Micros = TimeUnit.NANOSECONDS.toMicros(latencies.getValueAtPercentile(90.0));
+        this.p99Micros = TimeUnit.NANOSECONDS.toMicros(latencies.getValueAtPercentile(99.0));
+        this.maxMicros = TimeUnit.NANOSECONDS.toMicros(latencies.getMaxValue());
+        this.cpuMillis = TimeUnit.NANOSECONDS.toMillis(cpuNanos);
+        this.allocatedBytes = allocatedBytes;
+        this.pausedMillis = TimeUnit.NANOSECONDS.toMillis(pausedNanos);
+        this.startMillis = startMillis;
+        this.yieldMillis = config.getYieldMillis();
+        this.maxIterations = config.getMaxIterations();
+        this.concurrency = config.getConcurrency();
+    }
+
+    private static State toState(int instances, int running, int paused, int stopped,
+                                 int completed, int failed) {
+        if (instances > 0 && stopped == instances) {
+            if (failed > 0) {
+                return State.FAILED;
+            }
+            return completed == instances ? State.COMPLETED : State.STOPPED;
+        }
+        if (running > 0) {
+            return State.RUNNING;
+        }
+        if (paused > 0) {
+            return State.PAUSED;
+        }
+        // the instances not stopped are not started yet
+        return State.WAITING;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * @return state name, see {@link State}.
+     */
+    public String getState() {
+        return this.state.name();
+    }
+
+    public int getInstances() {
+        return this.instances;
+    }
+
+    public long getIterations() {
+        return this.iterations;
+    }
+
+    public long getSuccesses() {
+        return this.successes;
+    }
+
+    public long getFailures() {
+        return this.failures;
+    }
+
+    /**
+     * @return iterations per second of all instances, averaged since each instance started.
+     */
+    public double getRatePerSecond() {
+        return this.ratePerSecond;
+    }
+
+    public long getP50Micros() {
+        return this.p50Micros;
+    }
+
+    public long getP90Micros() {
+        return this.p90Micros;
+    }
+
+    public long getP99Micros() {
+        return this.p99Micros;
+    }
+
+    public long getMaxMicros() {
+        return this.maxMicros;
+    }
+
+    public long getCpuMillis() {
+        return this.cpuMillis;
+    }
+
+    public long getAllocatedBytes() {
+        return this.allocatedBytes;
+    }
+
+    public long getPausedMillis() {
+        return this.pausedMillis;
+    }
+
+    /**
+     * @return epoch millis when the first instance started, or 0 if none started yet.
+     */
+    public long getStartMillis() {
+        return this.startMillis;
+    }
+
+    public int getYieldMillis() {
+        return this.yieldMillis;
+    }
+
+    public long getMaxIterations() {
+        return this.maxIterations;
+    }
+
+    public int getConcurrency() {
+        return this.concurrency;
+    }
+}
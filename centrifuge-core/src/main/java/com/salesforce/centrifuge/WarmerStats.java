@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of a warmer container. Updates never block nor retry, and are safe from any number of threads;
+ * {@link #snapshot()} returns a consistent view of all counters without blocking writers.
+ */
+final class WarmerStats {
+
+    // attempts at a consistent snapshot before settling for a view that may include an update in progress
+    private static final int MAX_SNAPSHOT_ATTEMPTS = 64;
+
+    private final LongAdder iterations = new LongAdder();
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder durationNanos = new LongAdder();
+    private final LongAdder cpuNanos = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+
+    // updates started and finished; a snapshot is consistent if no update started since the last one finished
+    private final LongAdder updatesStarted = new LongAdder();
+    private final LongAdder updatesFinished = new LongAdder();
+
+    void addIterations(long count) {
+        this.updatesStarted.increment();
+        this.iterations.add(count);
+        this.updatesFinished.increment();
+    }
+
+    void addSuccesses(long count) {
+        this.updatesStarted.increment();
+        this.successes.add(count);
+        this.updatesFinished.increment();
+    }
+
+    void addFailures(long count) {
+        this.updatesStarted.increment();
+        this.failures.add(count);
+        this.updatesFinished.increment();
+    }
+
+    /**
+     * Accounts for one run of the container; negative cpu or allocation values are not supported
+     * by the jvm, and are ignored.
+     */
+    void addRun(long durationNanos, long cpuNanos, long allocatedBytes) {
+        this.updatesStarted.increment();
+        this.durationNanos.add(durationNanos);
+        if (cpuNanos > 0) {
+            this.cpuNanos.add(cpuNanos);
+        }
+        if (allocatedBytes > 0) {
+            this.allocatedBytes.add(allocatedBytes);
+        }
+        this.updatesFinished.increment();
+    }
+
+    long getIterations() {
+        return this.iterations.sum();
+    }
+
+    long getSuccesses() {
+        return this.successes.sum();
+    }
+
+    long getFailures() {
+        return this.failures.sum();
+    }
+
+    long getDurationNanos() {
+        return this.durationNanos.sum();
+    }
+
+    long getCpuNanos() {
+        return this.cpuNanos.sum();
+    }
+
+    long getAllocatedBytes() {
+        return this.allocatedBytes.sum();
+    }
+
+    /**
+     * Reads all counters as of a single point in time, e.g. never more successes and failures than
+     * iterations of a sync warmer. Under constant updates, gives up after a bounded number of attempts
+     * and returns the last view read.
+     */
+    Snapshot snapshot() {
+        Snapshot snapshot;
+        int attempts = 0;
+        do {
+            final long finished = this.updatesFinished.sum();
+            snapshot = new Snapshot(getIterations(), getSuccesses(), getFailures(),
+                    getDurationNanos(), getCpuNanos(), getAllocatedBytes());
+            // counters are monotonic, so if as many updates started as were finished before the reads,
+            // none of them ran concurrently with the reads
+            if (this.updatesStarted.sum() == finished) {
+                return snapshot;
+            }
+            Thread.yield();
+        } while (++attempts < MAX_SNAPSHOT_ATTEMPTS);
+        return snapshot;
+    }
+
+    /**
+     * Immutable values of all counters of a container.
+     */
+    static final class Snapshot {
+        final long iterations;
+        final long successes;
+        final long failures;
+        final long durationNanos;
+        final long cpuNanos;
+        final long allocatedBytes;
+
+        Snapshot(long iterations, long successes, long failures,
+                 long durationNanos, long cpuNanos, long allocatedBytes) {
+            this.iterations = iterations;
+            this.successes = successes;
+            this.failures = failures;
+            this.durationNanos = durationNanos;
+            this.cpuNanos = cpuNanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+    }
+}
@@ -11,26 +11,50 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.salesforce.centrifuge.Constants.LOGGER_PREFIX;
+import static com.salesforce.centrifuge.Tracing.TRACER;
 
 /**
- * Works as a contained callable class to initialize and execute warmers.
+ * Supervises the warmers of a run: stops each warmer on its timeout deadline, and stops the engine once
+ * all warmers are stopped. Warmers push their transitions, so the work per event does not grow with the
+ * number of warmers.
  */
-class WarmerWatcher {
+class WarmerWatcher implements WarmerListener {
     private final Logger logger = LoggerFactory.getLogger(WarmerWatcher.class);
 
-    private final ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor(
-            new ThreadFactoryBuilder().setNameFormat("centrifuge-watcher").build()
-    );
-    private final Centrifuge centrifugeInstance;
+    // deadlines are checked at most this often, which bounds the number of checks of mostly idle warmers
+    private static final long MIN_DEADLINE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    // deadline of a container whose first check is not scheduled yet
+    private static final Future<?> PENDING_DEADLINE = CompletableFuture.completedFuture(null);
+
+    private final ScheduledThreadPoolExecutor executorService = newExecutorService();
+    private final CentrifugeImpl centrifugeInstance;
     private final int cleanupIntervalMillis;
     private final int logIntervalSeconds;
-    private String lastLog;
+    private final CpuThrottle cpuThrottle;
+    private final MemoryPressureMonitor memoryMonitor;
+    private final boolean isShedding;
+    // containers paused because of memory pressure, to be resumed once it clears
+    private final Set<WarmerContainer> pausedContainers = new LinkedHashSet<>();
+    // next timeout check of each watched container not stopped yet
+    private final Map<WarmerContainer, Future<?>> deadlines = new ConcurrentHashMap<>();
+    // watched containers not stopped yet, plus holds taken while containers are replaced
+    private final AtomicInteger liveCount = new AtomicInteger();
+    // cheap summary of the last logged stats, to skip building the log if nothing changed
+    private long lastLogFingerprint = -1;
 
     @SuppressWarnings("unused")
     private WarmerWatcher(CentrifugeImpl centrifugeInstance, int cleanupIntervalMillis) {
@@ -38,80 +62,225 @@ class WarmerWatcher {
     }
 
     // warmer container is used internally; constructor is not exposed to users.
-    WarmerWatcher(final Centrifuge centrifugeInstance, int cleanupIntervalMillis, int logIntervalSeconds) {
+    WarmerWatcher(final CentrifugeImpl centrifugeInstance, int cleanupIntervalMillis, int logIntervalSeconds) {
+        this(centrifugeInstance, cleanupIntervalMillis, logIntervalSeconds, null, null, false);
+    }
+
+    // cpu throttle and memory monitor are sampled every cleanup interval if not null; under memory pressure,
+    // non-required warmers are stopped if shedding, or paused otherwise
+    WarmerWatcher(final CentrifugeImpl centrifugeInstance, int cleanupIntervalMillis, int logIntervalSeconds,
+                  final CpuThrottle cpuThrottle, final MemoryPressureMonitor memoryMonitor, boolean isShedding) {
         this.centrifugeInstance = centrifugeInstance;
+        this.cpuThrottle = cpuThrottle;
+        this.memoryMonitor = memoryMonitor;
+        this.isShedding = isShedding;
         this.cleanupIntervalMillis = cleanupIntervalMillis;
         this.logIntervalSeconds = logIntervalSeconds;
+    }
 
-        logStats();
+    private static ScheduledThreadPoolExecutor newExecutorService() {
+        final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1,
+                new ThreadFactoryBuilder().setNameFormat("centrifuge-watcher").build());
+        // deadlines of stopped warmers are cancelled; drop them right away rather than when they expire
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    /**
+     * Starts supervising a container; has to be called before the container is started.
+     */
+    void watch(final WarmerContainer wc) {
+        this.liveCount.incrementAndGet();
+        this.deadlines.put(wc, PENDING_DEADLINE);
+        scheduleDeadline(wc, remainingNanos(wc));
     }
 
+    /**
+     * Keeps the engine running while containers are replaced, until {@link #release()} is called.
+     */
+    void retain() {
+        this.liveCount.incrementAndGet();
+    }
+
+    void release() {
+        if (this.liveCount.decrementAndGet() == 0) {
+            onAllStopped();
+        }
+    }
+
+    // starts logging and sampling; the engine is stopped right away if there is nothing to watch
     void run() {
+        if (this.liveCount.get() == 0) {
+            onAllStopped();
+            return;
+        }
+        logStats();
+        if (this.cpuThrottle != null || this.memoryMonitor != null) {
+            this.executorService.schedule(this::sample, this.cleanupIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // stops watching, e.g. when the engine is stopped before all warmers are
+    void stop() {
+        this.executorService.shutdownNow();
+    }
+
+    @Override
+    public void onStopped(final WarmerContainer wc) {
+        final Future<?> deadline = this.deadlines.remove(wc);
+        if (deadline == null) {
+            // not watched by this watcher, e.g. a container of a previous run
+            return;
+        }
+        deadline.cancel(false);
+        release();
+    }
+
+    private static long remainingNanos(final WarmerContainer wc) {
+        return TimeUnit.MILLISECONDS.toNanos(wc.getWarmerConfig().getTimeoutMillis()) - wc.getElapsedNanos();
+    }
+
+    // execution time never grows faster than wall clock time, so the timeout cannot be reached before
+    // the remaining execution time elapsed
+    private void scheduleDeadline(final WarmerContainer wc, long remainingNanos) {
+        final Future<?> deadline;
         try {
-            if (doCleanup()) {
-                scheduleNextRound();
+            deadline = this.executorService.schedule(() -> checkDeadline(wc),
+                    Math.max(remainingNanos, MIN_DEADLINE_NANOS), TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // shut down along with the engine
+            return;
+        }
+        if (this.deadlines.replace(wc, deadline) == null) {
+            // stopped in the meantime
+            deadline.cancel(false);
+        }
+    }
+
+    private void checkDeadline(final WarmerContainer wc) {
+        if (wc.isStopped()) {
+            return;
+        }
+        final long remainingNanos = remainingNanos(wc);
+        if (remainingNanos <= 0) {
+            logger.info(LOGGER_PREFIX + "warmer {} reached its timeout of {}ms.",
+                    wc.getName(), wc.getWarmerConfig().getTimeoutMillis());
+            TRACER.timedOut(wc);
+            wc.stop();
+            return;
+        }
+        scheduleDeadline(wc, remainingNanos);
+    }
+
+    // stops the engine from the watcher thread rather than from the thread of the last warmer; the engine
+    // may have been stopped and started again in the meantime, and then this watcher must not stop it
+    private void onAllStopped() {
+        try {
+            this.executorService.execute(() -> {
+                logStats();
+                this.centrifugeInstance.stop(this);
+                this.executorService.shutdownNow();
+            });
+        } catch (RejectedExecutionException e) {
+            // already shut down along with the engine
+        }
+    }
+
+    private void sample() {
+        try {
+            if (this.cpuThrottle != null) {
+                this.cpuThrottle.sample();
+            }
+            if (this.memoryMonitor != null) {
+                checkMemoryPressure();
             }
         } catch (Exception e) {
             logger.warn(LOGGER_PREFIX + "exception on executing warmer watcher run: ", e);
         }
+        if (! this.executorService.isShutdown()) {
+            this.executorService.schedule(this::sample, this.cleanupIntervalMillis, TimeUnit.MILLISECONDS);
+        }
     }
 
-    // stop warmers that have to be stopped; return true if next run is needed, false otherwise.
-    private boolean doCleanup() {
-        final List<WarmerContainer> warmers = this.centrifugeInstance.getWarmers();
-        for (final WarmerContainer wc : warmers) {
-            if (! wc.isStopped() && wc.getDurationNanos()/1_000_000 > wc.getWarmerConfig().getTimeoutMillis()) {
-                wc.stop();
+    private void checkMemoryPressure() {
+        final String pressure = this.memoryMonitor.sample(System.nanoTime());
+        if (pressure == null) {
+            if (!this.pausedContainers.isEmpty()) {
+                logger.info(LOGGER_PREFIX + "memory pressure cleared; resuming {} warmers", this.pausedContainers.size());
+                this.pausedContainers.forEach(WarmerContainer::resume);
+                this.pausedContainers.clear();
             }
+            return;
         }
-        boolean allStopped = true;
-        for (final WarmerContainer wc : warmers) {
-            if (! wc.isStopped()) {
-                allStopped = false;
+        for (final WarmerContainer wc : this.centrifugeInstance.getWarmers()) {
+            if (wc.getWarmerConfig().isRequired() || wc.isStopped() || wc.isPaused()) {
+                continue;
+            }
+            if (this.isShedding) {
+                logger.warn(LOGGER_PREFIX + "shedding warmer {}: {}", wc.getName(), pressure);
+                wc.stop();
+            } else {
+                wc.pause(pressure);
+                this.pausedContainers.add(wc);
             }
         }
-        if (allStopped) {
-            logStats();
-            this.centrifugeInstance.stop();
-            this.executorService.shutdownNow();
-            return false;
-        }
-        return true;
     }
 
-    private void scheduleNextRound() {
+    private void logStats() {
+        final List<WarmerContainer> warmers = this.centrifugeInstance.getWarmers();
+        // only log if something is changed
+        final long fingerprint = fingerprint(warmers);
+        if (fingerprint != this.lastLogFingerprint) {
+            final StringBuilder statsBuilder = new StringBuilder();
+            statsBuilder.append("centrifuge stats:\n---\n");
+            warmers.forEach(w -> appendStats(statsBuilder, w).append("\n"));
+            statsBuilder.append("---\n");
+            logger.info(LOGGER_PREFIX + statsBuilder.toString());
+        }
+        this.lastLogFingerprint = fingerprint;
         if (! this.executorService.isShutdown()) {
-            this.executorService.schedule(this::run, this.cleanupIntervalMillis, TimeUnit.MILLISECONDS);
+            this.executorService.schedule(this::logStats, this.logIntervalSeconds, TimeUnit.SECONDS);
         }
     }
 
-    private void logStats() {
-        final StringBuilder statsBuilder = new StringBuilder();
-        statsBuilder.append("centrifuge stats:\n---\n");
-        this.centrifugeInstance.getWarmers().forEach(w -> {
-            statsBuilder
-                    .append(" * warmer=").append(w.getName())
-                    .append("  iteration=").append(w.getIteration())
-                    .append("  success=").append(w.getSuccessfulRounds())
-                    .append("  failure=").append(w.getFailedRounds())
-                    .append("  start_millis=").append(w.getStartTimestampMillis())
-                    .append("  duration_millis=").append(w.getDurationNanos()/1_000_000)
-                    .append("  timeout_millis=").append(w.getWarmerConfig().getTimeoutMillis())
-                    .append("  initialized=").append(w.isInitialized())
-                    .append("  running=").append(w.isRunning())
-                    .append("  stopped=").append(w.isStopped())
-                    .append("\n")
-            ;
-        });
-        statsBuilder.append("---\n");
-
-        final String theLog = statsBuilder.toString();
-        // only log if something is changed
-        if (! theLog.equals(this.lastLog)) {
-            logger.info(LOGGER_PREFIX + statsBuilder.toString());
+    // changes whenever counters or states of a warmer change, without building the stats
+    private static long fingerprint(final List<WarmerContainer> warmers) {
+        long fingerprint = warmers.size();
+        for (final WarmerContainer w : warmers) {
+            final WarmerStats.Snapshot stats = w.getStatsSnapshot();
+            fingerprint = 31 * fingerprint + stats.iterations;
+            fingerprint = 31 * fingerprint + stats.failures;
+            fingerprint = 31 * fingerprint + w.getPauseCount();
+            fingerprint = 31 * fingerprint + (w.isInitialized() ? 1 : 0) + (w.isPaused() ? 2 : 0)
+                    + (w.isStopped() ? 4 : 0);
         }
-        this.lastLog = theLog;
-        this.executorService.schedule(this::logStats, this.logIntervalSeconds, TimeUnit.SECONDS);
+        return fingerprint;
     }
-}
 
+    static StringBuilder appendStats(final StringBuilder statsBuilder, final WarmerContainer w) {
+        final LatencyHistogram latencies = w.getLatencyHistogram();
+        final WarmerStats.Snapshot stats = w.getStatsSnapshot();
+        return statsBuilder
+                .append(" * warmer=").append(w.getName())
+                .append("  iteration=").append(stats.iterations)
+                .append("  success=").append(stats.successes)
+                .append("  failure=").append(stats.failures)
+                .append("  start_millis=").append(w.getStartTimestampMillis())
+                .append("  duration_millis=").append(stats.durationNanos/1_000_000)
+                .append("  timeout_millis=").append(w.getWarmerConfig().getTimeoutMillis())
+                .append("  cpu_millis=").append(stats.cpuNanos/1_000_000)
+                .append("  alloc_bytes=").append(stats.allocatedBytes)
+                .append("  p50_micros=").append(latencies.getValueAtPercentile(50.0)/1_000)
+                .append("  p90_micros=").append(latencies.getValueAtPercentile(90.0)/1_000)
+                .append("  p99_micros=").append(latencies.getValueAtPercentile(99.0)/1_000)
+                .append("  max_micros=").append(latencies.getMaxValue()/1_000)
+                .append("  initialized=").append(w.isInitialized())
+                .append("  running=").append(w.isRunning())
+                .append("  stopped=").append(w.isStopped())
+                .append("  completed=").append(w.isCompleted())
+                .append("  paused=").append(w.isPaused())
+                .append("  pauses=").append(w.getPauseCount())
+                .append("  paused_millis=").append(w.getPausedNanos()/1_000_000)
+        ;
+    }
+}
@@ -13,6 +13,8 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Locale;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
@@ -26,6 +28,14 @@ public class CentrifugeConfigTest {
 
         Files.copy(getClass().getResourceAsStream("/centrifuge-config-test.conf"), tempFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
         final CentrifugeConfig centrifugeConfig = new CentrifugeConfig(tempFile.getAbsolutePath());
+        assertEquals(centrifugeConfig.getParallelism(), 32);
+        assertTrue(centrifugeConfig.isVirtualThreads());
+        assertEquals(centrifugeConfig.getMaxRate(), 5000.0);
+        assertEquals(centrifugeConfig.getCpuTargetPercent(), 70.0);
+        assertEquals(centrifugeConfig.getCpuMode(), "idle");
+        assertEquals(centrifugeConfig.getMaxGcOverheadPercent(), 20.0);
+        assertEquals(centrifugeConfig.getMaxOldGenPercent(), 85.0);
+        assertEquals(centrifugeConfig.getMemoryPressureAction(), "shed");
         assertEquals(centrifugeConfig.getWarmerConfigs().size(), 1);
         assertEquals(centrifugeConfig.getWarmerConfigs().get(0).getWarmerClass(), EchoWarmer.class);
         assertEquals(centrifugeConfig.getWarmerConfigs().get(0).getMaxIterations(), 7777);
@@ -34,6 +44,15 @@ public class CentrifugeConfigTest {
         assertEquals(centrifugeConfig.getWarmerConfigs().get(0).getMaxFailure(), 777);
         assertEquals(centrifugeConfig.getWarmerConfigs().get(0).getConcurrency(), 7);
         assertTrue(centrifugeConfig.getWarmerConfigs().get(0).isRequired());
+        assertTrue(centrifugeConfig.getWarmerConfigs().get(0).isReuseOnRerun());
+        assertEquals(centrifugeConfig.getWarmerConfigs().get(0).getPhase(), 2);
+        assertEquals(centrifugeConfig.getWarmerConfigs().get(0).getDependsOn(), Collections.singletonList("cache-warmer"));
+        assertEquals(centrifugeConfig.getWarmerConfigs().get(0).getTargetRate(), 250.5);
+        assertEquals(centrifugeConfig.getWarmerConfigs().get(0).getRampMillis(), 5000);
+        assertEquals(centrifugeConfig.getWarmerConfigs().get(0).getMaxRate(), 100.0);
+        assertEquals(centrifugeConfig.getWarmerConfigs().get(0).getMaxCpuMillis(), 3000);
+        assertEquals(centrifugeConfig.getWarmerConfigs().get(0).getMaxAllocBytes(), 64L * 1024 * 1024);
+        assertEquals(centrifugeConfig.getWarmerConfigs().get(0).getCallTimeoutMillis(), 500);
         assertEquals(String.valueOf(centrifugeConfig.getWarmerConfigs().get(0).getParams().get("text")), "this is a sample warmer implementation");
     }
 
@@ -49,4 +68,20 @@ public class CentrifugeConfigTest {
         assertEquals(centrifugeConfig.getWarmerConfigs().get(0).getConcurrency(), 7);
         assertEquals(String.valueOf(centrifugeConfig.getWarmerConfigs().get(0).getParams().get("text")), "this is a sample warmer implementation");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testModesUnderTurkishLocale() {
+        // in the turkish locale, the lower case of "IDLE" has a dotless i
+        final Locale locale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            final CentrifugeConfig centrifugeConfig = new CentrifugeConfig()
+                    .setCpuMode("IDLE")
+                    .setMemoryPressureAction("SHED");
+            assertEquals(centrifugeConfig.getCpuMode(), "idle");
+            assertEquals(centrifugeConfig.getMemoryPressureAction(), "shed");
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+}
@@ -68,6 +68,11 @@ public class CentrifugeControllerTest {
             return false;
         }
 
+        @Override
+        public boolean isRunning() {
+            return isStarted;
+        }
+
         @Override
         public void registerMbean() {
         }
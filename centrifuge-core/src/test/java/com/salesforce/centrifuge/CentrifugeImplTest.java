@@ -9,8 +9,12 @@ package com.salesforce.centrifuge;
 
 import org.testng.annotations.Test;
 
+import javax.management.Attribute;
 import javax.management.InstanceNotFoundException;
+import javax.management.MBeanServer;
 import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
 import java.lang.management.ManagementFactory;
 
 import static org.testng.Assert.*;
@@ -27,5 +31,76 @@ public class CentrifugeImplTest {
         } catch (InstanceNotFoundException ignored) {}
         centrifuge.registerMbean();
         assertNotNull(ManagementFactory.getPlatformMBeanServer().getMBeanInfo(new ObjectName(mbeanName)));
+        assertEquals(((String[]) ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(new ObjectName(mbeanName), "WarmerStats")).length, 0);
+        ManagementFactory.getPlatformMBeanServer().setAttribute(new ObjectName(mbeanName),
+                new Attribute("MaxRate", 123.0));
+        assertEquals(centrifuge.getMaxRate(), 123.0);
+    }
+
+    @Test
+    public void testWarmerMbean() throws Exception {
+        final WarmerConfig warmerConfig = new WarmerConfig()
+                .setWarmerName("jmx-warmer")
+                .setWarmerClass(NoopWarmer.class)
+                .setYieldMillis(1);
+        final CentrifugeImpl centrifuge = new CentrifugeImpl(new CentrifugeConfig().addWarmerConfig(warmerConfig));
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName engineName = new ObjectName(centrifuge.getMbeanName());
+        if (server.isRegistered(engineName)) {
+            server.unregisterMBean(engineName);
+        }
+        final ObjectName warmerName = WarmerController.getObjectName("jmx-warmer");
+        centrifuge.registerMbean();
+        try {
+            assertEquals(((CompositeData) server.getAttribute(warmerName, "Snapshot")).get("state"), "WAITING");
+
+            centrifuge.start();
+            Thread.sleep(200);
+            final TabularData snapshots = (TabularData) server.getAttribute(engineName, "WarmerSnapshots");
+            final CompositeData snapshot = (CompositeData) snapshots.get(new Object[] {"jmx-warmer"}).get("value");
+            assertEquals(snapshot.get("state"), "RUNNING");
+            assertTrue((Long) snapshot.get("iterations") > 0);
+
+            server.invoke(warmerName, "pause", null, null);
+            assertEquals(((CompositeData) server.getAttribute(warmerName, "Snapshot")).get("state"), "PAUSED");
+            server.invoke(warmerName, "resume", null, null);
+
+            server.setAttribute(warmerName, new Attribute("Concurrency", 3));
+            assertEquals(centrifuge.getWarmers().size(), 3);
+
+            server.invoke(warmerName, "rerun", null, null);
+            final CompositeData rerun = (CompositeData) server.getAttribute(warmerName, "Snapshot");
+            assertEquals(rerun.get("instances"), 3);
+            assertTrue((Long) rerun.get("iterations") < (Long) snapshot.get("iterations") * 3);
+
+            // lowering the budget below the current iteration completes all instances
+            server.setAttribute(warmerName, new Attribute("MaxIterations", 1L));
+            Thread.sleep(200);
+            assertEquals(((CompositeData) server.getAttribute(warmerName, "Snapshot")).get("state"), "COMPLETED");
+        } finally {
+            centrifuge.stop();
+            server.unregisterMBean(engineName);
+            server.unregisterMBean(warmerName);
+        }
+    }
+
+    @Test
+    public void testStopByStaleWatcher() throws Exception {
+        final CentrifugeImpl centrifuge = new CentrifugeImpl(new CentrifugeConfig().addWarmerConfig(new WarmerConfig()
+                .setWarmerName("restarted-warmer")
+                .setWarmerClass(NoopWarmer.class)
+                .setYieldMillis(1)));
+        centrifuge.start();
+        centrifuge.stop();
+        centrifuge.start();
+        try {
+            // a watcher of another run, e.g. one still stopping the previous run, must not stop this one
+            centrifuge.stop(new WarmerWatcher(centrifuge, 300, 30));
+            assertTrue(centrifuge.isRunning());
+        } finally {
+            centrifuge.stop();
+        }
+        assertFalse(centrifuge.isRunning());
     }
 }
@@ -11,8 +11,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.annotations.Test;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.testng.Assert.*;
 
@@ -59,6 +66,344 @@ public class CentrifugeTest {
         assertTrue(CounterWarmer.isInitCalled);
     }
 
+    @Test
+    public void testInstancesOverlapUnlessSingleThreaded() throws Exception {
+        // the first call waits for the second one, which can only start meanwhile if instances run in parallel
+        assertEquals(maxConcurrentCalls(ParallelWarmer.class, 10_000), 2);
+        assertEquals(maxConcurrentCalls(SingleThreadedParallelWarmer.class, 50), 1);
+    }
+
+    // returns the most calls to next() seen at once, across two instances of the given warmer
+    private int maxConcurrentCalls(final Class<? extends ParallelWarmer> warmerClass, long overlapMillis)
+            throws Exception {
+        final WarmerConfig warmerConfig = new WarmerConfig()
+                .setWarmerClass(warmerClass)
+                .setMaxIterations(5)
+                .setYieldMillis(1)
+                .setConcurrency(2)
+                .setRequired(true);
+
+        final Centrifuge centrifuge = Centrifuge.newInstance(new CentrifugeConfig()
+                .addWarmerConfig(warmerConfig)
+                .setParallelism(8)
+        );
+
+        ParallelWarmer.reset(2, overlapMillis);
+        centrifuge.start();
+        centrifuge.awaitWarm().get(30, TimeUnit.SECONDS);
+        centrifuge.stop();
+        assertEquals(ParallelWarmer.nextCount.get(), 10L);
+        return ParallelWarmer.maxRunning.get();
+    }
+
+    @SingleThreaded
+    public static class SingleThreadedParallelWarmer extends ParallelWarmer {
+    }
+
+    @Test
+    public void testVirtualThreads() throws Exception {
+        final WarmerConfig warmerConfig = new WarmerConfig()
+                .setWarmerClass(ParallelWarmer.class)
+                .setMaxIterations(2)
+                .setYieldMillis(1)
+                .setConcurrency(100)
+                .setRequired(true);
+
+        // runs on virtual threads on jdk 21+, and falls back to platform threads otherwise
+        final Centrifuge centrifuge = Centrifuge.newInstance(new CentrifugeConfig()
+                .addWarmerConfig(warmerConfig)
+                .setParallelism(2)
+                .setVirtualThreads(true)
+        );
+
+        ParallelWarmer.reset(0, 0);
+        centrifuge.start();
+        while (!centrifuge.isWarm()) {
+            Thread.sleep(10);
+        }
+        assertEquals(ParallelWarmer.nextCount.get(), 200L);
+    }
+
+    @Test
+    public void testRateLimits() throws Exception {
+        final WarmerConfig warmerConfig = new WarmerConfig()
+                .setWarmerName("test-rate-limited-warmer")
+                .setWarmerClass(NoopWarmer.class)
+                .setMaxIterations(-1)
+                .setYieldMillis(1)
+                .setBurstIterations(100)
+                .setConcurrency(2)
+                .setMaxRate(200);
+
+        final Centrifuge centrifuge = Centrifuge.newInstance(new CentrifugeConfig()
+                .addWarmerConfig(warmerConfig)
+                .setParallelism(2)
+        );
+        centrifuge.start();
+        Thread.sleep(1000);
+        // 200 per second plus a full bucket of 20 at the start
+        final long limited = countNoopIterations(centrifuge);
+        assertTrue(limited >= 100 && limited <= 300, "iterations: " + limited);
+
+        // limits can be changed at runtime
+        centrifuge.setWarmerMaxRate("test-rate-limited-warmer", 0);
+        centrifuge.setMaxRate(1000);
+        Thread.sleep(1000);
+        final long global = countNoopIterations(centrifuge) - limited;
+        centrifuge.stop();
+        assertTrue(global >= 500 && global <= 1300, "iterations: " + global);
+    }
+
+    @Test
+    public void testRestart() throws Exception {
+        final WarmerConfig reusedConfig = new WarmerConfig()
+                .setWarmerName("test-reused-warmer")
+                .setWarmerClass(NoopWarmer.class)
+                .setMaxIterations(5)
+                .setYieldMillis(1)
+                .setReuseOnRerun(true);
+        final WarmerConfig freshConfig = new WarmerConfig()
+                .setWarmerName("test-fresh-warmer")
+                .setWarmerClass(NoopWarmer.class)
+                .setMaxIterations(5)
+                .setYieldMillis(1);
+
+        final Centrifuge centrifuge = Centrifuge.newInstance(new CentrifugeConfig()
+                .addWarmerConfig(reusedConfig)
+                .addWarmerConfig(freshConfig)
+                .setCleanupIntervalMillis(10)
+        );
+        centrifuge.start();
+        // the engine stops itself once all warmers are stopped
+        while (centrifuge.isRunning()) {
+            Thread.sleep(10);
+        }
+        final NoopWarmer reused = (NoopWarmer) centrifuge.getWarmers().get(0).getWarmer();
+        final NoopWarmer fresh = (NoopWarmer) centrifuge.getWarmers().get(1).getWarmer();
+
+        centrifuge.start();
+        while (centrifuge.isRunning()) {
+            Thread.sleep(10);
+        }
+        final List<WarmerContainer> warmers = centrifuge.getWarmers();
+        assertEquals(warmers.size(), 2);
+        assertSame(warmers.get(0).getWarmer(), reused);
+        assertEquals(reused.initCount, 1);
+        assertEquals(reused.nextCount, 10);
+        assertNotSame(warmers.get(1).getWarmer(), fresh);
+        assertEquals(((NoopWarmer) warmers.get(1).getWarmer()).initCount, 1);
+        assertEquals(((NoopWarmer) warmers.get(1).getWarmer()).nextCount, 5);
+        // counters are reset on every run
+        assertEquals(warmers.get(0).getIteration(), 5);
+        assertEquals(warmers.get(1).getIteration(), 5);
+    }
+
+    @Test
+    public void testAwaitWarm() throws Exception {
+        final WarmerConfig requiredConfig = new WarmerConfig()
+                .setWarmerName("test-required-warmer")
+                .setWarmerClass(NoopWarmer.class)
+                .setMaxIterations(5)
+                .setYieldMillis(1)
+                .setConcurrency(2)
+                .setRequired(true);
+        final WarmerConfig failingConfig = new WarmerConfig()
+                .setWarmerName("test-failing-warmer")
+                .setWarmerClass(FailingWarmer.class)
+                .setMaxFailure(1)
+                .setYieldMillis(1);
+
+        final Centrifuge centrifuge = Centrifuge.newInstance(new CentrifugeConfig()
+                .addWarmerConfig(requiredConfig)
+                .addWarmerConfig(failingConfig)
+        );
+        final AtomicInteger initialized = new AtomicInteger();
+        final AtomicInteger completed = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        final AtomicInteger stopped = new AtomicInteger();
+        centrifuge.addWarmerListener(new WarmerListener() {
+            @Override
+            public void onInitialized(final WarmerContainer warmer) {
+                initialized.incrementAndGet();
+            }
+
+            @Override
+            public void onCompleted(final WarmerContainer warmer) {
+                completed.incrementAndGet();
+            }
+
+            @Override
+            public void onFailed(final WarmerContainer warmer) {
+                failed.incrementAndGet();
+            }
+
+            @Override
+            public void onStopped(final WarmerContainer warmer) {
+                stopped.incrementAndGet();
+            }
+        });
+
+        // not warm before the required warmers ran
+        final CompletableFuture<Void> warm = centrifuge.awaitWarm();
+        assertFalse(warm.isDone());
+        assertFalse(centrifuge.isWarm());
+
+        centrifuge.start();
+        warm.get(10, TimeUnit.SECONDS);
+        assertTrue(centrifuge.isWarm());
+        // listeners hear of the required warmers before the future completes, but not of the failing one
+        assertTrue(stopped.get() >= 2);
+        while (stopped.get() < 3) {
+            Thread.sleep(1);
+        }
+        centrifuge.stop();
+        assertEquals(initialized.get(), 2);
+        assertEquals(completed.get(), 2);
+        assertEquals(failed.get(), 1);
+        assertEquals(stopped.get(), 3);
+    }
+
+    @Test
+    public void testAwaitWarmRegisteredWarmer() throws Exception {
+        final Centrifuge centrifuge = Centrifuge.newInstance(new CentrifugeConfig());
+        centrifuge.registerWarmer(new WarmerConfig()
+                .setWarmerName("test-registered-warmer")
+                .setWarmerClass(NoopWarmer.class)
+                .setMaxIterations(5)
+                .setYieldMillis(1)
+                .setConcurrency(2)
+                .setRequired(true));
+
+        // registered required warmers count the same as configured ones
+        final CompletableFuture<Void> warm = centrifuge.awaitWarm();
+        assertFalse(warm.isDone());
+        assertFalse(centrifuge.isWarm());
+
+        centrifuge.start();
+        warm.get(10, TimeUnit.SECONDS);
+        assertTrue(centrifuge.isWarm());
+        for (final WarmerContainer wc : centrifuge.getWarmers()) {
+            assertTrue(wc.isStopped());
+            assertEquals(wc.getIteration(), 5);
+        }
+        centrifuge.stop();
+    }
+
+    @Test(expectedExceptions = TimeoutException.class)
+    public void testAwaitWarmTimeout() throws Throwable {
+        final Centrifuge centrifuge = Centrifuge.newInstance(new CentrifugeConfig()
+                .addWarmerConfig(new WarmerConfig()
+                        .setWarmerClass(NoopWarmer.class)
+                        .setRequired(true))
+        );
+        try {
+            centrifuge.awaitWarm(100, TimeUnit.MILLISECONDS).get(10, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Test
+    public void testTimeoutDeadline() throws Exception {
+        // one round calls next() 100 times for 100ms each, so the timeout is reached within a round
+        final WarmerConfig warmerConfig = new WarmerConfig()
+                .setWarmerName("test-timeout-warmer")
+                .setWarmerClass(SleepWarmer.class)
+                .setBurstIterations(100)
+                .setTimeoutMillis(250);
+
+        final Centrifuge centrifuge = Centrifuge.newInstance(new CentrifugeConfig().addWarmerConfig(warmerConfig));
+        final long startNanos = System.nanoTime();
+        centrifuge.start();
+        while (centrifuge.isRunning()) {
+            Thread.sleep(1);
+        }
+        final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        assertTrue(centrifuge.getWarmers().get(0).isStopped());
+        assertTrue(elapsedMillis >= 250 && elapsedMillis < 1000, "elapsed: " + elapsedMillis);
+        assertTrue(centrifuge.getWarmers().get(0).getIteration() <= 4);
+    }
+
+    @Test
+    public void testMetricsExporter() throws Exception {
+        final Map<String, Double> values = new HashMap<>();
+        final AtomicInteger started = new AtomicInteger();
+        // collects the final metrics when the engine stops
+        final MetricsExporter exporter = new MetricsExporter() {
+            private Centrifuge centrifuge;
+
+            @Override
+            public void start(final Centrifuge centrifuge, final Map<String, Object> params) {
+                this.centrifuge = centrifuge;
+                started.incrementAndGet();
+                assertEquals(params.get("key"), "value");
+            }
+
+            @Override
+            public void stop() {
+            }
+
+            @Override
+            public void onEngineStopped() {
+                this.centrifuge.collectMetrics(new MetricsVisitor() {
+                    @Override
+                    public void counter(final Metric metric, final String warmer, double value) {
+                        values.put(metric.getName() + "/" + warmer, value);
+                    }
+
+                    @Override
+                    public void gauge(final Metric metric, final String warmer, double value) {
+                        values.put(metric.getName() + "/" + warmer, value);
+                    }
+
+                    @Override
+                    public void timer(final Metric metric, final String warmer, long count, double totalSeconds) {
+                        values.put(metric.getName() + "/" + warmer, (double) count);
+                    }
+
+                    @Override
+                    public void histogram(final Metric metric, final String warmer, final LatencyHistogram histogram) {
+                        values.put(metric.getName() + "/" + warmer, (double) histogram.getTotalCount());
+                    }
+                });
+            }
+        };
+
+        final Centrifuge centrifuge = Centrifuge.newInstance(new CentrifugeConfig()
+                .addWarmerConfig(new WarmerConfig()
+                        .setWarmerName("test-metrics-warmer")
+                        .setWarmerClass(NoopWarmer.class)
+                        .setMaxIterations(10)
+                        .setYieldMillis(1)
+                        .setConcurrency(2)
+                        .setRequired(true))
+                .addMetricsExporter(exporter, Collections.singletonMap("key", "value"))
+        );
+        centrifuge.start();
+        centrifuge.awaitWarm().get(10, TimeUnit.SECONDS);
+        centrifuge.stop();
+        // exporters are started once, and keep running across restarts
+        centrifuge.start();
+        centrifuge.awaitWarm().get(10, TimeUnit.SECONDS);
+        centrifuge.stop();
+
+        assertEquals(started.get(), 1);
+        assertEquals(values.get("centrifuge.warm/null"), 1.0);
+        assertTrue(values.get("centrifuge.time.to.warm/null") > 0);
+        assertTrue(values.containsKey("centrifuge.start.time/null"));
+        assertEquals(values.get("centrifuge.warmer.iterations/test-metrics-warmer"), 20.0);
+        assertEquals(values.get("centrifuge.warmer.successes/test-metrics-warmer"), 20.0);
+        assertEquals(values.get("centrifuge.warmer.failures/test-metrics-warmer"), 0.0);
+        assertEquals(values.get("centrifuge.warmer.running.instances/test-metrics-warmer"), 0.0);
+        assertEquals(values.get("centrifuge.warmer.latency/test-metrics-warmer"), 20.0);
+        // init rounds are not counted as executions
+        assertEquals(values.get("centrifuge.warmer.execution/test-metrics-warmer"), 20.0);
+    }
+
+    private static long countNoopIterations(final Centrifuge centrifuge) {
+        return centrifuge.getWarmers().stream().mapToLong(w -> ((NoopWarmer) w.getWarmer()).nextCount).sum();
+    }
+
     @Test
     public void test() throws Exception {
         final WarmerConfig warmerConfig = new WarmerConfig();
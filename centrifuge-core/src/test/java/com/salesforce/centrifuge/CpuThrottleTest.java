@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+import org.testng.annotations.Test;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class CpuThrottleTest {
+
+    private static final class FakeCpuLoad implements CpuThrottle.CpuLoad {
+        private volatile double systemLoad;
+        private volatile double processLoad;
+
+        @Override
+        public double getSystemLoad() {
+            return this.systemLoad;
+        }
+
+        @Override
+        public double getProcessLoad() {
+            return this.processLoad;
+        }
+    }
+
+    @Test
+    public void testFastMode() {
+        final FakeCpuLoad load = new FakeCpuLoad();
+        final CpuThrottle throttle = new CpuThrottle(CpuThrottle.Mode.FAST, 50, load);
+        assertEquals(throttle.getLevel(), 1.0);
+
+        // above target; level drops multiplicatively, but never below the floor
+        load.systemLoad = 1.0;
+        throttle.sample();
+        assertEquals(throttle.getLevel(), 0.5, 1e-9);
+        for (int i = 0; i < 10; ++i) {
+            throttle.sample();
+        }
+        assertEquals(throttle.getLevel(), 0.1, 1e-9);
+        assertTrue(throttle.isAdmitted(0.05));
+        assertFalse(throttle.isAdmitted(0.5));
+        assertEquals(throttle.adjustYieldNanos(10), 100);
+
+        // close to target; level stays
+        load.systemLoad = 0.48;
+        throttle.sample();
+        assertEquals(throttle.getLevel(), 0.1, 1e-9);
+
+        // below target; level rises additively
+        load.systemLoad = 0.2;
+        throttle.sample();
+        assertEquals(throttle.getLevel(), 0.2, 1e-9);
+        for (int i = 0; i < 10; ++i) {
+            throttle.sample();
+        }
+        assertEquals(throttle.getLevel(), 1.0, 1e-9);
+        assertEquals(throttle.adjustYieldNanos(10), 10);
+    }
+
+    @Test
+    public void testIdleMode() {
+        final FakeCpuLoad load = new FakeCpuLoad();
+        final CpuThrottle throttle = new CpuThrottle(CpuThrottle.Mode.IDLE, 80, load);
+
+        // other processes use 50%, so warmers get 30%
+        load.systemLoad = 0.9;
+        load.processLoad = 0.4;
+        throttle.sample();
+        assertEquals(throttle.getLevel(), 0.75, 1e-9);
+
+        // no idle cpu left; warmers pause entirely
+        load.systemLoad = 1.0;
+        load.processLoad = 0.1;
+        for (int i = 0; i < 100; ++i) {
+            throttle.sample();
+        }
+        assertTrue(throttle.getLevel() < 1e-9);
+        assertFalse(throttle.isAdmitted(0.0));
+    }
+
+    @Test
+    public void testContainerPaused() throws Exception {
+        final FakeCpuLoad load = new FakeCpuLoad();
+        final CpuThrottle throttle = new CpuThrottle(CpuThrottle.Mode.IDLE, 50, load);
+        load.systemLoad = 1.0;
+        load.processLoad = 0.1;
+        for (int i = 0; i < 100; ++i) {
+            throttle.sample();
+        }
+
+        final WarmerConfig config = new WarmerConfig()
+                .setWarmerName("test-cpu-throttled-warmer")
+                .setWarmerClass(NoopWarmer.class)
+                .setMaxIterations(100)
+                .setYieldMillis(1);
+        final WarmerContainer container = new WarmerContainer(config, Executors.newScheduledThreadPool(1));
+        container.setCpuThrottle(throttle);
+        container.start();
+        Thread.sleep(300);
+        assertEquals(container.getIteration(), 0);
+
+        // cpu is idle again
+        load.systemLoad = 0.1;
+        for (int i = 0; i < 10; ++i) {
+            throttle.sample();
+        }
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!container.isStopped() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(container.isCompleted());
+    }
+}
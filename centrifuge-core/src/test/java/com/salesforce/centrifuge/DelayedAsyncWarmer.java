@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Completes each operation after the number of millis given by the 'delay' parameter;
+ * operations never complete if the delay is negative.
+ */
+public class DelayedAsyncWarmer implements AsyncWarmer {
+    private static final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+
+    final List<CompletableFuture<Void>> futures = new CopyOnWriteArrayList<>();
+    private long delayMillis;
+
+    @Override
+    public void init(final Map<String, Object> params) throws Exception {
+        this.delayMillis = Long.parseLong(String.valueOf(params.get("delay")));
+    }
+
+    @Override
+    public CompletionStage<?> nextAsync() throws Exception {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        this.futures.add(future);
+        if (this.delayMillis >= 0) {
+            timer.schedule(() -> future.complete(null), this.delayMillis, TimeUnit.MILLISECONDS);
+        }
+        return future;
+    }
+}
@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+import java.util.Map;
+
+public class FailingWarmer implements Warmer {
+
+    @Override
+    public void init(final Map<String, Object> params) throws Exception {
+        throw new IllegalStateException("failing warmer");
+    }
+
+    @Override
+    public void next() throws Exception {
+        // never called
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBuckets() {
+        for (long value = 0; value < 1_000_000; value += 7) {
+            final int index = LatencyHistogram.indexOf(value);
+            final long highest = LatencyHistogram.highestEquivalentValue(index);
+            assertTrue(highest >= value);
+            // relative error is bounded by the sub-bucket resolution
+            assertTrue(highest - value <= value / 16.0);
+        }
+        assertTrue(LatencyHistogram.indexOf(LatencyHistogram.MAX_TRACKABLE_VALUE)
+                > LatencyHistogram.indexOf(LatencyHistogram.MAX_TRACKABLE_VALUE / 2));
+    }
+
+    @Test
+    public void testPercentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(histogram.getValueAtPercentile(99.0), 0);
+
+        for (long value = 1; value <= 10_000; ++value) {
+            histogram.record(value * 1_000);
+        }
+        assertEquals(histogram.getTotalCount(), 10_000);
+        assertEquals(histogram.getMaxValue(), 10_000_000);
+        assertWithin(histogram.getValueAtPercentile(50.0), 5_000_000);
+        assertWithin(histogram.getValueAtPercentile(90.0), 9_000_000);
+        assertWithin(histogram.getValueAtPercentile(99.0), 9_900_000);
+        assertEquals(histogram.getValueAtPercentile(100.0), 10_000_000);
+        assertEquals(histogram.getTotalValue(), 10_000L * 10_001 / 2 * 1_000);
+        assertEquals(histogram.getCountAtOrBelow(-1), 0);
+        assertWithin(histogram.getCountAtOrBelow(5_000_000), 5_000);
+        assertEquals(histogram.getCountAtOrBelow(10_000_000), 10_000);
+
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(histogram.getMaxValue(), Long.MAX_VALUE);
+
+        histogram.reset();
+        assertEquals(histogram.getTotalCount(), 0);
+        assertEquals(histogram.getTotalValue(), 0);
+        assertEquals(histogram.getValueAtPercentile(50.0), 0);
+    }
+
+    private static void assertWithin(long actual, long expected) {
+        assertTrue(Math.abs(actual - expected) <= expected * 0.0625, actual + " is not close to " + expected);
+    }
+}
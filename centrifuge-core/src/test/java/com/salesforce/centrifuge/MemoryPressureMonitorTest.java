@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+import org.testng.annotations.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class MemoryPressureMonitorTest {
+
+    @Test
+    public void testGcOverhead() {
+        final MemoryPressureMonitor monitor = new MemoryPressureMonitor(10, 0);
+        monitor.start();
+        try {
+            final long start = System.nanoTime();
+            assertNull(monitor.sample(start + TimeUnit.MILLISECONDS.toNanos(1000)));
+
+            // 30% of the next window spent in gc
+            monitor.recordGc(TimeUnit.MILLISECONDS.toNanos(300));
+            // not evaluated until the window is over
+            assertNull(monitor.sample(start + TimeUnit.MILLISECONDS.toNanos(1500)));
+            final String pressure = monitor.sample(start + TimeUnit.MILLISECONDS.toNanos(2000));
+            assertNotNull(pressure);
+            assertTrue(pressure.contains("gc overhead"));
+
+            // clears after two windows without pressure
+            assertNotNull(monitor.sample(start + TimeUnit.MILLISECONDS.toNanos(3000)));
+            assertNull(monitor.sample(start + TimeUnit.MILLISECONDS.toNanos(4000)));
+        } finally {
+            monitor.stop();
+        }
+    }
+
+    @Test
+    public void testThresholdsRestoredOnStop() {
+        final Map<String, Long> before = collectionUsageThresholds();
+        final MemoryPressureMonitor monitor = new MemoryPressureMonitor(0, 50);
+        monitor.start();
+        monitor.stop();
+        assertEquals(collectionUsageThresholds(), before);
+    }
+
+    private static Map<String, Long> collectionUsageThresholds() {
+        final Map<String, Long> thresholds = new HashMap<>();
+        for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.isCollectionUsageThresholdSupported()) {
+                thresholds.put(pool.getName(), pool.getCollectionUsageThreshold());
+            }
+        }
+        return thresholds;
+    }
+}
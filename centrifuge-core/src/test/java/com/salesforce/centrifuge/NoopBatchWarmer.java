@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+import java.util.Map;
+
+public class NoopBatchWarmer implements BatchWarmer {
+    volatile long itemCount;
+    volatile long batchCount;
+    volatile int maxBatchSize;
+
+    @Override
+    public void init(final Map<String, Object> params) throws Exception {
+        // no-op
+    }
+
+    @Override
+    public void next(int batchSize) throws Exception {
+        itemCount += batchSize;
+        batchCount++;
+        maxBatchSize = Math.max(maxBatchSize, batchSize);
+    }
+}
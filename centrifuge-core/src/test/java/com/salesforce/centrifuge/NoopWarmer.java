@@ -0,0 +1,25 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+import java.util.Map;
+
+public class NoopWarmer implements Warmer {
+    volatile long nextCount;
+    volatile int initCount;
+
+    @Override
+    public void init(final Map<String, Object> params) throws Exception {
+        initCount++;
+    }
+
+    @Override
+    public void next() throws Exception {
+        nextCount++;
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Records init() and the last next() call of each warmer, in the order they happen; fails on init
+ * if the 'fail' parameter is set.
+ */
+public class OrderWarmer implements Warmer {
+    static final Queue<String> events = new ConcurrentLinkedQueue<>();
+
+    private String name;
+    private int iterations;
+
+    @Override
+    public void init(final Map<String, Object> params) throws Exception {
+        this.name = String.valueOf(params.get("name"));
+        if (params.containsKey("fail")) {
+            throw new IllegalStateException("failing " + this.name);
+        }
+        events.add(this.name + ":init");
+    }
+
+    @Override
+    public void next() throws Exception {
+        Thread.sleep(10);
+        if (++this.iterations == 5) {
+            events.add(this.name + ":done");
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ParallelWarmer implements Warmer {
+    static final AtomicLong nextCount = new AtomicLong();
+
+    // calls inside next() right now, and the most seen at once
+    static final AtomicInteger running = new AtomicInteger();
+    static final AtomicInteger maxRunning = new AtomicInteger();
+
+    // calls wait inside next() until this many calls were made, so that calls able to overlap do
+    private static volatile CountDownLatch overlap = new CountDownLatch(0);
+    private static volatile long overlapMillis = 0;
+
+    static void reset(int overlapCalls, long overlapMillis) {
+        nextCount.set(0);
+        running.set(0);
+        maxRunning.set(0);
+        ParallelWarmer.overlapMillis = overlapMillis;
+        ParallelWarmer.overlap = new CountDownLatch(overlapCalls);
+    }
+
+    @Override
+    public void init(final Map<String, Object> params) throws Exception {
+        // no-op
+    }
+
+    @Override
+    public void next() throws Exception {
+        nextCount.incrementAndGet();
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        try {
+            final CountDownLatch overlap = ParallelWarmer.overlap;
+            overlap.countDown();
+            overlap.await(overlapMillis, TimeUnit.MILLISECONDS);
+        } finally {
+            running.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class RateLimiterTest {
+    private static final long NOW = TimeUnit.SECONDS.toNanos(1000);
+
+    @Test
+    public void testBurstAndRate() {
+        final RateLimiter limiter = new RateLimiter(1000);
+        int acquired = 0;
+        while (limiter.tryAcquire(1, NOW) == 0) {
+            ++acquired;
+        }
+        // a full bucket holds 100ms worth of permits, and the last one is taken on credit
+        assertEquals(acquired, 101);
+        assertEquals(limiter.tryAcquire(1, NOW), TimeUnit.MILLISECONDS.toNanos(1));
+        assertEquals(limiter.tryAcquire(1, NOW + TimeUnit.MILLISECONDS.toNanos(1)), 0);
+
+        limiter.release(1);
+        assertEquals(limiter.tryAcquire(1, NOW + TimeUnit.MILLISECONDS.toNanos(1)), 0);
+    }
+
+    @Test
+    public void testLargeBatch() {
+        final RateLimiter limiter = new RateLimiter(1000);
+        assertEquals(limiter.tryAcquire(1000, NOW), 0);
+        // the batch is paid for before more permits are given out
+        final long waitNanos = limiter.tryAcquire(1, NOW);
+        assertEquals(waitNanos, TimeUnit.MILLISECONDS.toNanos(900));
+    }
+
+    @Test
+    public void testUnlimited() {
+        final RateLimiter limiter = new RateLimiter(0);
+        for (int i = 0; i < 100_000; ++i) {
+            assertEquals(limiter.tryAcquire(1, NOW), 0);
+        }
+        limiter.setRate(10);
+        assertEquals(limiter.getRate(), 10.0);
+        // a bucket of 100ms holds a single permit at this rate, plus one taken on credit
+        assertEquals(limiter.tryAcquire(1, NOW), 0);
+        assertEquals(limiter.tryAcquire(1, NOW), 0);
+        assertEquals(limiter.tryAcquire(1, NOW), TimeUnit.MILLISECONDS.toNanos(100));
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class VirtualThreadExecutorServiceTest {
+    private static final String WORKER_PREFIX = "test-worker-";
+
+    private VirtualThreadExecutorService executor;
+
+    // platform threads stand in for virtual threads, which are not available on every jdk the tests run on
+    @BeforeMethod
+    public void setUp() {
+        this.executor = new VirtualThreadExecutorService(Executors.newCachedThreadPool(
+                new ThreadFactoryBuilder().setNameFormat(WORKER_PREFIX + "%d").setDaemon(true).build()));
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void testEveryTaskRunsOnWorkers() throws Exception {
+        final Callable<String> threadName = () -> Thread.currentThread().getName();
+        final CountDownLatch executed = new CountDownLatch(1);
+        final AtomicInteger onWorker = new AtomicInteger();
+        this.executor.execute(() -> {
+            if (Thread.currentThread().getName().startsWith(WORKER_PREFIX)) {
+                onWorker.incrementAndGet();
+            }
+            executed.countDown();
+        });
+        assertTrue(executed.await(5, TimeUnit.SECONDS));
+        assertEquals(onWorker.get(), 1);
+
+        assertOnWorker(this.executor.submit(threadName).get(5, TimeUnit.SECONDS));
+        assertOnWorker(this.executor.schedule(threadName, 10, TimeUnit.MILLISECONDS).get(5, TimeUnit.SECONDS));
+        for (final Future<String> future : this.executor.invokeAll(Arrays.asList(threadName, threadName))) {
+            assertOnWorker(future.get());
+        }
+        assertOnWorker(this.executor.invokeAny(Arrays.asList(threadName, threadName)));
+
+        // futures of runnables complete once the task ran, not when it is handed over
+        final AtomicInteger runs = new AtomicInteger();
+        this.executor.schedule(runs::incrementAndGet, 10, TimeUnit.MILLISECONDS).get(5, TimeUnit.SECONDS);
+        this.executor.submit(runs::incrementAndGet).get(5, TimeUnit.SECONDS);
+        assertEquals(runs.get(), 2);
+    }
+
+    @Test
+    public void testPeriodicTasksRunOnWorkersWithoutOverlap() throws Exception {
+        for (final boolean isFixedRate : new boolean[] { true, false }) {
+            final AtomicInteger running = new AtomicInteger();
+            final AtomicInteger overlaps = new AtomicInteger();
+            final AtomicInteger offWorker = new AtomicInteger();
+            final CountDownLatch runs = new CountDownLatch(5);
+            final Runnable task = () -> {
+                if (running.incrementAndGet() > 1) {
+                    overlaps.incrementAndGet();
+                }
+                if (!Thread.currentThread().getName().startsWith(WORKER_PREFIX)) {
+                    offWorker.incrementAndGet();
+                }
+                // takes longer than the period
+                sleep(5);
+                running.decrementAndGet();
+                runs.countDown();
+            };
+            final ScheduledFuture<?> future = isFixedRate
+                    ? this.executor.scheduleAtFixedRate(task, 0, 1, TimeUnit.MILLISECONDS)
+                    : this.executor.scheduleWithFixedDelay(task, 0, 1, TimeUnit.MILLISECONDS);
+            assertTrue(runs.await(5, TimeUnit.SECONDS));
+            assertTrue(future.cancel(false));
+            assertEquals(overlaps.get(), 0);
+            assertEquals(offWorker.get(), 0);
+        }
+    }
+
+    @Test
+    public void testCancelledTaskDoesNotRun() throws Exception {
+        final AtomicInteger runs = new AtomicInteger();
+        final List<ScheduledFuture<?>> futures = Arrays.asList(
+                this.executor.schedule(runs::incrementAndGet, 100, TimeUnit.MILLISECONDS),
+                this.executor.scheduleAtFixedRate(runs::incrementAndGet, 100, 1, TimeUnit.MILLISECONDS));
+        for (final ScheduledFuture<?> future : futures) {
+            assertTrue(future.cancel(false));
+            assertTrue(future.isCancelled());
+        }
+        Thread.sleep(200);
+        assertEquals(runs.get(), 0);
+    }
+
+    private static void assertOnWorker(final String threadName) {
+        assertTrue(threadName.startsWith(WORKER_PREFIX), threadName);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
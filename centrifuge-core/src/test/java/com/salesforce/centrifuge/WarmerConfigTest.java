@@ -14,6 +14,8 @@ import java.util.Random;
 import java.util.UUID;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 public class WarmerConfigTest {
 
@@ -38,7 +40,15 @@ public class WarmerConfigTest {
 
         assertEquals(warmerConfig.setYieldMillis(randomNegativeNumber).getYieldMillis(), Constants.PROPERTY_VALUE_DEFAULT_YIELD_MILLIS);
 
+        assertTrue(warmerConfig.isThreadSafe());
+        assertFalse(warmerConfig.setThreadSafe(false).isThreadSafe());
+        assertFalse(new WarmerConfig().setWarmerClass(SingleThreadedWarmer.class).isThreadSafe());
+
         // null params is no-op
         assertEquals(warmerConfig.getParams(), warmerConfig.setParams(null).getParams());
     }
-}
\ No newline at end of file
+
+    @SingleThreaded
+    public static class SingleThreadedWarmer extends EchoWarmer {
+    }
+}
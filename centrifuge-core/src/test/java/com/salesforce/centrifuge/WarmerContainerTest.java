@@ -11,7 +11,13 @@ import static org.testng.AssertJUnit.assertFalse;
 import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertTrue;
 import java.lang.reflect.Constructor;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -77,4 +83,460 @@ public class WarmerContainerTest {
         // container is in running state only during the execution of call
         assertFalse(container.isRunning());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testBurst() throws Exception {
+        final WarmerConfig config = new WarmerConfig()
+                .setWarmerName("test-burst-warmer")
+                .setWarmerClass(NoopWarmer.class)
+                .setMaxIterations(100_000)
+                .setBurstIterations(30_000)
+                .setYieldMillis(10);
+
+        final WarmerContainer container = new WarmerContainer(config, Executors.newScheduledThreadPool(1));
+        final long startNanos = System.nanoTime();
+        container.start();
+        while (!container.isStopped()) {
+            Thread.sleep(10);
+        }
+        // 100k iterations yielding 10ms each would take over 16 minutes without bursts
+        assertTrue(System.nanoTime() - startNanos < TimeUnit.SECONDS.toNanos(10));
+        assertTrue(container.isCompleted());
+        assertEquals(100_000, container.getSuccessfulRounds());
+        assertEquals(100_000, ((NoopWarmer) container.getWarmer()).nextCount);
+    }
+
+    @Test
+    public void testBurstTimeSliceAndStop() throws Exception {
+        final WarmerConfig config = new WarmerConfig()
+                .setWarmerName("test-burst-warmer")
+                .setWarmerClass(NoopWarmer.class)
+                .setMaxIterations(-1)
+                .setBurstIterations(Integer.MAX_VALUE)
+                .setBurstMillis(20);
+
+        final WarmerContainer container = new WarmerContainer(config, Executors.newScheduledThreadPool(1));
+        container.start();
+        Thread.sleep(200);
+        container.stop();
+        while (container.isRunning()) {
+            Thread.sleep(10);
+        }
+        final int iterations = container.getIteration();
+        assertTrue(iterations > 0);
+        Thread.sleep(100);
+        assertEquals(iterations, container.getIteration());
+        assertTrue(container.isStopped());
+        assertFalse(container.isCompleted());
+    }
+
+    @Test
+    public void testJitPlateau() throws Exception {
+        final WarmerConfig config = new WarmerConfig()
+                .setWarmerName("test-jit-warmer")
+                .setWarmerClass(NoopWarmer.class)
+                .setMaxIterations(-1)
+                .setBurstIterations(1000)
+                .setJitPlateauWindow(8000)
+                .setJitPlateauThresholdMillis(1000)
+                .setJitPlateauThresholdCompiles(1000);
+
+        final WarmerContainer container = new WarmerContainer(config, Executors.newScheduledThreadPool(1));
+        container.start();
+        final long deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!container.isStopped() && System.nanoTime() < deadlineNanos) {
+            Thread.sleep(10);
+        }
+        assertTrue(container.isStopped());
+        assertTrue(container.isCompleted());
+        assertTrue(container.getIteration() >= 8000);
+        assertEquals(0, container.getFailedRounds());
+
+        // the jvm wide event stream is closed once no running container uses the rule
+        while (JitMonitor.getInstance().isEventStreamStarted() && System.nanoTime() < deadlineNanos) {
+            Thread.sleep(10);
+        }
+        assertFalse(JitMonitor.getInstance().isEventStreamStarted());
+    }
+
+    @Test
+    public void testJitPlateauWhileCompiling() throws Exception {
+        final AtomicLong compilationMillis = new AtomicLong();
+        final AtomicInteger iteration = new AtomicInteger();
+        final WarmerConfig config = new WarmerConfig()
+                .setWarmerName("test-jit-compiling-warmer")
+                .setWarmerClass(NoopWarmer.class);
+        // iterations are advanced by the test rather than by running the warmer
+        final WarmerContainer container = new WarmerContainer(config, Executors.newScheduledThreadPool(1)) {
+            @Override
+            public int getIteration() {
+                return iteration.get();
+            }
+        };
+        final JitPlateauRule rule = new JitPlateauRule(new JitMonitor(compilationMillis::get),
+                JitPlateauRule.SAMPLES, 10, Long.MAX_VALUE);
+        rule.start();
+
+        // compilation time grows by more than the threshold in every step, so the rule never completes
+        for (int i = 0; i < 10 * JitPlateauRule.SAMPLES; ++i) {
+            assertFalse(rule.isComplete(container, 0));
+            compilationMillis.addAndGet(20);
+            iteration.incrementAndGet();
+        }
+
+        // completes once a full window passed without compilation
+        for (int i = 0; i < JitPlateauRule.SAMPLES; ++i) {
+            assertFalse(rule.isComplete(container, 0));
+            iteration.incrementAndGet();
+        }
+        assertTrue(rule.isComplete(container, 0));
+        rule.stop();
+    }
+
+    @Test
+    public void testLatencyStability() throws Exception {
+        final WarmerConfig config = new WarmerConfig()
+                .setWarmerName("test-latency-warmer")
+                .setWarmerClass(SleepWarmer.class)
+                .setMaxIterations(100)
+                .setYieldMillis(1)
+                .setLatencyWindow(3)
+                .setLatencyStableWindows(2)
+                .setLatencyTolerancePercent(50);
+
+        final WarmerContainer container = new WarmerContainer(config, Executors.newScheduledThreadPool(1));
+        container.start();
+        while (!container.isStopped()) {
+            Thread.sleep(10);
+        }
+        // sleep warmer has a stable latency of ~100ms, so it completes after two windows
+        assertTrue(container.isCompleted());
+        assertEquals(6, container.getIteration());
+        assertEquals(6, container.getLatencyHistogram().getTotalCount());
+        assertTrue(container.getLatencyHistogram().getValueAtPercentile(50.0) >= TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    public void testBatchWarmer() throws Exception {
+        final WarmerConfig config = new WarmerConfig()
+                .setWarmerName("test-batch-warmer")
+                .setWarmerClass(NoopBatchWarmer.class)
+                .setMaxIterations(100_003)
+                .setMaxBatchSize(512)
+                .setYieldMillis(1);
+
+        final WarmerContainer container = new WarmerContainer(config, Executors.newScheduledThreadPool(1));
+        container.start();
+        while (!container.isStopped()) {
+            Thread.sleep(10);
+        }
+        final NoopBatchWarmer warmer = (NoopBatchWarmer) container.getWarmer();
+        assertTrue(container.isCompleted());
+        // items in each batch count as iterations, without overshooting max iterations
+        assertEquals(100_003, warmer.itemCount);
+        assertEquals(100_003, container.getIteration());
+        assertEquals(100_003, container.getSuccessfulRounds());
+        assertEquals(512, warmer.maxBatchSize);
+        assertTrue(warmer.batchCount < 1_000);
+    }
+
+    @Test
+    public void testBatchCallTimeoutCountsOneFailure() throws Exception {
+        final WarmerConfig config = new WarmerConfig()
+                .setWarmerName("test-stalling-batch-warmer")
+                .setWarmerClass(StallingBatchWarmer.class)
+                .setMaxIterations(-1)
+                .setMaxFailure(1)
+                .setMaxBatchSize(512)
+                .setYieldMillis(1)
+                .setCallTimeoutMillis(50);
+
+        final WarmerContainer container = new WarmerContainer(config, Executors.newScheduledThreadPool(1));
+        container.start();
+        while (!container.isStopped()) {
+            Thread.sleep(10);
+        }
+        // the batch size grew before the warmer stalled, but the timed out batch is a single failure
+        assertTrue(container.getBatchSize() > 1);
+        assertTrue(container.isFailed());
+        assertEquals(1, container.getFailedRounds());
+    }
+
+    @Test
+    public void testAsyncWarmer() throws Exception {
+        final WarmerConfig config = new WarmerConfig()
+                .setWarmerName("test-async-warmer")
+                .setWarmerClass(DelayedAsyncWarmer.class)
+                .setMaxIterations(1000)
+                .setMaxInFlight(100)
+                .setYieldMillis(1)
+                .setParams(Collections.singletonMap("delay", 50));
+
+        final WarmerContainer container = new WarmerContainer(config, Executors.newScheduledThreadPool(1));
+        final long startNanos = System.nanoTime();
+        container.start();
+        while (!container.isStopped()) {
+            Thread.sleep(10);
+        }
+        // a single thread would need 50 seconds to run these one at a time
+        assertTrue(System.nanoTime() - startNanos < TimeUnit.SECONDS.toNanos(10));
+        assertTrue(container.isCompleted());
+        assertEquals(1000, container.getSuccessfulRounds());
+        assertEquals(1000, ((DelayedAsyncWarmer) container.getWarmer()).futures.size());
+        assertTrue(container.getLatencyHistogram().getValueAtPercentile(50.0) >= TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    public void testAsyncWarmerStopCancelsInFlight() throws Exception {
+        final WarmerConfig config = new WarmerConfig()
+                .setWarmerName("test-async-warmer")
+                .setWarmerClass(DelayedAsyncWarmer.class)
+                .setMaxIterations(-1)
+                .setMaxInFlight(10)
+                .setYieldMillis(1)
+                .setParams(Collections.singletonMap("delay", -1));
+
+        final WarmerContainer container = new WarmerContainer(config, Executors.newScheduledThreadPool(1));
+        container.start();
+        final DelayedAsyncWarmer warmer = (DelayedAsyncWarmer) container.getWarmer();
+        while (warmer.futures.size() < 10) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(50);
+        // no more than max in flight operations are started
+        assertEquals(10, warmer.futures.size());
+        container.stop();
+        for (final CompletableFuture<Void> future : warmer.futures) {
+            assertTrue(future.isCancelled());
+        }
+        assertEquals(0, container.getFailedRounds());
+    }
+
+    @Test
+    public void testOpenLoopRate() throws Exception {
+        final WarmerConfig config = new WarmerConfig()
+                .setWarmerName("test-open-loop-warmer")
+                .setWarmerClass(NoopWarmer.class)
+                .setMaxIterations(101)
+                .setTargetRate(200);
+
+        final WarmerContainer container = new WarmerContainer(config, Executors.newScheduledThreadPool(1));
+        final long startNanos = System.nanoTime();
+        container.start();
+        while (!container.isStopped()) {
+            Thread.sleep(10);
+        }
+        // 100 intervals of 5ms after the first iteration
+        final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        assertTrue(container.isCompleted());
+        assertTrue(elapsedMillis >= 500);
+        assertTrue(elapsedMillis < 2000);
+    }
+
+    @Test
+    public void testOpenLoopRamp() throws Exception {
+        final WarmerConfig config = new WarmerConfig()
+                .setWarmerName("test-open-loop-ramp-warmer")
+                .setWarmerClass(NoopWarmer.class)
+                .setMaxIterations(501)
+                .setTargetRate(1000)
+                .setRampMillis(1000);
+
+        final WarmerContainer container = new WarmerContainer(config, Executors.newScheduledThreadPool(1));
+        final long startNanos = System.nanoTime();
+        container.start();
+        while (!container.isStopped()) {
+            Thread.sleep(10);
+        }
+        // ramping up from 0 to 1000 per second over one second starts 500 iterations; without the ramp it takes 500ms
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) >= 1000);
+    }
+
+    @Test
+    public void testOpenLoopLatencyIncludesDelay() throws Exception {
+        final WarmerConfig config = new WarmerConfig()
+                .setWarmerName("test-open-loop-sleep-warmer")
+                .setWarmerClass(SleepWarmer.class)
+                .setMaxIterations(10)
+                .setTargetRate(50);
+
+        final WarmerContainer container = new WarmerContainer(config, Executors.newScheduledThreadPool(1));
+        container.start();
+        while (!container.isStopped()) {
+            Thread.sleep(10);
+        }
+        // iterations take 100ms but are scheduled every 20ms; the last one starts 720ms late
+        assertEquals(10, container.getSuccessfulRounds());
+        assertTrue(container.getLatencyHistogram().getMaxValue() >= TimeUnit.MILLISECONDS.toNanos(800));
+    }
+
+    @Test
+    public void testPauseAndResume() throws Exception {
+        final WarmerConfig config = new WarmerConfig()
+                .setWarmerName("test-paused-warmer")
+                .setWarmerClass(NoopWarmer.class)
+                .setMaxIterations(100)
+                .setYieldMillis(1);
+
+        final WarmerContainer container = new WarmerContainer(config, Executors.newScheduledThreadPool(1));
+        container.pause("test");
+        container.start();
+        Thread.sleep(300);
+        assertEquals(0, container.getIteration());
+        assertTrue(container.isPaused());
+
+        container.resume();
+        while (!container.isStopped()) {
+            Thread.sleep(10);
+        }
+        assertTrue(container.isCompleted());
+        assertEquals(1, container.getPauseCount());
+        assertTrue(container.getPausedNanos() >= TimeUnit.MILLISECONDS.toNanos(300));
+    }
+
+    @Test
+    public void testAllocationBudget() throws Exception {
+        final WarmerConfig config = new WarmerConfig()
+                .setWarmerName("test-allocating-warmer")
+                .setWarmerClass(AllocatingWarmer.class)
+                .setYieldMillis(0)
+                .setMaxAllocBytes(1024 * 1024);
+
+        final WarmerContainer container = new WarmerContainer(config, Executors.newScheduledThreadPool(1));
+        container.start();
+        while (!container.isStopped()) {
+            Thread.sleep(10);
+        }
+        // each iteration allocates 64KB, so the budget is used up after about 16 iterations
+        assertFalse(container.isCompleted());
+        assertTrue(container.getAllocatedBytes() >= 1024 * 1024);
+        assertTrue(container.getIteration() < 1000);
+        assertTrue(container.getCpuNanos() > 0);
+    }
+
+    @Test
+    public void testCallTimeout() throws Exception {
+        // each call sleeps 100ms, and is interrupted after 20ms
+        final WarmerConfig config = new WarmerConfig()
+                .setWarmerName("test-call-timeout-warmer")
+                .setWarmerClass(SleepWarmer.class)
+                .setMaxIterations(5)
+                .setYieldMillis(1)
+                .setCallTimeoutMillis(20);
+
+        final WarmerContainer container = new WarmerContainer(config, Executors.newScheduledThreadPool(1));
+        final long startNanos = System.nanoTime();
+        container.start();
+        while (!container.isStopped()) {
+            Thread.sleep(10);
+        }
+        assertTrue(System.nanoTime() - startNanos < TimeUnit.MILLISECONDS.toNanos(400));
+        assertTrue(container.isCompleted());
+        assertEquals(5, container.getFailedRounds());
+        assertEquals(0, container.getSuccessfulRounds());
+    }
+
+    @Test
+    public void testAsyncCallTimeout() throws Exception {
+        final WarmerConfig config = new WarmerConfig()
+                .setWarmerName("test-async-call-timeout-warmer")
+                .setWarmerClass(DelayedAsyncWarmer.class)
+                .setMaxIterations(20)
+                .setMaxInFlight(10)
+                .setYieldMillis(1)
+                .setCallTimeoutMillis(20)
+                .setParams(Collections.singletonMap("delay", -1));
+
+        final WarmerContainer container = new WarmerContainer(config, Executors.newScheduledThreadPool(1));
+        container.start();
+        while (!container.isStopped()) {
+            Thread.sleep(10);
+        }
+        // operations that never complete are cancelled and accounted for as failures
+        assertTrue(container.isCompleted());
+        assertEquals(20, container.getFailedRounds());
+        for (final CompletableFuture<Void> future : ((DelayedAsyncWarmer) container.getWarmer()).futures) {
+            assertTrue(future.isCancelled());
+        }
+    }
+
+    @Test
+    public void testStopClosesWarmerAfterCallInFlight() throws Exception {
+        final WarmerConfig config = new WarmerConfig()
+                .setWarmerName("test-closeable-warmer")
+                .setWarmerClass(CloseableWarmer.class)
+                .setMaxIterations(-1);
+
+        final WarmerContainer container = new WarmerContainer(config, Executors.newScheduledThreadPool(1));
+        final CloseableWarmer warmer = (CloseableWarmer) container.getWarmer();
+        container.start();
+        while (!warmer.isInNext) {
+            Thread.sleep(1);
+        }
+        // stopped from another thread while next() ignores the interrupt
+        container.stop();
+        assertFalse(warmer.isClosed);
+        warmer.isReleased = true;
+        while (!warmer.isClosed) {
+            Thread.sleep(1);
+        }
+        assertFalse(warmer.isClosedInNext);
+    }
+
+    public static class CloseableWarmer implements Warmer, AutoCloseable {
+        volatile boolean isInNext;
+        volatile boolean isReleased;
+        volatile boolean isClosed;
+        volatile boolean isClosedInNext;
+
+        @Override
+        public void init(final Map<String, Object> params) {
+            // no-op
+        }
+
+        @Override
+        public void next() {
+            this.isInNext = true;
+            while (!this.isReleased) {
+                Thread.yield();
+            }
+            this.isInNext = false;
+        }
+
+        @Override
+        public void close() {
+            this.isClosedInNext = this.isInNext;
+            this.isClosed = true;
+        }
+    }
+
+    public static class StallingBatchWarmer implements BatchWarmer {
+        private int calls;
+
+        @Override
+        public void init(final Map<String, Object> params) {
+            // no-op
+        }
+
+        @Override
+        public void next(int batchSize) throws Exception {
+            if (++this.calls > 100) {
+                Thread.sleep(10_000);
+            }
+        }
+    }
+
+    public static class AllocatingWarmer implements Warmer {
+        volatile byte[] buffer;
+
+        @Override
+        public void init(final Map<String, Object> params) {
+            // no-op
+        }
+
+        @Override
+        public void next() {
+            this.buffer = new byte[64 * 1024];
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+import com.google.common.collect.ImmutableMap;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+@Test(singleThreaded = true)
+public class WarmerSchedulerTest {
+
+    @Test
+    public void testDependencies() throws Exception {
+        final Centrifuge centrifuge = Centrifuge.newInstance(new CentrifugeConfig()
+                .addWarmerConfig(newConfig("http").setDependsOn(Collections.singletonList("cache")))
+                .addWarmerConfig(newConfig("cache"))
+                .addWarmerConfig(newConfig("other").setConcurrency(2))
+                .addWarmerConfig(newConfig("last").setPhase(1))
+        );
+        final List<String> events = run(centrifuge);
+
+        assertEquals(events.size(), 10);
+        assertTrue(events.indexOf("cache:done") < events.indexOf("http:init"));
+        // independent warmers run in parallel
+        assertTrue(events.indexOf("other:init") < events.indexOf("cache:done"));
+        // higher phase runs after all lower phases
+        assertEquals(events.get(8), "last:init");
+        assertEquals(events.get(9), "last:done");
+    }
+
+    @Test
+    public void testFailedRequiredDependency() throws Exception {
+        final Centrifuge centrifuge = Centrifuge.newInstance(new CentrifugeConfig()
+                .addWarmerConfig(newConfig("failing").setRequired(true).setParams(
+                        ImmutableMap.of("name", "failing", "fail", true)))
+                .addWarmerConfig(newConfig("dependent").setDependsOn(Collections.singletonList("failing")))
+                .addWarmerConfig(newConfig("transitive").setPhase(1))
+        );
+        final List<String> events = run(centrifuge);
+
+        assertEquals(events, Collections.emptyList());
+        for (final WarmerContainer wc : centrifuge.getWarmers()) {
+            assertTrue(wc.isStopped());
+            assertTrue(wc.isFailed());
+            assertFalse(wc.isInitialized());
+        }
+    }
+
+    @Test
+    public void testFailedOptionalDependency() throws Exception {
+        final Centrifuge centrifuge = Centrifuge.newInstance(new CentrifugeConfig()
+                .addWarmerConfig(newConfig("failing").setRequired(false).setParams(
+                        ImmutableMap.of("name", "failing", "fail", true)))
+                .addWarmerConfig(newConfig("dependent").setDependsOn(Collections.singletonList("failing")))
+        );
+        assertEquals(run(centrifuge), Arrays.asList("dependent:init", "dependent:done"));
+    }
+
+    @Test
+    public void testCycle() throws Exception {
+        final Centrifuge centrifuge = Centrifuge.newInstance(new CentrifugeConfig()
+                .addWarmerConfig(newConfig("a").setDependsOn(Collections.singletonList("b")))
+                .addWarmerConfig(newConfig("b").setDependsOn(Collections.singletonList("a")))
+                .addWarmerConfig(newConfig("c").setDependsOn(Collections.singletonList("a")))
+                .addWarmerConfig(newConfig("d"))
+        );
+        assertEquals(run(centrifuge), Arrays.asList("d:init", "d:done"));
+    }
+
+    @Test
+    public void testStopBeforeStart() throws Exception {
+        final WarmerConfig stopped = newConfig("stopped").setPhase(1).setRequired(false);
+        final Centrifuge centrifuge = Centrifuge.newInstance(new CentrifugeConfig()
+                .addWarmerConfig(newConfig("first"))
+                .addWarmerConfig(stopped)
+                .addWarmerConfig(newConfig("last").setPhase(2))
+        );
+        OrderWarmer.events.clear();
+        centrifuge.start();
+        // stopped through jmx while still waiting for the first phase
+        new WarmerController((CentrifugeImpl) centrifuge, stopped).stop();
+        centrifuge.awaitWarm().get(10, TimeUnit.SECONDS);
+
+        assertEquals(new ArrayList<>(OrderWarmer.events),
+                Arrays.asList("first:init", "first:done", "last:init", "last:done"));
+        while (centrifuge.isRunning()) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void testStopAndRestartPhasedRun() throws Exception {
+        final Centrifuge centrifuge = Centrifuge.newInstance(new CentrifugeConfig()
+                .addWarmerConfig(newConfig("first").setMaxIterations(1000))
+                .addWarmerConfig(newConfig("second").setPhase(1))
+        );
+        for (int run = 0; run < 2; ++run) {
+            OrderWarmer.events.clear();
+            centrifuge.start();
+            while (!OrderWarmer.events.contains("first:init")) {
+                Thread.sleep(10);
+            }
+            // stopping the first phase must not start the second one
+            centrifuge.stop();
+
+            assertFalse(centrifuge.isRunning());
+            for (final WarmerContainer wc : centrifuge.getWarmers()) {
+                assertTrue(wc.isStopped());
+            }
+            Thread.sleep(50);
+            assertEquals(new ArrayList<>(OrderWarmer.events), Collections.singletonList("first:init"));
+        }
+    }
+
+    private static WarmerConfig newConfig(final String name) {
+        return new WarmerConfig()
+                .setWarmerName(name)
+                .setWarmerClass(OrderWarmer.class)
+                .setMaxIterations(5)
+                .setMaxFailure(1)
+                .setYieldMillis(1)
+                .setRequired(true)
+                .setParams(ImmutableMap.of("name", name));
+    }
+
+    private static List<String> run(final Centrifuge centrifuge) throws Exception {
+        OrderWarmer.events.clear();
+        centrifuge.start();
+        while (!centrifuge.isWarm()) {
+            Thread.sleep(10);
+        }
+        return new ArrayList<>(OrderWarmer.events);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class WarmerStatsTest {
+
+    @Test
+    public void testCounters() {
+        final WarmerStats stats = new WarmerStats();
+        stats.addIterations(3);
+        stats.addSuccesses(2);
+        stats.addFailures(1);
+        stats.addRun(1000, 500, 4096);
+        // unsupported cpu and allocation values are ignored
+        stats.addRun(1000, -1, -1);
+
+        final WarmerStats.Snapshot snapshot = stats.snapshot();
+        assertEquals(snapshot.iterations, 3);
+        assertEquals(snapshot.successes, 2);
+        assertEquals(snapshot.failures, 1);
+        assertEquals(snapshot.durationNanos, 2000);
+        assertEquals(snapshot.cpuNanos, 500);
+        assertEquals(snapshot.allocatedBytes, 4096);
+    }
+
+    @Test
+    public void testConsistentSnapshots() throws Exception {
+        final WarmerStats stats = new WarmerStats();
+        final AtomicBoolean isDone = new AtomicBoolean();
+        final int writers = 4;
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < writers; ++i) {
+            // like a warmer: an iteration is counted before the call, and its outcome after
+            final Thread thread = new Thread(() -> {
+                while (!isDone.get()) {
+                    stats.addIterations(1);
+                    stats.addSuccesses(1);
+                    LockSupport.parkNanos(1000);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        final long endNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(500);
+        while (System.nanoTime() < endNanos) {
+            final WarmerStats.Snapshot snapshot = stats.snapshot();
+            // each writer has at most one iteration in progress
+            assertTrue(snapshot.successes <= snapshot.iterations
+                    && snapshot.iterations - snapshot.successes <= writers,
+                    "iterations: " + snapshot.iterations + " successes: " + snapshot.successes);
+        }
+        isDone.set(true);
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(stats.snapshot().successes, stats.snapshot().iterations);
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.harness;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * {@link SampleService} running in a jvm of its own, with the class path of the current one; its output
+ * goes to a log file.
+ */
+final class ForkedService implements AutoCloseable {
+    private static final long POLL_MILLIS = 10;
+
+    static final String PORT_PROPERTY = "harness.port";
+
+    private final String baseUrl;
+    private final Process process;
+    private final long startNanos = System.nanoTime();
+
+    ForkedService(int port, final String configPath, final List<String> jvmArgs, final File logFile)
+            throws IOException {
+        this.baseUrl = "http://localhost:" + port;
+        final List<String> command = new ArrayList<>();
+        command.add(new File(System.getProperty("java.home"), "bin" + File.separator + "java").getPath());
+        command.addAll(jvmArgs);
+        // centrifuge configs refer to the port as ${harness.port}
+        command.add("-D" + PORT_PROPERTY + "=" + port);
+        // config files are put on the class path of the service and loaded as resources, which resolves
+        // ${harness.port} from system properties; paths of no file are looked up as resources as they are
+        final File configFile = configPath != null ? new File(configPath).getAbsoluteFile() : null;
+        final boolean isConfigFile = configFile != null && configFile.isFile();
+        command.add("-cp");
+        command.add(isConfigFile
+                ? configFile.getParent() + File.pathSeparator + System.getProperty("java.class.path")
+                : System.getProperty("java.class.path"));
+        command.add(SampleService.class.getName());
+        command.add(Integer.toString(port));
+        if (configPath != null) {
+            command.add(isConfigFile ? configFile.getName() : configPath);
+        }
+        this.process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile)
+                .start();
+    }
+
+    String getUrl(final String path) {
+        return this.baseUrl + path;
+    }
+
+    /**
+     * Waits for the service to report that it is ready.
+     *
+     * @return nanos from the fork to readiness.
+     */
+    long awaitReady(long timeout, final TimeUnit unit) throws Exception {
+        final long deadlineNanos = this.startNanos + unit.toNanos(timeout);
+        while (System.nanoTime() < deadlineNanos) {
+            if (!this.process.isAlive()) {
+                throw new IllegalStateException("service exited with code " + this.process.exitValue());
+            }
+            try {
+                final HttpURLConnection connection = (HttpURLConnection) new URL(getUrl(SampleService.READY_PATH))
+                        .openConnection();
+                final int status = connection.getResponseCode();
+                connection.disconnect();
+                if (status == HttpURLConnection.HTTP_OK) {
+                    return System.nanoTime() - this.startNanos;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(POLL_MILLIS);
+        }
+        throw new TimeoutException("service not ready after " + unit.toMillis(timeout) + "ms");
+    }
+
+    /**
+     * @return key=value pairs of the status endpoint of the service.
+     */
+    Map<String, String> getStatus() throws IOException {
+        final Map<String, String> status = new HashMap<>();
+        final HttpURLConnection connection = (HttpURLConnection) new URL(getUrl(SampleService.STATUS_PATH))
+                .openConnection();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final int separator = line.indexOf('=');
+                if (separator > 0) {
+                    status.put(line.substring(0, separator), line.substring(separator + 1));
+                }
+            }
+        }
+        return status;
+    }
+
+    /**
+     * Reads the hotspot counter of jit compilations of the service with jcmd, which comes with the jdk.
+     *
+     * @return number of methods compiled so far, or -1 if not available, e.g. when running on a jre.
+     */
+    long getTotalCompiles(final String pid) {
+        final File javaHome = new File(System.getProperty("java.home"));
+        File jcmd = new File(javaHome, "bin" + File.separator + "jcmd");
+        if (!jcmd.exists()) {
+            // java home is the jre directory of the jdk on java 8
+            jcmd = new File(javaHome.getParentFile(), "bin" + File.separator + "jcmd");
+        }
+        if (!jcmd.exists() || pid == null) {
+            return -1;
+        }
+        try {
+            final Process process = new ProcessBuilder(jcmd.getPath(), pid, "PerfCounter.print")
+                    .redirectErrorStream(true)
+                    .start();
+            long compiles = -1;
+            try (InputStream in = process.getInputStream();
+                 BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith("sun.ci.totalCompiles=")) {
+                        compiles = Long.parseLong(line.substring(line.indexOf('=') + 1).trim());
+                    }
+                }
+            }
+            process.waitFor(10, TimeUnit.SECONDS);
+            return compiles;
+        } catch (IOException | NumberFormatException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        this.process.destroy();
+        if (!this.process.waitFor(10, TimeUnit.SECONDS)) {
+            this.process.destroyForcibly().waitFor();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.harness;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends a fixed number of requests at a fixed rate, one at a time over a kept alive connection. The load is
+ * open loop: requests are due on a fixed schedule, and are sent right away when running behind it.
+ */
+final class LoadDriver {
+    private static final int TIMEOUT_MILLIS = 10_000;
+
+    private final String url;
+    private final int requests;
+    private final double rate;
+
+    LoadDriver(final String url, int requests, double rate) {
+        this.url = url;
+        this.requests = requests;
+        this.rate = rate;
+    }
+
+    LoadResult run() {
+        final long[] scheduledNanos = new long[this.requests];
+        final long[] latencyNanos = new long[this.requests];
+        final long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / this.rate);
+        final byte[] buffer = new byte[8192];
+        int errors = 0;
+        final long startNanos = System.nanoTime();
+        for (int i = 0; i < this.requests; ++i) {
+            final long dueNanos = startNanos + i * intervalNanos;
+            long nowNanos;
+            while ((nowNanos = System.nanoTime()) < dueNanos) {
+                LockSupport.parkNanos(dueNanos - nowNanos);
+            }
+            if (!send(i, buffer)) {
+                ++errors;
+            }
+            scheduledNanos[i] = dueNanos - startNanos;
+            latencyNanos[i] = System.nanoTime() - dueNanos;
+        }
+        return new LoadResult(scheduledNanos, latencyNanos, errors);
+    }
+
+    private boolean send(int seed, final byte[] buffer) {
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) new URL(this.url + "?seed=" + seed).openConnection();
+            connection.setConnectTimeout(TIMEOUT_MILLIS);
+            connection.setReadTimeout(TIMEOUT_MILLIS);
+            final int status = connection.getResponseCode();
+            // read the whole response, so that the connection is reused
+            try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+                while (in != null && in.read(buffer) >= 0) {
+                    // drain
+                }
+            }
+            return status == HttpURLConnection.HTTP_OK;
+        } catch (IOException e) {
+            if (connection != null) {
+                connection.disconnect();
+            }
+            return false;
+        }
+    }
+}
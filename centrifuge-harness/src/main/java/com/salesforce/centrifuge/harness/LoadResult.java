@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.harness;
+
+/**
+ * Latencies of a fixed load, in request order; latencies are measured from the scheduled start of each
+ * request, so that a slow request also counts against the requests queued behind it.
+ */
+final class LoadResult {
+    // scheduled start of each request, relative to the start of the load
+    final long[] scheduledNanos;
+    final long[] latencyNanos;
+    final int errors;
+
+    LoadResult(final long[] scheduledNanos, final long[] latencyNanos, int errors) {
+        this.scheduledNanos = scheduledNanos;
+        this.latencyNanos = latencyNanos;
+        this.errors = errors;
+    }
+
+    int size() {
+        return this.latencyNanos.length;
+    }
+}
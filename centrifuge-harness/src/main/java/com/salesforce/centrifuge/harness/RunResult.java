@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.harness;
+
+/**
+ * Outcome of a run of the sample service under load.
+ */
+final class RunResult {
+    final String label;
+    // from the fork of the service until it reported ready
+    final long readyNanos;
+    // jit compilations, and time spent compiling, right after the service was ready; -1 if not available
+    final long compilesAtReady;
+    final long compilationMillisAtReady;
+    final LoadResult load;
+    final SteadyState steadyState;
+
+    RunResult(final String label, long readyNanos, long compilesAtReady, long compilationMillisAtReady,
+              final LoadResult load, final SteadyState steadyState) {
+        this.label = label;
+        this.readyNanos = readyNanos;
+        this.compilesAtReady = compilesAtReady;
+        this.compilationMillisAtReady = compilationMillisAtReady;
+        this.load = load;
+        this.steadyState = steadyState;
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.harness;
+
+import com.salesforce.centrifuge.Centrifuge;
+import com.salesforce.centrifuge.CentrifugeConfig;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.salesforce.centrifuge.Constants.LOGGER_PREFIX;
+
+/**
+ * Sample service forked by the harness: a jetty server whose {@value #WORK_PATH} endpoint does a mix of
+ * parsing, collections, regex, formatting and hashing, so that its latency depends on jit compilation.
+ * If started with a centrifuge config, the engine is started along with the server, and the service is
+ * ready once the engine is warm; otherwise it is ready right away.
+ *
+ * Usage: SampleService port [centrifuge.conf]
+ */
+public final class SampleService {
+    private static final Logger logger = LoggerFactory.getLogger(SampleService.class);
+
+    static final String WORK_PATH = "/work";
+    static final String READY_PATH = "/ready";
+    static final String STATUS_PATH = "/status";
+
+    private static final Pattern ID_PATTERN = Pattern.compile("\"id\":(\\d+),\"name\":\"([a-z]+)-([0-9a-f]+)\"");
+
+    private final Server server;
+    private final Centrifuge centrifuge;
+
+    SampleService(int port, final String configPath) {
+        this.server = new Server(port);
+        this.server.setHandler(new Handler());
+        this.centrifuge = configPath != null ? Centrifuge.newInstance(new CentrifugeConfig(configPath)) : null;
+    }
+
+    public static void main(final String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("usage: SampleService port [centrifuge.conf]");
+            System.exit(1);
+        }
+        final SampleService service = new SampleService(Integer.parseInt(args[0]), args.length > 1 ? args[1] : null);
+        service.start();
+        service.server.join();
+    }
+
+    void start() throws Exception {
+        this.server.start();
+        if (this.centrifuge != null) {
+            logger.info(LOGGER_PREFIX + "starting centrifuge");
+            this.centrifuge.start();
+        }
+    }
+
+    void stop() throws Exception {
+        if (this.centrifuge != null) {
+            this.centrifuge.stop();
+        }
+        this.server.stop();
+    }
+
+    boolean isReady() {
+        return this.centrifuge == null || this.centrifuge.isWarm();
+    }
+
+    /**
+     * Handles a request of the sample endpoint; deterministic for a given seed.
+     */
+    static String work(int seed) {
+        final StringBuilder json = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < 64; ++i) {
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"id\":").append(seed * 31 + i)
+                    .append(",\"name\":\"").append(i % 3 == 0 ? "alpha" : i % 3 == 1 ? "beta" : "gamma")
+                    .append('-').append(Integer.toHexString(seed ^ (i * 7919))).append("\"}");
+        }
+        json.append("]}");
+
+        final List<Integer> ids = new ArrayList<>();
+        final Map<String, Integer> counts = new TreeMap<>();
+        final Matcher matcher = ID_PATTERN.matcher(json);
+        while (matcher.find()) {
+            ids.add(Integer.parseInt(matcher.group(1)));
+            counts.merge(matcher.group(2), 1, Integer::sum);
+        }
+        ids.sort(Collections.reverseOrder());
+
+        final StringBuilder summary = new StringBuilder();
+        counts.forEach((name, count) -> summary.append(String.format("%s=%d;", name, count)));
+        summary.append(ids.subList(0, Math.min(8, ids.size())));
+        return toHex(sha256(summary.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static byte[] sha256(final byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (final byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+
+    // pid and jit compilation time of this jvm, one key=value pair per line
+    private static String status() {
+        final CompilationMXBean compilationBean = ManagementFactory.getCompilationMXBean();
+        final long compilationMillis = compilationBean != null && compilationBean.isCompilationTimeMonitoringSupported()
+                ? compilationBean.getTotalCompilationTime() : -1;
+        // name of the runtime is pid@host on hotspot
+        final String pid = ManagementFactory.getRuntimeMXBean().getName().split("@")[0];
+        return "pid=" + pid + "\ncompilation_millis=" + compilationMillis + "\n";
+    }
+
+    private final class Handler extends AbstractHandler {
+        @Override
+        public void handle(final String target, final Request request, final HttpServletRequest httpRequest,
+                           final HttpServletResponse httpResponse) throws IOException {
+            final String body;
+            switch (target) {
+                case WORK_PATH:
+                    final String seed = httpRequest.getParameter("seed");
+                    body = work(seed != null ? Integer.parseInt(seed) : 0);
+                    break;
+                case READY_PATH:
+                    final boolean isReady = isReady();
+                    if (!isReady) {
+                        httpResponse.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                    }
+                    body = isReady ? "ready" : "warming up";
+                    break;
+                case STATUS_PATH:
+                    body = status();
+                    break;
+                default:
+                    httpResponse.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                    body = "not found";
+            }
+            final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            httpResponse.setContentType("text/plain;charset=utf-8");
+            httpResponse.setContentLength(bytes.length);
+            httpResponse.getOutputStream().write(bytes);
+            request.setHandled(true);
+        }
+    }
+}
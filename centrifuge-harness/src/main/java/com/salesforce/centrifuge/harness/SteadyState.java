@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.harness;
+
+import java.util.Arrays;
+
+/**
+ * When the p99 latency of a load settles. The load is cut into windows of consecutive requests; the steady
+ * p99 is the median of the window p99s over the last quarter of the load, and the load is steady from the
+ * first run of consecutive windows whose p99s all stay within a tolerance of the steady p99. Single slow
+ * windows later on, e.g. because of a gc, do not move the steady point.
+ */
+final class SteadyState {
+    // median p99 of the windows of the last quarter of the load
+    final long steadyP99Nanos;
+    // scheduled start of the first steady window, or -1 if the load never settled
+    final long timeToSteadyNanos;
+    // requests before the first steady window, or -1 if the load never settled
+    final int requestsToSteady;
+
+    private SteadyState(long steadyP99Nanos, long timeToSteadyNanos, int requestsToSteady) {
+        this.steadyP99Nanos = steadyP99Nanos;
+        this.timeToSteadyNanos = timeToSteadyNanos;
+        this.requestsToSteady = requestsToSteady;
+    }
+
+    boolean isSteady() {
+        return this.requestsToSteady >= 0;
+    }
+
+    /**
+     * @param window number of requests per window; the trailing partial window is ignored.
+     * @param stableWindows number of consecutive windows that have to be within the tolerance.
+     * @param tolerance fraction of the steady p99 a window p99 may exceed it by, e.g. 0.2 for 20%.
+     */
+    static SteadyState analyze(final LoadResult load, int window, int stableWindows, double tolerance) {
+        final int windows = window > 0 ? load.size() / window : 0;
+        if (stableWindows <= 0 || windows < stableWindows) {
+            throw new IllegalArgumentException("load of " + load.size() + " requests is shorter than "
+                    + stableWindows + " windows of " + window + " requests");
+        }
+        final long[] p99s = new long[windows];
+        for (int i = 0; i < windows; ++i) {
+            p99s[i] = percentile(load.latencyNanos, i * window, (i + 1) * window, 99.0);
+        }
+        final long steadyP99 = percentile(p99s, windows - Math.max(1, windows / 4), windows, 50.0);
+        final long limit = (long) (steadyP99 * (1 + tolerance));
+        int stable = 0;
+        for (int i = 0; i < windows; ++i) {
+            stable = p99s[i] <= limit ? stable + 1 : 0;
+            if (stable == stableWindows) {
+                final int requests = (i + 1 - stableWindows) * window;
+                return new SteadyState(steadyP99, load.scheduledNanos[requests], requests);
+            }
+        }
+        return new SteadyState(steadyP99, -1, -1);
+    }
+
+    /**
+     * @return value at the given percentile of values in [from, to), by nearest rank.
+     */
+    static long percentile(final long[] values, int from, int to, double percentile) {
+        final long[] sorted = Arrays.copyOfRange(values, from, to);
+        Arrays.sort(sorted);
+        final int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length, rank) - 1)];
+    }
+}
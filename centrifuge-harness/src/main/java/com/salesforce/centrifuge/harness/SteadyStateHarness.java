@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.harness;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static com.salesforce.centrifuge.Constants.LOGGER_PREFIX;
+
+/**
+ * Measures how well warmer configurations work: forks {@link SampleService} once without centrifuge and once
+ * per given centrifuge config, drives the same fixed load at each once it is ready, and reports the time until
+ * the p99 latency is steady, the latency curve of the first requests, and jit compilations at readiness.
+ *
+ * Usage: SteadyStateHarness [options] [centrifuge.conf ...]
+ * <pre>
+ *   --port N                  port of the sample service, passed to it as system property harness.port that
+ *                             warmer configs refer to as ${harness.port} (default 18080)
+ *   --requests N              requests per run (default 20000)
+ *   --rate N                  requests per second (default 500)
+ *   --window N                requests per p99 window (default 500)
+ *   --stable-windows N        consecutive windows within the tolerance to be steady (default 3)
+ *   --tolerance F             fraction a window p99 may exceed the steady p99 by (default 0.5)
+ *   --first N                 requests covered by the latency curve (default 1000)
+ *   --ready-timeout-seconds N time for a service to get ready (default 300)
+ *   --jvm-arg ARG             argument of the service jvm, e.g. -Xmx512m; can be repeated
+ *   --no-baseline             skip the run without centrifuge
+ *   --csv FILE                write the latency of every request of every run to a csv file
+ * </pre>
+ */
+public final class SteadyStateHarness {
+    private static final Logger logger = LoggerFactory.getLogger(SteadyStateHarness.class);
+
+    private static final String BASELINE_LABEL = "baseline";
+
+    private int port = 18080;
+    private int requests = 20_000;
+    private double rate = 500;
+    private int window = 500;
+    private int stableWindows = 3;
+    private double tolerance = 0.5;
+    private int firstRequests = 1000;
+    private int readyTimeoutSeconds = 300;
+    private final List<String> jvmArgs = new ArrayList<>();
+
+    public static void main(final String[] args) throws Exception {
+        final SteadyStateHarness harness = new SteadyStateHarness();
+        final List<String> configs = new ArrayList<>();
+        boolean isBaseline = true;
+        File csvFile = null;
+        for (int i = 0; i < args.length; ++i) {
+            switch (args[i]) {
+                case "--port":
+                    harness.setPort(Integer.parseInt(args[++i]));
+                    break;
+                case "--requests":
+                    harness.setRequests(Integer.parseInt(args[++i]));
+                    break;
+                case "--rate":
+                    harness.setRate(Double.parseDouble(args[++i]));
+                    break;
+                case "--window":
+                    harness.setWindow(Integer.parseInt(args[++i]));
+                    break;
+                case "--stable-windows":
+                    harness.setStableWindows(Integer.parseInt(args[++i]));
+                    break;
+                case "--tolerance":
+                    harness.setTolerance(Double.parseDouble(args[++i]));
+                    break;
+                case "--first":
+                    harness.setFirstRequests(Integer.parseInt(args[++i]));
+                    break;
+                case "--ready-timeout-seconds":
+                    harness.setReadyTimeoutSeconds(Integer.parseInt(args[++i]));
+                    break;
+                case "--jvm-arg":
+                    harness.addJvmArg(args[++i]);
+                    break;
+                case "--no-baseline":
+                    isBaseline = false;
+                    break;
+                case "--csv":
+                    csvFile = new File(args[++i]);
+                    break;
+                default:
+                    if (args[i].startsWith("--")) {
+                        System.err.println("unknown option " + args[i]);
+                        System.exit(1);
+                    }
+                    configs.add(args[i]);
+            }
+        }
+
+        final List<RunResult> results = new ArrayList<>();
+        if (isBaseline) {
+            results.add(harness.run(BASELINE_LABEL, null));
+        }
+        for (final String config : configs) {
+            results.add(harness.run(new File(config).getName(), config));
+        }
+        System.out.print(harness.report(results));
+        if (csvFile != null) {
+            writeCsv(results, csvFile);
+        }
+    }
+
+    public SteadyStateHarness setPort(int port) {
+        if (port > 0) {
+            this.port = port;
+        }
+        return this;
+    }
+
+    public SteadyStateHarness setRequests(int requests) {
+        if (requests > 0) {
+            this.requests = requests;
+        }
+        return this;
+    }
+
+    public SteadyStateHarness setRate(double rate) {
+        if (rate > 0) {
+            this.rate = rate;
+        }
+        return this;
+    }
+
+    public SteadyStateHarness setWindow(int window) {
+        if (window > 0) {
+            this.window = window;
+        }
+        return this;
+    }
+
+    public SteadyStateHarness setStableWindows(int stableWindows) {
+        if (stableWindows > 0) {
+            this.stableWindows = stableWindows;
+        }
+        return this;
+    }
+
+    public SteadyStateHarness setTolerance(double tolerance) {
+        if (tolerance >= 0) {
+            this.tolerance = tolerance;
+        }
+        return this;
+    }
+
+    public SteadyStateHarness setFirstRequests(int firstRequests) {
+        if (firstRequests > 0) {
+            this.firstRequests = firstRequests;
+        }
+        return this;
+    }
+
+    public SteadyStateHarness setReadyTimeoutSeconds(int readyTimeoutSeconds) {
+        if (readyTimeoutSeconds > 0) {
+            this.readyTimeoutSeconds = readyTimeoutSeconds;
+        }
+        return this;
+    }
+
+    public SteadyStateHarness addJvmArg(final String jvmArg) {
+        this.jvmArgs.add(jvmArg);
+        return this;
+    }
+
+    /**
+     * Forks the sample service with the given centrifuge config, or without centrifuge if null, and drives
+     * the load once it is ready.
+     */
+    RunResult run(final String label, final String configPath) throws Exception {
+        final File logFile = File.createTempFile("centrifuge-harness-" + label + "-", ".log");
+        logger.info(LOGGER_PREFIX + "starting {} run; service output goes to {}", label, logFile);
+        try (ForkedService service = new ForkedService(this.port, configPath, this.jvmArgs, logFile)) {
+            final long readyNanos = service.awaitReady(this.readyTimeoutSeconds, TimeUnit.SECONDS);
+            final Map<String, String> status = service.getStatus();
+            final long compiles = service.getTotalCompiles(status.get("pid"));
+            final long compilationMillis = Long.parseLong(status.getOrDefault("compilation_millis", "-1"));
+            logger.info(LOGGER_PREFIX + "{} service ready after {}ms; driving {} requests at {}/s",
+                    label, TimeUnit.NANOSECONDS.toMillis(readyNanos), this.requests, this.rate);
+
+            final LoadResult load = new LoadDriver(service.getUrl(SampleService.WORK_PATH), this.requests, this.rate)
+                    .run();
+            return new RunResult(label, readyNanos, compiles, compilationMillis, load,
+                    SteadyState.analyze(load, this.window, this.stableWindows, this.tolerance));
+        }
+    }
+
+    String report(final List<RunResult> results) {
+        final List<String[]> rows = new ArrayList<>();
+        addRow(rows, "", results, r -> r.label);
+        addRow(rows, "ready after (ms)", results, r -> Long.toString(TimeUnit.NANOSECONDS.toMillis(r.readyNanos)));
+        addRow(rows, "jit compiles at ready", results, r -> Long.toString(r.compilesAtReady));
+        addRow(rows, "jit millis at ready", results, r -> Long.toString(r.compilationMillisAtReady));
+        addRow(rows, "steady p99 (us)", results, r -> micros(r.steadyState.steadyP99Nanos));
+        addRow(rows, "time to steady p99 (ms)", results, r -> r.steadyState.isSteady()
+                ? Long.toString(TimeUnit.NANOSECONDS.toMillis(r.steadyState.timeToSteadyNanos)) : "never");
+        addRow(rows, "requests to steady p99", results, r -> r.steadyState.isSteady()
+                ? Integer.toString(r.steadyState.requestsToSteady) : "never");
+        addRow(rows, "errors", results, r -> Integer.toString(r.load.errors));
+        rows.add(new String[] {""});
+        rows.add(new String[] {"first requests, p50/p99/max (us)"});
+        // ranges growing tenfold: 1, 2-10, 11-100, ...
+        final int first = Math.min(this.firstRequests, this.requests);
+        for (int from = 0, to = 1; from < first; from = to, to = Math.min(to * 10, first)) {
+            final int start = from;
+            final int end = to;
+            addRow(rows, end - start == 1 ? Integer.toString(end) : (start + 1) + "-" + end, results, r ->
+                    micros(SteadyState.percentile(r.load.latencyNanos, start, end, 50.0)) + "/"
+                            + micros(SteadyState.percentile(r.load.latencyNanos, start, end, 99.0)) + "/"
+                            + micros(SteadyState.percentile(r.load.latencyNanos, start, end, 100.0)));
+        }
+
+        // columns as wide as their widest value; single cell rows are headings
+        final int[] widths = new int[results.size() + 1];
+        for (final String[] row : rows) {
+            for (int i = 0; row.length > 1 && i < row.length; ++i) {
+                widths[i] = Math.max(widths[i], row[i].length() + 2);
+            }
+        }
+        final StringBuilder report = new StringBuilder();
+        report.append(String.format("%d requests at %s/s; p99 over windows of %d requests, "
+                        + "steady once %d windows in a row are within %d%% of the steady p99%n%n",
+                this.requests, BigDecimal.valueOf(this.rate).stripTrailingZeros().toPlainString(), this.window,
+                this.stableWindows, Math.round(this.tolerance * 100)));
+        for (final String[] row : rows) {
+            report.append(row.length > 1 ? String.format("%-" + widths[0] + "s", row[0]) : row[0]);
+            for (int i = 1; i < row.length; ++i) {
+                report.append(String.format("%" + widths[i] + "s", row[i]));
+            }
+            report.append(String.format("%n"));
+        }
+        return report.toString();
+    }
+
+    private static void addRow(final List<String[]> rows, final String name, final List<RunResult> results,
+                               final Function<RunResult, String> value) {
+        final String[] row = new String[results.size() + 1];
+        row[0] = name;
+        for (int i = 0; i < results.size(); ++i) {
+            row[i + 1] = value.apply(results.get(i));
+        }
+        rows.add(row);
+    }
+
+    private static String micros(long nanos) {
+        return Long.toString(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    // one row per request: its index, scheduled start, and latency in every run
+    static void writeCsv(final List<RunResult> results, final File file) throws IOException {
+        try (PrintWriter writer = new PrintWriter(file, StandardCharsets.UTF_8.name())) {
+            writer.print("request,scheduled_millis");
+            results.forEach(r -> writer.print("," + r.label + "_micros"));
+            writer.println();
+            final int size = results.stream().mapToInt(r -> r.load.size()).min().orElse(0);
+            for (int i = 0; i < size; ++i) {
+                writer.print(i + 1);
+                writer.print(',');
+                writer.print(TimeUnit.NANOSECONDS.toMillis(results.get(0).load.scheduledNanos[i]));
+                for (final RunResult result : results) {
+                    writer.print(',');
+                    writer.print(TimeUnit.NANOSECONDS.toMicros(result.load.latencyNanos[i]));
+                }
+                writer.println();
+            }
+        }
+    }
+}
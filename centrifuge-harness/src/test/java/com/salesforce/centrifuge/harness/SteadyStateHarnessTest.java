@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.harness;
+
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class SteadyStateHarnessTest {
+
+    // forks service jvms, so it only runs with -Pfork-tests
+    @Test(groups = "fork")
+    public void testBaselineAndCentrifuge() throws Exception {
+        // the test config warms up the service on the port passed to it
+        final SteadyStateHarness harness = new SteadyStateHarness()
+                .setPort(freePort())
+                .setRequests(600)
+                .setRate(1000)
+                .setWindow(100)
+                .setFirstRequests(100)
+                .setReadyTimeoutSeconds(60)
+                .addJvmArg("-Xmx256m");
+
+        final List<RunResult> results = Arrays.asList(
+                harness.run("baseline", null),
+                harness.run("warmed", "harness-test-centrifuge.conf"));
+        for (final RunResult result : results) {
+            assertEquals(result.load.size(), 600);
+            assertEquals(result.load.errors, 0);
+            assertTrue(result.readyNanos > 0);
+            assertTrue(result.steadyState.steadyP99Nanos > 0);
+        }
+
+        final String report = harness.report(results);
+        assertTrue(report.contains("baseline"), report);
+        assertTrue(report.contains("warmed"), report);
+        assertTrue(report.contains("time to steady p99 (ms)"), report);
+        assertTrue(report.contains("\n11-100 "), report);
+
+        final File csv = File.createTempFile("centrifuge-harness", ".csv");
+        try {
+            SteadyStateHarness.writeCsv(results, csv);
+            final List<String> lines = Files.readAllLines(csv.toPath(), StandardCharsets.UTF_8);
+            assertEquals(lines.size(), 601);
+            assertEquals(lines.get(0), "request,scheduled_millis,baseline_micros,warmed_micros");
+            assertTrue(lines.get(1).startsWith("1,0,"), lines.get(1));
+        } finally {
+            Files.delete(csv.toPath());
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
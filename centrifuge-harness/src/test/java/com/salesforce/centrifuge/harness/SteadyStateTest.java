@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.harness;
+
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class SteadyStateTest {
+
+    @Test
+    public void testPercentile() {
+        final long[] values = {5, 1, 4, 2, 3, 10, 9, 8, 7, 6};
+        assertEquals(SteadyState.percentile(values, 0, 10, 50.0), 5);
+        assertEquals(SteadyState.percentile(values, 0, 10, 99.0), 10);
+        assertEquals(SteadyState.percentile(values, 0, 10, 100.0), 10);
+        assertEquals(SteadyState.percentile(values, 0, 10, 0.0), 1);
+        // only values in range
+        assertEquals(SteadyState.percentile(values, 0, 5, 100.0), 5);
+    }
+
+    @Test
+    public void testWarmingUp() {
+        // latency decreasing over the first 1000 requests, then steady at 1ms with some noise
+        final LoadResult load = load(4000, i -> i < 1000
+                ? TimeUnit.MILLISECONDS.toNanos(11) - i * 10_000L
+                : TimeUnit.MILLISECONDS.toNanos(1) + (i % 7) * 10_000L);
+        final SteadyState steadyState = SteadyState.analyze(load, 100, 3, 0.2);
+        assertTrue(steadyState.isSteady());
+        assertEquals(steadyState.steadyP99Nanos, TimeUnit.MILLISECONDS.toNanos(1) + 60_000L);
+        // the slowest of requests 900 to 999 is above the limit of 1.272ms
+        assertEquals(steadyState.requestsToSteady, 1000);
+        assertEquals(steadyState.timeToSteadyNanos, load.scheduledNanos[1000]);
+    }
+
+    @Test
+    public void testSingleSlowWindows() {
+        // a slow window after warmup, and another one at the end, e.g. gc pauses
+        final SteadyState steadyState = SteadyState.analyze(load(2000, i -> i < 200 || (i >= 1000 && i < 1100)
+                || i >= 1900 ? 10_000L : 1000L), 100, 3, 0.2);
+        assertEquals(steadyState.steadyP99Nanos, 1000L);
+        assertEquals(steadyState.requestsToSteady, 200);
+    }
+
+    @Test
+    public void testAlreadySteady() {
+        final SteadyState steadyState = SteadyState.analyze(load(1000, i -> 1000L), 100, 3, 0.0);
+        assertEquals(steadyState.requestsToSteady, 0);
+        assertEquals(steadyState.timeToSteadyNanos, 0);
+    }
+
+    @Test
+    public void testNeverSteady() {
+        // every other window is slow, so there are never three windows in a row within the tolerance
+        final SteadyState steadyState = SteadyState.analyze(load(1200, i -> (i / 100) % 2 == 0 ? 10_000L : 1000L),
+                100, 3, 0.2);
+        assertEquals(steadyState.steadyP99Nanos, 1000L);
+        assertFalse(steadyState.isSteady());
+        assertEquals(steadyState.timeToSteadyNanos, -1);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testLoadShorterThanWindows() {
+        SteadyState.analyze(load(200, i -> 1000L), 100, 3, 0.2);
+    }
+
+    private interface Latency {
+        long nanos(int request);
+    }
+
+    // requests scheduled every millisecond
+    private static LoadResult load(int size, final Latency latency) {
+        final long[] scheduledNanos = new long[size];
+        final long[] latencyNanos = new long[size];
+        for (int i = 0; i < size; ++i) {
+            scheduledNanos[i] = TimeUnit.MILLISECONDS.toNanos(i);
+            latencyNanos[i] = latency.nanos(i);
+        }
+        return new LoadResult(scheduledNanos, latencyNanos, 0);
+    }
+}
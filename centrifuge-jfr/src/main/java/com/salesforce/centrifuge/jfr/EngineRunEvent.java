@@ -0,0 +1,25 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.salesforce.centrifuge.EngineRun")
+@Label("Centrifuge Run")
+@Description("Run of the warmup engine, from start to stop")
+@Category("Centrifuge")
+final class EngineRunEvent extends Event {
+
+    @Label("Instances")
+    @Description("Warmer instances of the run")
+    int instances;
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.jfr;
+
+import com.salesforce.centrifuge.CentrifugeTracer;
+import com.salesforce.centrifuge.WarmerContainer;
+import jdk.jfr.EventType;
+
+/**
+ * Emits JDK Flight Recorder events of engine runs and warmer calls; registered as {@link CentrifugeTracer}
+ * service, so having this module on the class path is enough. Events are only created while a recording
+ * with the event enabled is running; otherwise each call costs a check of a flag.
+ *
+ * Events are named com.salesforce.centrifuge.*, e.g. com.salesforce.centrifuge.WarmerNext, and are
+ * in the Centrifuge category.
+ */
+public final class FlightRecorderTracer implements CentrifugeTracer {
+
+    private static final EventType RUN = EventType.getEventType(EngineRunEvent.class);
+    private static final EventType WARM = EventType.getEventType(WarmEvent.class);
+    private static final EventType INIT = EventType.getEventType(WarmerInitEvent.class);
+    private static final EventType NEXT = EventType.getEventType(WarmerNextEvent.class);
+    private static final EventType FAILURE = EventType.getEventType(WarmerFailureEvent.class);
+    private static final EventType CALL_TIMEOUT = EventType.getEventType(WarmerCallTimeoutEvent.class);
+    private static final EventType TIMEOUT = EventType.getEventType(WarmerTimeoutEvent.class);
+    private static final EventType STOPPED = EventType.getEventType(WarmerStoppedEvent.class);
+
+    @Override
+    public Object beginRun(int instances) {
+        if (!RUN.isEnabled()) {
+            return null;
+        }
+        final EngineRunEvent event = new EngineRunEvent();
+        event.instances = instances;
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void endRun(final Object trace) {
+        if (trace != null) {
+            ((EngineRunEvent) trace).commit();
+        }
+    }
+
+    @Override
+    public void warm(long timeToWarmNanos) {
+        if (!WARM.isEnabled()) {
+            return;
+        }
+        final WarmEvent event = new WarmEvent();
+        event.timeToWarm = timeToWarmNanos;
+        event.commit();
+    }
+
+    @Override
+    public Object beginInit(final WarmerContainer warmer) {
+        if (!INIT.isEnabled()) {
+            return null;
+        }
+        final WarmerInitEvent event = new WarmerInitEvent();
+        event.set(warmer);
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void endInit(final Object trace, final Throwable error) {
+        if (trace == null) {
+            return;
+        }
+        final WarmerInitEvent event = (WarmerInitEvent) trace;
+        event.end();
+        if (event.shouldCommit()) {
+            event.success = error == null;
+            event.commit();
+        }
+    }
+
+    @Override
+    public Object beginNext(final WarmerContainer warmer, int batchSize) {
+        if (!NEXT.isEnabled()) {
+            return null;
+        }
+        final WarmerNextEvent event = new WarmerNextEvent();
+        event.set(warmer);
+        event.batchSize = batchSize;
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void endNext(final Object trace, final Throwable error) {
+        if (trace == null) {
+            return;
+        }
+        final WarmerNextEvent event = (WarmerNextEvent) trace;
+        event.end();
+        // false for batches faster than the threshold
+        if (event.shouldCommit()) {
+            event.success = error == null;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void failed(final WarmerContainer warmer, int count, final Throwable error) {
+        if (!FAILURE.isEnabled()) {
+            return;
+        }
+        final WarmerFailureEvent event = new WarmerFailureEvent();
+        event.set(warmer);
+        event.failures = count;
+        event.error = error != null ? error.toString() : null;
+        event.commit();
+    }
+
+    @Override
+    public void callTimedOut(final WarmerContainer warmer) {
+        if (!CALL_TIMEOUT.isEnabled()) {
+            return;
+        }
+        final WarmerCallTimeoutEvent event = new WarmerCallTimeoutEvent();
+        event.set(warmer);
+        event.callTimeout = warmer.getWarmerConfig().getCallTimeoutMillis();
+        event.commit();
+    }
+
+    @Override
+    public void timedOut(final WarmerContainer warmer) {
+        if (!TIMEOUT.isEnabled()) {
+            return;
+        }
+        final WarmerTimeoutEvent event = new WarmerTimeoutEvent();
+        event.set(warmer);
+        event.timeout = warmer.getWarmerConfig().getTimeoutMillis();
+        event.commit();
+    }
+
+    @Override
+    public void stopped(final WarmerContainer warmer) {
+        if (!STOPPED.isEnabled()) {
+            return;
+        }
+        final WarmerStoppedEvent event = new WarmerStoppedEvent();
+        event.set(warmer);
+        event.outcome = warmer.isCompleted() ? "completed" : warmer.isFailed() ? "failed" : "stopped";
+        event.successes = warmer.getSuccessfulRounds();
+        event.failures = warmer.getFailedRounds();
+        event.commit();
+    }
+}
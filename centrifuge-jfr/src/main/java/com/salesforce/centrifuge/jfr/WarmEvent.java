@@ -0,0 +1,26 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("com.salesforce.centrifuge.Warm")
+@Label("Centrifuge Warm")
+@Description("All required warmer instances of the run stopped")
+@Category("Centrifuge")
+final class WarmEvent extends Event {
+
+    @Label("Time to Warm")
+    @Timespan(Timespan.NANOSECONDS)
+    long timeToWarm;
+}
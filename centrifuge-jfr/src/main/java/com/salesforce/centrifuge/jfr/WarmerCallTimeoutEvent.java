@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("com.salesforce.centrifuge.WarmerCallTimeout")
+@Label("Warmer Call Timeout")
+@Description("Call of a warmer instance interrupted, or async operation cancelled, after the call timeout")
+final class WarmerCallTimeoutEvent extends WarmerEvent {
+
+    @Label("Call Timeout")
+    @Timespan(Timespan.MILLISECONDS)
+    long callTimeout;
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.jfr;
+
+import com.salesforce.centrifuge.WarmerContainer;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Base of events of a warmer instance.
+ */
+@Category("Centrifuge")
+abstract class WarmerEvent extends Event {
+
+    @Label("Warmer")
+    @Description("Name of the warmer")
+    String warmer;
+
+    @Label("Instance")
+    @Description("Index of the warmer instance, starting at 0")
+    int instance;
+
+    @Label("Iteration")
+    @Description("Iterations of the warmer instance started so far")
+    long iteration;
+
+    void set(final WarmerContainer container) {
+        this.warmer = container.getWarmerConfig().getWarmerName();
+        this.instance = container.getInstance();
+        this.iteration = container.getIteration();
+    }
+}
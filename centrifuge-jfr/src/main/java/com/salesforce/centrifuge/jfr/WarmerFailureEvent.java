@@ -0,0 +1,25 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.salesforce.centrifuge.WarmerFailure")
+@Label("Warmer Failure")
+@Description("Calls of a warmer instance accounted for as failures")
+final class WarmerFailureEvent extends WarmerEvent {
+
+    @Label("Failures")
+    int failures;
+
+    @Label("Error")
+    @Description("Error thrown by the warmer, if any")
+    String error;
+}
@@ -0,0 +1,21 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.salesforce.centrifuge.WarmerInit")
+@Label("Warmer Init")
+@Description("Call of init() of a warmer instance")
+final class WarmerInitEvent extends WarmerEvent {
+
+    @Label("Success")
+    boolean success;
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Batch of iterations of a warmer instance; only batches slower than the threshold are recorded by default,
+ * which can be lowered to 0 ms to record every batch.
+ */
+@Name("com.salesforce.centrifuge.WarmerNext")
+@Label("Warmer Next")
+@Description("Batch of next() calls of a warmer instance, or an async operation")
+@Threshold("20 ms")
+final class WarmerNextEvent extends WarmerEvent {
+
+    @Label("Batch Size")
+    int batchSize;
+
+    @Label("Success")
+    boolean success;
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.salesforce.centrifuge.WarmerStopped")
+@Label("Warmer Stopped")
+@Description("Warmer instance stopped, for whatever reason")
+final class WarmerStoppedEvent extends WarmerEvent {
+
+    @Label("Outcome")
+    @Description("completed, failed or stopped")
+    String outcome;
+
+    @Label("Successes")
+    long successes;
+
+    @Label("Failures")
+    long failures;
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.jfr;
+
+import com.salesforce.centrifuge.Centrifuge;
+import com.salesforce.centrifuge.CentrifugeConfig;
+import com.salesforce.centrifuge.NoopWarmer;
+import com.salesforce.centrifuge.Warmer;
+import com.salesforce.centrifuge.WarmerConfig;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class FlightRecorderTracerTest {
+
+    public static class FailingWarmer implements Warmer {
+
+        @Override
+        public void init(final Map<String, Object> params) throws Exception {
+            throw new IllegalStateException("init failed");
+        }
+
+        @Override
+        public void next() {
+        }
+    }
+
+    public static class SlowWarmer implements Warmer {
+
+        @Override
+        public void init(final Map<String, Object> params) {
+        }
+
+        @Override
+        public void next() {
+            // returns normally past the call timeout, ignoring the interrupt
+            final long endNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50);
+            while (System.nanoTime() < endNanos) {
+                Thread.yield();
+            }
+        }
+    }
+
+    @Test
+    public void testEvents() throws Exception {
+        final Path file = Files.createTempFile("centrifuge", ".jfr");
+        try (final Recording recording = new Recording()) {
+            recording.enable("com.salesforce.centrifuge.EngineRun");
+            recording.enable("com.salesforce.centrifuge.Warm");
+            recording.enable("com.salesforce.centrifuge.WarmerInit");
+            recording.enable("com.salesforce.centrifuge.WarmerNext").withThreshold(Duration.ZERO);
+            recording.enable("com.salesforce.centrifuge.WarmerFailure");
+            recording.enable("com.salesforce.centrifuge.WarmerStopped");
+            recording.start();
+
+            final Centrifuge centrifuge = Centrifuge.newInstance(new CentrifugeConfig()
+                    .addWarmerConfig(new WarmerConfig()
+                            .setWarmerName("test-jfr-warmer")
+                            .setWarmerClass(NoopWarmer.class)
+                            .setMaxIterations(10)
+                            .setYieldMillis(1)
+                            .setRequired(true))
+                    .addWarmerConfig(new WarmerConfig()
+                            .setWarmerName("test-jfr-failing-warmer")
+                            .setWarmerClass(FailingWarmer.class)
+                            .setMaxFailure(2)
+                            .setYieldMillis(1)
+                            .setRequired(true))
+                    .addWarmerConfig(new WarmerConfig()
+                            .setWarmerName("test-jfr-slow-warmer")
+                            .setWarmerClass(SlowWarmer.class)
+                            .setMaxIterations(2)
+                            .setMaxFailure(5)
+                            .setCallTimeoutMillis(10)
+                            .setYieldMillis(1)
+                            .setRequired(true))
+            );
+            centrifuge.start();
+            centrifuge.awaitWarm().get(10, TimeUnit.SECONDS);
+            centrifuge.stop();
+
+            recording.stop();
+            recording.dump(file);
+            final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+            final RecordedEvent run = single(events, "EngineRun", null);
+            assertEquals(run.getInt("instances"), 3);
+            assertTrue(single(events, "Warm", null).getLong("timeToWarm") > 0);
+
+            assertTrue(single(events, "WarmerInit", "test-jfr-warmer").getBoolean("success"));
+            final List<RecordedEvent> next = filter(events, "WarmerNext", "test-jfr-warmer");
+            assertEquals(next.stream().mapToInt(e -> e.getInt("batchSize")).sum(), 10);
+            assertTrue(next.stream().allMatch(e -> e.getBoolean("success")));
+            assertEquals(next.get(next.size() - 1).getLong("iteration"), 10);
+            assertEquals(single(events, "WarmerStopped", "test-jfr-warmer").getString("outcome"), "completed");
+
+            final List<RecordedEvent> inits = filter(events, "WarmerInit", "test-jfr-failing-warmer");
+            assertFalse(inits.isEmpty());
+            assertTrue(inits.stream().noneMatch(e -> e.getBoolean("success")));
+            final List<RecordedEvent> failures = filter(events, "WarmerFailure", "test-jfr-failing-warmer");
+            assertFalse(failures.isEmpty());
+            assertTrue(failures.get(0).getString("error").contains("init failed"), failures.get(0).getString("error"));
+            assertEquals(single(events, "WarmerStopped", "test-jfr-failing-warmer").getString("outcome"), "failed");
+
+            // calls that time out are not successful, even if they return normally
+            final List<RecordedEvent> slow = filter(events, "WarmerNext", "test-jfr-slow-warmer");
+            assertEquals(slow.size(), 2);
+            assertTrue(slow.stream().noneMatch(e -> e.getBoolean("success")));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static List<RecordedEvent> filter(final List<RecordedEvent> events, final String name,
+                                              final String warmer) {
+        return events.stream()
+                .filter(e -> e.getEventType().getName().equals("com.salesforce.centrifuge." + name))
+                .filter(e -> warmer == null || warmer.equals(e.getString("warmer")))
+                .collect(Collectors.toList());
+    }
+
+    private static RecordedEvent single(final List<RecordedEvent> events, final String name, final String warmer) {
+        final List<RecordedEvent> matches = filter(events, name, warmer);
+        assertEquals(matches.size(), 1, name + " events: " + matches);
+        return matches.get(0);
+    }
+}
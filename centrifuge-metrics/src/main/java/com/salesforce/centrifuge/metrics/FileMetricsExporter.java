@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.metrics;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.salesforce.centrifuge.Centrifuge;
+import com.salesforce.centrifuge.MetricsExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.salesforce.centrifuge.Constants.LOGGER_PREFIX;
+
+/**
+ * Writes the metrics of the engine to a file every interval, and right away when the engine stops; files are
+ * replaced atomically, so readers never see a partial file.
+ * <p>
+ * Params: file is the path of the file to write, and nothing is written if it is not set; interval_seconds
+ * (optional, default = 15) is the time between writes. Subclasses define the format.
+ */
+public abstract class FileMetricsExporter implements MetricsExporter {
+    private static final Logger logger = LoggerFactory.getLogger(FileMetricsExporter.class);
+
+    private static final int DEFAULT_INTERVAL_SECONDS = 15;
+
+    private volatile Centrifuge centrifuge;
+    private volatile File file;
+    private ScheduledExecutorService executorService;
+
+    /**
+     * @return current metrics of the given engine, in the format of the file.
+     */
+    protected abstract String format(Centrifuge centrifuge);
+
+    @Override
+    public synchronized void start(final Centrifuge centrifuge, final Map<String, Object> params) throws Exception {
+        if (this.executorService != null || !params.containsKey("file")) {
+            logger.info(LOGGER_PREFIX + "no file set for metrics exporter {}; not writing metrics to a file",
+                    getClass().getSimpleName());
+            return;
+        }
+        this.centrifuge = centrifuge;
+        this.file = new File(String.valueOf(params.get("file")));
+        final int intervalSeconds = params.containsKey("interval_seconds")
+                ? Integer.parseInt(String.valueOf(params.get("interval_seconds")))
+                : DEFAULT_INTERVAL_SECONDS;
+        this.executorService = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("centrifuge-metrics-file")
+                .setDaemon(true)
+                .build());
+        this.executorService.scheduleWithFixedDelay(this::write, 0, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public synchronized void onEngineStopped() {
+        if (this.executorService != null) {
+            // final stats of the run
+            write();
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (this.executorService == null) {
+            return;
+        }
+        this.executorService.shutdownNow();
+        this.executorService = null;
+        write();
+    }
+
+    private void write() {
+        final File file = this.file;
+        final File tempFile = new File(file.getPath() + ".tmp");
+        try {
+            // plain streams, as the engine may stop on an interrupted thread, which would close a channel
+            try (OutputStream out = new FileOutputStream(tempFile)) {
+                out.write(format(this.centrifuge).getBytes(StandardCharsets.UTF_8));
+            }
+            try {
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            logger.warn(LOGGER_PREFIX + "failed to write metrics to {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.metrics;
+
+import com.salesforce.centrifuge.Centrifuge;
+
+/**
+ * Dumps the metrics of the engine to a json file, see {@link JsonFormat}; takes the params of
+ * {@link FileMetricsExporter}.
+ */
+public class JsonExporter extends FileMetricsExporter {
+
+    @Override
+    protected String format(final Centrifuge centrifuge) {
+        return JsonFormat.format(centrifuge);
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.metrics;
+
+import com.salesforce.centrifuge.Centrifuge;
+import com.salesforce.centrifuge.LatencyHistogram;
+import com.salesforce.centrifuge.Metric;
+import com.salesforce.centrifuge.MetricsVisitor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Formats metrics as a json document; engine metrics are under "engine", and the metrics of each warmer under
+ * "warmers", keyed by warmer name. Timers are objects with count and total_seconds, and latency histograms
+ * objects with count, sum, percentiles and max, in seconds:
+ * <pre>
+ * {
+ *   "timestamp_millis": 1700000000000,
+ *   "engine": { "centrifuge.warm": 1, "centrifuge.time.to.warm": 12.5 },
+ *   "warmers": {
+ *     "http-warmer": {
+ *       "centrifuge.warmer.iterations": 1000,
+ *       "centrifuge.warmer.execution": { "count": 1000, "total_seconds": 10.2 },
+ *       "centrifuge.warmer.latency": { "count": 1000, "sum_seconds": 10.1, "p50_seconds": 0.009, ... }
+ *     }
+ *   }
+ * }
+ * </pre>
+ */
+public final class JsonFormat implements MetricsVisitor {
+
+    private final Map<String, Object> engine = new LinkedHashMap<>();
+    private final Map<String, Map<String, Object>> warmers = new LinkedHashMap<>();
+
+    /**
+     * @return current metrics of the given engine as json.
+     */
+    public static String format(final Centrifuge centrifuge) {
+        final JsonFormat format = new JsonFormat();
+        centrifuge.collectMetrics(format);
+        return format.toString();
+    }
+
+    @Override
+    public void counter(final Metric metric, final String warmer, double value) {
+        put(metric, warmer, value);
+    }
+
+    @Override
+    public void gauge(final Metric metric, final String warmer, double value) {
+        put(metric, warmer, value);
+    }
+
+    @Override
+    public void timer(final Metric metric, final String warmer, long count, double totalSeconds) {
+        final Map<String, Object> timer = new LinkedHashMap<>();
+        timer.put("count", count);
+        timer.put("total_seconds", totalSeconds);
+        put(metric, warmer, timer);
+    }
+
+    @Override
+    public void histogram(final Metric metric, final String warmer, final LatencyHistogram histogram) {
+        final Map<String, Object> values = new LinkedHashMap<>();
+        values.put("count", histogram.getTotalCount());
+        values.put("sum_seconds", histogram.getTotalValue() / 1e9);
+        values.put("p50_seconds", histogram.getValueAtPercentile(50.0) / 1e9);
+        values.put("p90_seconds", histogram.getValueAtPercentile(90.0) / 1e9);
+        values.put("p99_seconds", histogram.getValueAtPercentile(99.0) / 1e9);
+        values.put("max_seconds", histogram.getMaxValue() / 1e9);
+        put(metric, warmer, values);
+    }
+
+    private void put(final Metric metric, final String warmer, final Object value) {
+        final Map<String, Object> metrics = warmer == null
+                ? this.engine
+                : this.warmers.computeIfAbsent(warmer, w -> new LinkedHashMap<>());
+        metrics.put(metric.getName(), value);
+    }
+
+    @Override
+    public String toString() {
+        final Map<String, Object> document = new LinkedHashMap<>();
+        document.put("timestamp_millis", System.currentTimeMillis());
+        document.put("engine", this.engine);
+        document.put("warmers", this.warmers);
+        final StringBuilder builder = new StringBuilder();
+        appendValue(builder, document, "");
+        return builder.append('\n').toString();
+    }
+
+    private static void appendValue(final StringBuilder builder, final Object value, final String indent) {
+        if (value instanceof Map) {
+            final Map<?, ?> map = (Map<?, ?>) value;
+            if (map.isEmpty()) {
+                builder.append("{}");
+                return;
+            }
+            final String innerIndent = indent + "  ";
+            builder.append("{\n");
+            boolean isFirst = true;
+            for (final Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!isFirst) {
+                    builder.append(",\n");
+                }
+                isFirst = false;
+                builder.append(innerIndent);
+                appendString(builder, String.valueOf(entry.getKey()));
+                builder.append(": ");
+                appendValue(builder, entry.getValue(), innerIndent);
+            }
+            builder.append('\n').append(indent).append('}');
+        } else if (value instanceof Double) {
+            final double number = (Double) value;
+            if (Double.isNaN(number) || Double.isInfinite(number)) {
+                builder.append("null");
+            } else if (number == Math.rint(number) && Math.abs(number) < 1e15) {
+                builder.append((long) number);
+            } else {
+                builder.append(number);
+            }
+        } else if (value instanceof Number) {
+            builder.append(value);
+        } else {
+            appendString(builder, String.valueOf(value));
+        }
+    }
+
+    private static void appendString(final StringBuilder builder, final String value) {
+        builder.append('"');
+        for (int i = 0; i < value.length(); ++i) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+        builder.append('"');
+    }
+}
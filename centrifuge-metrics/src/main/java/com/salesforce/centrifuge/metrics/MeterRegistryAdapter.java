@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.metrics;
+
+import java.util.Map;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Registers function based meters with a metrics registry, for {@link RegistryBridge}. The methods mirror the
+ * function meters of micrometer, so that a micrometer registry is adapted with a few lines, e.g.:
+ * <pre>
+ * new MeterRegistryAdapter() {
+ *     public void gauge(String name, Map&lt;String, String&gt; tags, String baseUnit, String description,
+ *                       DoubleSupplier value) {
+ *         Gauge.builder(name, value::getAsDouble).tags(toTags(tags)).baseUnit(baseUnit)
+ *                 .description(description).register(registry);
+ *     }
+ *     public void counter(...) {
+ *         FunctionCounter.builder(name, value, DoubleSupplier::getAsDouble)...register(registry);
+ *     }
+ *     public void timer(...) {
+ *         FunctionTimer.builder(name, this, o -&gt; count.getAsLong(), o -&gt; totalSeconds.getAsDouble(),
+ *                 TimeUnit.SECONDS)...register(registry);
+ *     }
+ * }
+ * </pre>
+ * Suppliers are cheap to call, and may be called from any thread.
+ */
+public interface MeterRegistryAdapter {
+
+    /**
+     * Registers a gauge reporting the current value of the supplier.
+     */
+    void gauge(String name, Map<String, String> tags, String baseUnit, String description, DoubleSupplier value);
+
+    /**
+     * Registers a counter reporting the monotonic value of the supplier; the value drops back when the
+     * engine restarts, which registries treat as a counter reset.
+     */
+    void counter(String name, Map<String, String> tags, String baseUnit, String description, DoubleSupplier value);
+
+    /**
+     * Registers a timer reporting a number of events and their total time in seconds.
+     */
+    void timer(String name, Map<String, String> tags, String description, LongSupplier count,
+               DoubleSupplier totalSeconds);
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.metrics;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.salesforce.centrifuge.Centrifuge;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.salesforce.centrifuge.Constants.LOGGER_PREFIX;
+
+/**
+ * Exports the metrics of the engine in the prometheus text format, served over http with the http server of
+ * the jdk, and/or written to a file, e.g. for the textfile collector of the node exporter. Metrics are
+ * collected on every scrape.
+ * <p>
+ * Params: port (optional) is the port to serve metrics on, 0 for any free port; path (optional, default =
+ * /metrics) is the path to serve metrics on; file and interval_seconds are as in {@link FileMetricsExporter}.
+ */
+public class PrometheusExporter extends FileMetricsExporter {
+    private static final Logger logger = LoggerFactory.getLogger(PrometheusExporter.class);
+
+    static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+
+    @Override
+    protected String format(final Centrifuge centrifuge) {
+        return PrometheusFormat.format(centrifuge);
+    }
+
+    @Override
+    public synchronized void start(final Centrifuge centrifuge, final Map<String, Object> params) throws Exception {
+        super.start(centrifuge, params);
+        if (this.server != null || !params.containsKey("port")) {
+            return;
+        }
+        final int port = Integer.parseInt(String.valueOf(params.get("port")));
+        final String path = params.containsKey("path") ? String.valueOf(params.get("path")) : "/metrics";
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.server.createContext(path, exchange -> handle(centrifuge, exchange));
+        this.serverExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("centrifuge-metrics-http")
+                .setDaemon(true)
+                .build());
+        this.server.setExecutor(this.serverExecutor);
+        // the dispatcher thread of the server inherits the daemon flag of the thread starting it
+        this.serverExecutor.submit(this.server::start).get();
+        logger.info(LOGGER_PREFIX + "serving prometheus metrics on port {} at {}", getPort(), path);
+    }
+
+    /**
+     * @return port metrics are served on, or -1 if not serving.
+     */
+    public synchronized int getPort() {
+        return this.server != null ? this.server.getAddress().getPort() : -1;
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (this.server != null) {
+            this.server.stop(0);
+            this.serverExecutor.shutdownNow();
+            this.server = null;
+            this.serverExecutor = null;
+        }
+        super.stop();
+    }
+
+    private static void handle(final Centrifuge centrifuge, final HttpExchange exchange) throws IOException {
+        try {
+            final byte[] body = PrometheusFormat.format(centrifuge).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.metrics;
+
+import com.salesforce.centrifuge.Centrifuge;
+import com.salesforce.centrifuge.LatencyHistogram;
+import com.salesforce.centrifuge.Metric;
+import com.salesforce.centrifuge.MetricsVisitor;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formats metrics in the prometheus text exposition format. Metric names have dots replaced by underscores, and
+ * the unit and _total suffixes added; warmer metrics carry a warmer label. Timers are exposed as summaries
+ * without quantiles, and latencies as histograms.
+ */
+public final class PrometheusFormat implements MetricsVisitor {
+
+    // upper bounds of the latency histogram buckets, in seconds
+    private static final double[] LATENCY_BUCKETS = {
+            0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10
+    };
+
+    // samples by metric, so that the samples of each metric are grouped under a single header
+    private final Map<Metric, StringBuilder> samples = new EnumMap<>(Metric.class);
+
+    /**
+     * @return current metrics of the given engine in the prometheus text format.
+     */
+    public static String format(final Centrifuge centrifuge) {
+        final PrometheusFormat format = new PrometheusFormat();
+        centrifuge.collectMetrics(format);
+        return format.toString();
+    }
+
+    @Override
+    public void counter(final Metric metric, final String warmer, double value) {
+        appendSample(metric, "", warmer, null, value);
+    }
+
+    @Override
+    public void gauge(final Metric metric, final String warmer, double value) {
+        appendSample(metric, "", warmer, null, value);
+    }
+
+    @Override
+    public void timer(final Metric metric, final String warmer, long count, double totalSeconds) {
+        appendSample(metric, "_count", warmer, null, count);
+        appendSample(metric, "_sum", warmer, null, totalSeconds);
+    }
+
+    @Override
+    public void histogram(final Metric metric, final String warmer, final LatencyHistogram histogram) {
+        // bucket counts include the whole bucket of the histogram the bound falls in, which may overcount by
+        // the few percent of the histogram resolution
+        for (final double bound : LATENCY_BUCKETS) {
+            appendSample(metric, "_bucket", warmer, BigDecimal.valueOf(bound).toPlainString(),
+                    histogram.getCountAtOrBelow((long) (bound * TimeUnit.SECONDS.toNanos(1))));
+        }
+        appendSample(metric, "_bucket", warmer, "+Inf", histogram.getTotalCount());
+        appendSample(metric, "_count", warmer, null, histogram.getTotalCount());
+        appendSample(metric, "_sum", warmer, null, histogram.getTotalValue() / 1e9);
+    }
+
+    private void appendSample(final Metric metric, final String suffix, final String warmer, final String le,
+                              double value) {
+        final StringBuilder builder = this.samples.computeIfAbsent(metric, m -> new StringBuilder());
+        builder.append(name(metric)).append(suffix);
+        if (warmer != null || le != null) {
+            builder.append('{');
+            if (warmer != null) {
+                builder.append("warmer=\"");
+                appendEscaped(builder, warmer);
+                builder.append('"');
+            }
+            if (le != null) {
+                builder.append(warmer != null ? "," : "").append("le=\"").append(le).append('"');
+            }
+            builder.append('}');
+        }
+        builder.append(' ').append(formatValue(value)).append('\n');
+    }
+
+    /**
+     * @return name of the given metric in prometheus format, e.g. centrifuge_warmer_cpu_seconds_total.
+     */
+    static String name(final Metric metric) {
+        final StringBuilder name = new StringBuilder(metric.getName().replace('.', '_'));
+        if (metric.getBaseUnit() != null) {
+            name.append('_').append(metric.getBaseUnit());
+        }
+        if (metric.getType() == Metric.Type.COUNTER) {
+            name.append("_total");
+        }
+        return name.toString();
+    }
+
+    private static String type(final Metric metric) {
+        switch (metric.getType()) {
+            case COUNTER:
+                return "counter";
+            case TIMER:
+                return "summary";
+            case HISTOGRAM:
+                return "histogram";
+            default:
+                return "gauge";
+        }
+    }
+
+    private static void appendEscaped(final StringBuilder builder, final String value) {
+        for (int i = 0; i < value.length(); ++i) {
+            final char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                builder.append('\\').append(c);
+            } else if (c == '\n') {
+                builder.append("\\n");
+            } else {
+                builder.append(c);
+            }
+        }
+    }
+
+    private static String formatValue(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        this.samples.forEach((metric, samples) -> builder
+                .append("# HELP ").append(name(metric)).append(' ').append(metric.getDescription()).append('\n')
+                .append("# TYPE ").append(name(metric)).append(' ').append(type(metric)).append('\n')
+                .append(samples));
+        return builder.toString();
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.metrics;
+
+import com.salesforce.centrifuge.Centrifuge;
+import com.salesforce.centrifuge.LatencyHistogram;
+import com.salesforce.centrifuge.Metric;
+import com.salesforce.centrifuge.MetricsExporter;
+import com.salesforce.centrifuge.MetricsVisitor;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bridges the metrics of the engine to a metrics registry, e.g. micrometer, through a {@link MeterRegistryAdapter}.
+ * Meters are registered on start, with a warmer tag for warmer metrics; meters of warmers registered later are
+ * added on the next refresh. Meters read values cached from the last collection, and refresh the cache when it
+ * is older than the refresh interval, so publishing all meters of a registry collects the metrics only once.
+ * <p>
+ * Meters keep reporting the final values of a run after the engine stops, and the values of the next run once
+ * it is started again.
+ * <p>
+ * Params: refresh_millis (optional, default = 1000) is the maximum age of the cached values.
+ */
+public class RegistryBridge implements MetricsExporter {
+
+    private static final long DEFAULT_REFRESH_MILLIS = 1000;
+
+    // percentiles reported as gauges for histograms
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0};
+
+    private final MeterRegistryAdapter registry;
+
+    // latest values by meter key; timers hold count and total, histograms count, total, percentiles and max
+    private final Map<String, double[]> values = new ConcurrentHashMap<>();
+
+    private volatile Centrifuge centrifuge;
+    private volatile long refreshNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_REFRESH_MILLIS);
+    private volatile long lastRefreshNanos;
+
+    public RegistryBridge(final MeterRegistryAdapter registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void start(final Centrifuge centrifuge, final Map<String, Object> params) {
+        if (params.containsKey("refresh_millis")) {
+            this.refreshNanos = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(String.valueOf(params.get("refresh_millis"))));
+        }
+        this.centrifuge = centrifuge;
+        refresh();
+    }
+
+    @Override
+    public void stop() {
+        // final values of the run
+        refresh();
+    }
+
+    private double read(final String key, int index) {
+        if (System.nanoTime() - this.lastRefreshNanos >= this.refreshNanos) {
+            refresh();
+        }
+        final double[] values = this.values.get(key);
+        return values != null ? values[index] : 0;
+    }
+
+    private synchronized void refresh() {
+        final Centrifuge centrifuge = this.centrifuge;
+        if (centrifuge == null) {
+            return;
+        }
+        centrifuge.collectMetrics(new MetricsVisitor() {
+            @Override
+            public void counter(final Metric metric, final String warmer, double value) {
+                update(metric, warmer, new double[] {value});
+            }
+
+            @Override
+            public void gauge(final Metric metric, final String warmer, double value) {
+                update(metric, warmer, new double[] {value});
+            }
+
+            @Override
+            public void timer(final Metric metric, final String warmer, long count, double totalSeconds) {
+                update(metric, warmer, new double[] {count, totalSeconds});
+            }
+
+            @Override
+            public void histogram(final Metric metric, final String warmer, final LatencyHistogram histogram) {
+                final double[] values = new double[3 + PERCENTILES.length];
+                values[0] = histogram.getTotalCount();
+                values[1] = histogram.getTotalValue() / 1e9;
+                values[2] = histogram.getMaxValue() / 1e9;
+                for (int i = 0; i < PERCENTILES.length; ++i) {
+                    values[3 + i] = histogram.getValueAtPercentile(PERCENTILES[i]) / 1e9;
+                }
+                update(metric, warmer, values);
+            }
+        });
+        this.lastRefreshNanos = System.nanoTime();
+    }
+
+    // caches the values of a meter, and registers the meter the first time it is seen
+    private void update(final Metric metric, final String warmer, final double[] values) {
+        final String key = warmer == null ? metric.getName() : metric.getName() + '\0' + warmer;
+        if (this.values.put(key, values) == null) {
+            register(metric, warmer, key);
+        }
+    }
+
+    private void register(final Metric metric, final String warmer, final String key) {
+        final Map<String, String> tags = warmer == null
+                ? Collections.emptyMap()
+                : Collections.singletonMap("warmer", warmer);
+        switch (metric.getType()) {
+            case COUNTER:
+                this.registry.counter(metric.getName(), tags, metric.getBaseUnit(), metric.getDescription(),
+                        () -> read(key, 0));
+                break;
+            case GAUGE:
+                this.registry.gauge(metric.getName(), tags, metric.getBaseUnit(), metric.getDescription(),
+                        () -> read(key, 0));
+                break;
+            case TIMER:
+                this.registry.timer(metric.getName(), tags, metric.getDescription(),
+                        () -> (long) read(key, 0), () -> read(key, 1));
+                break;
+            case HISTOGRAM:
+                // a timer with the max and percentiles as gauges, like a micrometer timer publishing percentiles
+                this.registry.timer(metric.getName(), tags, metric.getDescription(),
+                        () -> (long) read(key, 0), () -> read(key, 1));
+                this.registry.gauge(metric.getName() + ".max", tags, metric.getBaseUnit(), metric.getDescription(),
+                        () -> read(key, 2));
+                for (int i = 0; i < PERCENTILES.length; ++i) {
+                    final int index = 3 + i;
+                    final Map<String, String> percentileTags = new LinkedHashMap<>(tags);
+                    percentileTags.put("phi", String.valueOf(PERCENTILES[i] / 100));
+                    this.registry.gauge(metric.getName() + ".percentile", percentileTags, metric.getBaseUnit(),
+                            metric.getDescription(), () -> read(key, index));
+                }
+                break;
+            default:
+                break;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.metrics;
+
+import com.salesforce.centrifuge.Centrifuge;
+import com.salesforce.centrifuge.CentrifugeConfig;
+import com.salesforce.centrifuge.NoopWarmer;
+import com.salesforce.centrifuge.WarmerConfig;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertTrue;
+
+public class JsonExporterTest {
+
+    @Test
+    public void testDump() throws Exception {
+        final Path file = Files.createTempFile("centrifuge-metrics", ".json");
+        final JsonExporter exporter = new JsonExporter();
+        try {
+            final Centrifuge centrifuge = Centrifuge.newInstance(new CentrifugeConfig()
+                    .addWarmerConfig(new WarmerConfig()
+                            .setWarmerName("test-json-warmer")
+                            .setWarmerClass(NoopWarmer.class)
+                            .setMaxIterations(10)
+                            .setYieldMillis(1)
+                            .setRequired(true))
+                    .addMetricsExporter(exporter, Collections.singletonMap("file", file.toString()))
+            );
+            centrifuge.start();
+            centrifuge.awaitWarm().get(10, TimeUnit.SECONDS);
+            centrifuge.stop();
+
+            final String json = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            assertTrue(json.contains("\"centrifuge.warm\": 1"), json);
+            assertTrue(json.contains("\"test-json-warmer\": {"), json);
+            assertTrue(json.contains("\"centrifuge.warmer.successes\": 10"), json);
+            assertTrue(json.contains("\"centrifuge.warmer.latency\": {\n        \"count\": 10,"), json);
+            assertTrue(json.endsWith("}\n"), json);
+        } finally {
+            exporter.stop();
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.metrics;
+
+import com.salesforce.centrifuge.Centrifuge;
+import com.salesforce.centrifuge.CentrifugeConfig;
+import com.salesforce.centrifuge.NoopWarmer;
+import com.salesforce.centrifuge.WarmerConfig;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class PrometheusExporterTest {
+
+    @Test
+    public void testEndpointAndFile() throws Exception {
+        final Path file = Files.createTempFile("centrifuge-metrics", ".prom");
+        try {
+            final Map<String, Object> params = new HashMap<>();
+            params.put("port", 0);
+            params.put("file", file.toString());
+            final PrometheusExporter exporter = new PrometheusExporter();
+            final Centrifuge centrifuge = Centrifuge.newInstance(new CentrifugeConfig()
+                    .addWarmerConfig(new WarmerConfig()
+                            .setWarmerName("test \"quoted\" warmer")
+                            .setWarmerClass(NoopWarmer.class)
+                            .setMaxIterations(10)
+                            .setYieldMillis(1)
+                            .setRequired(true))
+                    .addMetricsExporter(exporter, params)
+            );
+            centrifuge.start();
+            centrifuge.awaitWarm().get(10, TimeUnit.SECONDS);
+
+            final String scraped = scrape(exporter);
+            assertTrue(scraped.contains("# TYPE centrifuge_warmer_iterations_total counter\n"), scraped);
+            assertTrue(scraped.contains("centrifuge_warmer_iterations_total{warmer=\"test \\\"quoted\\\" warmer\"} 10\n"),
+                    scraped);
+            assertTrue(scraped.contains("centrifuge_warmer_latency_seconds_bucket{warmer=\"test \\\"quoted\\\" warmer\",le=\"+Inf\"} 10\n"),
+                    scraped);
+            assertTrue(scraped.contains("centrifuge_warm 1\n"), scraped);
+            // each metric has a single header
+            assertEquals(scraped.split("# TYPE centrifuge_warmer_latency_seconds ", -1).length, 2);
+
+            // the final metrics are written once the engine stops
+            centrifuge.stop();
+            final String written = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            assertTrue(written.contains("centrifuge_warmer_successes_total{warmer=\"test \\\"quoted\\\" warmer\"} 10\n"),
+                    written);
+
+            // the endpoint keeps serving the final metrics
+            assertTrue(scrape(exporter).contains("centrifuge_warm 1\n"));
+
+            exporter.stop();
+            assertEquals(exporter.getPort(), -1);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static String scrape(final PrometheusExporter exporter) throws Exception {
+        final HttpURLConnection connection = (HttpURLConnection)
+                new URL("http://localhost:" + exporter.getPort() + "/metrics").openConnection();
+        assertEquals(connection.getResponseCode(), 200);
+        assertEquals(connection.getContentType(), PrometheusExporter.CONTENT_TYPE);
+        try (InputStream input = connection.getInputStream()) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[4096];
+            int read;
+            while ((read = input.read(buffer)) > 0) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.metrics;
+
+import com.salesforce.centrifuge.Centrifuge;
+import com.salesforce.centrifuge.CentrifugeConfig;
+import com.salesforce.centrifuge.NoopWarmer;
+import com.salesforce.centrifuge.WarmerConfig;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class RegistryBridgeTest {
+
+    @Test
+    public void testMeters() throws Exception {
+        // meters by name and tags
+        final Map<String, DoubleSupplier> meters = new ConcurrentHashMap<>();
+        final MeterRegistryAdapter registry = new MeterRegistryAdapter() {
+            @Override
+            public void gauge(final String name, final Map<String, String> tags, final String baseUnit,
+                              final String description, final DoubleSupplier value) {
+                assertNull(meters.put(name + tags, value));
+            }
+
+            @Override
+            public void counter(final String name, final Map<String, String> tags, final String baseUnit,
+                                final String description, final DoubleSupplier value) {
+                assertNull(meters.put(name + tags, value));
+            }
+
+            @Override
+            public void timer(final String name, final Map<String, String> tags, final String description,
+                              final LongSupplier count, final DoubleSupplier totalSeconds) {
+                assertNull(meters.put(name + tags, count::getAsLong));
+            }
+        };
+
+        final WarmerConfig warmerConfig = new WarmerConfig()
+                .setWarmerName("test-bridge-warmer")
+                .setWarmerClass(NoopWarmer.class)
+                .setMaxIterations(10)
+                .setYieldMillis(1)
+                .setRequired(true);
+        final Centrifuge centrifuge = Centrifuge.newInstance(new CentrifugeConfig()
+                .addWarmerConfig(warmerConfig)
+                .addMetricsExporter(new RegistryBridge(registry), Collections.singletonMap("refresh_millis", 0))
+        );
+
+        // meters are registered on start
+        centrifuge.start();
+        final String tags = "{warmer=test-bridge-warmer}";
+        assertTrue(meters.containsKey("centrifuge.warmer.iterations" + tags), meters.keySet().toString());
+        assertTrue(meters.containsKey("centrifuge.warmer.latency.percentile{warmer=test-bridge-warmer, phi=0.99}"),
+                meters.keySet().toString());
+        assertTrue(meters.containsKey("centrifuge.warm{}"));
+
+        centrifuge.awaitWarm().get(10, TimeUnit.SECONDS);
+        assertEquals(meters.get("centrifuge.warmer.successes" + tags).getAsDouble(), 10.0);
+        assertEquals(meters.get("centrifuge.warmer.latency" + tags).getAsDouble(), 10.0);
+        assertEquals(meters.get("centrifuge.warm{}").getAsDouble(), 1.0);
+
+        // meters keep their registration, and report the values of the next run
+        centrifuge.stop();
+        warmerConfig.setMaxIterations(5);
+        centrifuge.start();
+        centrifuge.awaitWarm().get(10, TimeUnit.SECONDS);
+        centrifuge.stop();
+        assertEquals(meters.get("centrifuge.warmer.successes" + tags).getAsDouble(), 5.0);
+    }
+}
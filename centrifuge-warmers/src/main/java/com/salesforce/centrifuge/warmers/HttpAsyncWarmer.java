@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.warmers;
+
+import com.salesforce.centrifuge.AsyncWarmer;
+
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.utils.URIUtils;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.nio.client.CloseableHttpPipeliningClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+
+import static com.salesforce.centrifuge.Constants.LOGGER_PREFIX;
+
+/**
+ * Non-blocking variant of {@link HttpWarmer}; requests are sent on a shared NIO client, and with
+ * pipeline_depth greater than one, the requests of that many iterations are pipelined on a single
+ * connection per host.
+ * Use max_in_flight to keep many operations in flight from one warmer instance.
+ */
+public class HttpAsyncWarmer extends HttpWarmer implements AsyncWarmer, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpAsyncWarmer.class);
+
+    private static final int DEFAULT_PIPELINE_DEPTH = 1;
+
+    // shared async clients by pool settings, closed when the last warmer using them is closed
+    private static final Map<HttpClientSettings, SharedClient> clients = new HashMap<>();
+
+    private static final class SharedClient {
+        private final CloseableHttpPipeliningClient client;
+        private int references = 0;
+
+        private SharedClient(final CloseableHttpPipeliningClient client) {
+            this.client = client;
+        }
+    }
+
+    private CloseableHttpPipeliningClient client;
+    private int pipelineDepth = DEFAULT_PIPELINE_DEPTH;
+
+    @Override
+    public void init(final Map<String, Object> params) throws Exception {
+        // the blocking client of the parent is not needed
+        initRequests(params);
+        final int pipelineDepth = HttpClientSettings.intParam(params, "pipeline_depth", DEFAULT_PIPELINE_DEPTH);
+        if (pipelineDepth > 0) {
+            this.pipelineDepth = pipelineDepth;
+        }
+        this.client = acquire(getSettings());
+    }
+
+    @Override
+    public CompletionStage<?> nextAsync() throws Exception {
+        final List<CompletableFuture<?>> futures = new ArrayList<>();
+        if (this.pipelineDepth == 1) {
+            for (final HttpRequestBase request : newRequests()) {
+                final CompletableFuture<HttpResponse> future = new CompletableFuture<>();
+                cancelOnCancel(future, this.client.execute(request, callback(future, request.getURI())));
+                futures.add(future);
+            }
+        } else {
+            final Map<HttpHost, List<HttpRequest>> requestsByHost = new LinkedHashMap<>();
+            for (int i = 0; i < this.pipelineDepth; ++i) {
+                for (final HttpRequestBase request : newRequests()) {
+                    requestsByHost.computeIfAbsent(URIUtils.extractHost(request.getURI()), host -> new ArrayList<>())
+                            .add(request);
+                }
+            }
+            requestsByHost.forEach((host, requests) -> {
+                final CompletableFuture<List<HttpResponse>> future = new CompletableFuture<>();
+                cancelOnCancel(future, this.client.execute(host, requests, callback(future, host)));
+                futures.add(future);
+            });
+        }
+        return futures.size() == 1
+                ? futures.get(0)
+                : CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (this.client != null) {
+            this.client = null;
+            release(getSettings());
+        }
+        super.close();
+    }
+
+    private static <T> FutureCallback<T> callback(final CompletableFuture<T> future, final Object target) {
+        return new FutureCallback<T>() {
+            @Override
+            public void completed(final T result) {
+                // responses are fully buffered by the default consumer, so there is nothing left to drain
+                logger.debug(LOGGER_PREFIX + "got response from {}", target);
+                future.complete(result);
+            }
+
+            @Override
+            public void failed(final Exception e) {
+                logger.warn(LOGGER_PREFIX + "failed to call {} with error message: {}", target, e.getMessage());
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void cancelled() {
+                future.cancel(false);
+            }
+        };
+    }
+
+    private static void cancelOnCancel(final CompletableFuture<?> future, final Future<?> request) {
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                request.cancel(true);
+            }
+        });
+    }
+
+    private static synchronized CloseableHttpPipeliningClient acquire(final HttpClientSettings settings) {
+        SharedClient shared = clients.get(settings);
+        if (shared == null) {
+            shared = new SharedClient(newClient(settings));
+            shared.client.start();
+            clients.put(settings, shared);
+        }
+        shared.references++;
+        return shared.client;
+    }
+
+    private static synchronized void release(final HttpClientSettings settings) {
+        final SharedClient shared = clients.get(settings);
+        if (shared == null || --shared.references > 0) {
+            return;
+        }
+        clients.remove(settings);
+        try {
+            shared.client.close();
+        } catch (IOException e) {
+            logger.warn(LOGGER_PREFIX + "failed to close http client with error message: {}", e.getMessage());
+        }
+    }
+
+    private static CloseableHttpPipeliningClient newClient(final HttpClientSettings settings) {
+        final IOReactorConfig reactorConfig = IOReactorConfig.custom()
+                .setConnectTimeout(settings.connectTimeoutMillis)
+                .setSoTimeout(settings.socketTimeoutMillis)
+                .setSoKeepAlive(true)
+                .build();
+        final PoolingNHttpClientConnectionManager connectionManager;
+        try {
+            connectionManager = new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor(reactorConfig));
+        } catch (IOReactorException e) {
+            throw new UncheckedIOException(e);
+        }
+        connectionManager.setMaxTotal(settings.maxConnections);
+        connectionManager.setDefaultMaxPerRoute(settings.maxConnectionsPerRoute);
+        return HttpAsyncClients.createPipelining(connectionManager);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.warmers;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Connection pool settings of http warmers; warmers with equal settings share the same client and pool.
+ */
+final class HttpClientSettings {
+
+    static final int DEFAULT_MAX_CONNECTIONS = 200;
+    static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 200;
+    static final int DEFAULT_KEEP_ALIVE_MILLIS = 30_000;
+    static final int DEFAULT_CONNECT_TIMEOUT_MILLIS = 5_000;
+    static final int DEFAULT_SOCKET_TIMEOUT_MILLIS = 30_000;
+
+    final int maxConnections;
+    final int maxConnectionsPerRoute;
+    final int keepAliveMillis;
+    final int connectTimeoutMillis;
+    final int socketTimeoutMillis;
+
+    private HttpClientSettings(int maxConnections, int maxConnectionsPerRoute, int keepAliveMillis,
+                               int connectTimeoutMillis, int socketTimeoutMillis) {
+        this.maxConnections = maxConnections;
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        this.keepAliveMillis = keepAliveMillis;
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.socketTimeoutMillis = socketTimeoutMillis;
+    }
+
+    static HttpClientSettings fromParams(final Map<String, Object> params) {
+        return new HttpClientSettings(
+                intParam(params, "max_connections", DEFAULT_MAX_CONNECTIONS),
+                intParam(params, "max_connections_per_route", DEFAULT_MAX_CONNECTIONS_PER_ROUTE),
+                intParam(params, "keep_alive_millis", DEFAULT_KEEP_ALIVE_MILLIS),
+                intParam(params, "connect_timeout_millis", DEFAULT_CONNECT_TIMEOUT_MILLIS),
+                intParam(params, "socket_timeout_millis", DEFAULT_SOCKET_TIMEOUT_MILLIS)
+        );
+    }
+
+    static int intParam(final Map<String, Object> params, final String key, int defaultValue) {
+        return params.containsKey(key) ? Integer.parseInt(String.valueOf(params.get(key))) : defaultValue;
+    }
+
+    RequestConfig requestConfig() {
+        return RequestConfig.custom()
+                .setConnectTimeout(this.connectTimeoutMillis)
+                .setSocketTimeout(this.socketTimeoutMillis)
+                // fail instead of waiting forever if the pool is exhausted
+                .setConnectionRequestTimeout(this.socketTimeoutMillis)
+                .build();
+    }
+
+    ConnectionKeepAliveStrategy keepAliveStrategy() {
+        return (response, context) -> this.keepAliveMillis;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof HttpClientSettings)) {
+            return false;
+        }
+        final HttpClientSettings that = (HttpClientSettings) o;
+        return this.maxConnections == that.maxConnections
+                && this.maxConnectionsPerRoute == that.maxConnectionsPerRoute
+                && this.keepAliveMillis == that.keepAliveMillis
+                && this.connectTimeoutMillis == that.connectTimeoutMillis
+                && this.socketTimeoutMillis == that.socketTimeoutMillis;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.maxConnections, this.maxConnectionsPerRoute, this.keepAliveMillis,
+                this.connectTimeoutMillis, this.socketTimeoutMillis);
+    }
+}
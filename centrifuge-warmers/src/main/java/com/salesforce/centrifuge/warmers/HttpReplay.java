@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.warmers;
+
+import org.apache.http.Header;
+import org.apache.http.HttpHost;
+import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.utils.URIUtils;
+import org.apache.http.entity.ByteArrayEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.salesforce.centrifuge.Constants.LOGGER_PREFIX;
+
+/**
+ * Creates requests from a recorded access log or request file. Each line is either an access log
+ * line in common or combined log format, where the quoted field after the timestamp is the request line
+ * (e.g. {@code "GET /foo?bar=baz HTTP/1.1"}), or a request line of the form {@code [METHOD] url [body]}.
+ * Urls are either absolute or paths starting with a slash; relative urls are resolved against the target
+ * host, and absolute urls are rewritten to the target host if one is set. Methods are case-insensitive.
+ * Lines in neither format, or that use a method the http warmers do not support, are skipped.
+ * Not thread-safe.
+ */
+final class HttpReplay implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(HttpReplay.class);
+
+    // host ident user [timestamp] "request line" ..., as in common and combined log format
+    private static final Pattern ACCESS_LOG_PATTERN =
+            Pattern.compile("\\S+\\s+\\S+\\s+\\S+\\s+\\[[^\\]]*\\]\\s+\"([^\"]*)\"");
+
+    // consecutive invalid lines after which we give up
+    private static final int MAX_INVALID_LINES = 10_000;
+
+    private final ReplayLog log;
+    private final HttpHost target;
+    private final double sampleRate;
+    private final Header[] headers;
+
+    HttpReplay(final Path path, final int shard, final int shards, final HttpHost target,
+               final double sampleRate, final Header[] headers) throws IOException {
+        this.log = new ReplayLog(path, shard, shards);
+        this.target = target;
+        this.sampleRate = sampleRate;
+        this.headers = headers;
+    }
+
+    /**
+     * @return a request created from the next sampled line.
+     */
+    HttpRequestBase nextRequest() throws IOException {
+        int invalidLines = 0;
+        while (true) {
+            final String line = this.log.nextLine();
+            if (line == null) {
+                throw new IllegalStateException("no requests to replay");
+            }
+            if (this.sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= this.sampleRate) {
+                continue;
+            }
+            final HttpRequestBase request = parse(line);
+            if (request != null) {
+                return request;
+            }
+            if (++invalidLines >= MAX_INVALID_LINES) {
+                throw new IllegalStateException("no valid requests to replay in the last " + invalidLines + " lines");
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.log.close();
+    }
+
+    HttpRequestBase parse(final String line) {
+        final String trimmed = line.trim();
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+        final HttpWarmer.HttpWarmerMethods method;
+        final String url;
+        final String body;
+        final Matcher accessLog = ACCESS_LOG_PATTERN.matcher(trimmed);
+        if (accessLog.lookingAt()) {
+            // access log; the request line is the quoted field after the timestamp, and there is no body
+            final String[] tokens = accessLog.group(1).trim().split("\\s+");
+            if (tokens.length < 2) {
+                return null;
+            }
+            method = toMethod(tokens[0]);
+            url = tokens[1];
+            body = null;
+        } else {
+            final String[] tokens = trimmed.split("\\s+", 3);
+            final HttpWarmer.HttpWarmerMethods requestMethod = toMethod(tokens[0]);
+            if (requestMethod != null) {
+                if (tokens.length < 2) {
+                    return null;
+                }
+                method = requestMethod;
+                url = tokens[1];
+                body = tokens.length > 2 ? tokens[2] : null;
+            } else if (tokens.length == 1) {
+                // a url alone is a get request
+                method = HttpWarmer.HttpWarmerMethods.GET;
+                url = tokens[0];
+                body = null;
+            } else {
+                logger.debug(LOGGER_PREFIX + "skipping replay line in unknown format '{}'", line);
+                return null;
+            }
+        }
+        if (!isUrl(url)) {
+            logger.debug(LOGGER_PREFIX + "skipping replay line without url '{}'", line);
+            return null;
+        }
+        if (method == null) {
+            logger.debug(LOGGER_PREFIX + "skipping replay line with unsupported method '{}'", line);
+            return null;
+        }
+        try {
+            final HttpRequestBase request = method.newRequest(rewrite(url));
+            request.setHeaders(this.headers);
+            if (body != null && request instanceof HttpEntityEnclosingRequestBase) {
+                ((HttpEntityEnclosingRequestBase) request).setEntity(
+                        new ByteArrayEntity(body.getBytes(StandardCharsets.UTF_8)));
+            }
+            return request;
+        } catch (IllegalArgumentException e) {
+            logger.debug(LOGGER_PREFIX + "skipping invalid replay line '{}': {}", line, e.getMessage());
+            return null;
+        }
+    }
+
+    private URI rewrite(final String url) {
+        final URI uri = URI.create(url);
+        if (this.target == null) {
+            if (!uri.isAbsolute()) {
+                throw new IllegalArgumentException("relative url without a replay target");
+            }
+            return uri;
+        }
+        try {
+            return URIUtils.rewriteURI(uri, this.target);
+        } catch (Exception e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    // absolute urls, or paths relative to the target host
+    private static boolean isUrl(final String token) {
+        return token.startsWith("/") || token.contains("://");
+    }
+
+    // null if the token is not a method supported by the http warmers
+    private static HttpWarmer.HttpWarmerMethods toMethod(final String token) {
+        final String name = token.toUpperCase(Locale.ROOT);
+        for (final HttpWarmer.HttpWarmerMethods method : HttpWarmer.HttpWarmerMethods.values()) {
+            if (method.name().equals(name)) {
+                return method;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.warmers;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
+import org.apache.http.client.methods.HttpRequestBase;
+
+import java.net.URI;
+
+/**
+ * Pre-built parts of a request; method, uri, headers and body are resolved once, so that creating
+ * a new request is cheap.
+ */
+final class HttpRequestTemplate {
+    private final HttpWarmer.HttpWarmerMethods method;
+    private final URI uri;
+    private final Header[] headers;
+    private final HttpEntity entity;
+
+    HttpRequestTemplate(final HttpWarmer.HttpWarmerMethods method, final URI uri,
+                        final Header[] headers, final HttpEntity entity) {
+        this.method = method;
+        this.uri = uri;
+        this.headers = headers;
+        this.entity = entity;
+    }
+
+    URI getUri() {
+        return this.uri;
+    }
+
+    /**
+     * @return a new request; the body entity is repeatable and shared by all requests.
+     */
+    HttpRequestBase newRequest() {
+        final HttpRequestBase request = this.method.newRequest(this.uri);
+        request.setHeaders(this.headers);
+        if (this.entity != null && request instanceof HttpEntityEnclosingRequestBase) {
+            ((HttpEntityEnclosingRequestBase) request).setEntity(this.entity);
+        }
+        return request;
+    }
+}
@@ -9,57 +9,118 @@ package com.salesforce.centrifuge.warmers;
 
 import com.google.common.base.Strings;
 
+import com.salesforce.centrifuge.Constants;
 import com.salesforce.centrifuge.Warmer;
 
-import org.apache.http.HttpRequest;
-import org.apache.http.HttpResponse;
-import org.apache.http.client.HttpClient;
-import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHost;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpDelete;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpHead;
+import org.apache.http.client.methods.HttpOptions;
+import org.apache.http.client.methods.HttpPatch;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
+import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import static com.salesforce.centrifuge.Constants.LOGGER_PREFIX;
 
-public class HttpWarmer implements Warmer {
+/**
+ * Calls a list of urls on every iteration. All warmers with the same pool settings share one pooled,
+ * keep-alive client; requests are pre-built on init and every response is fully drained so that
+ * connections are returned to the pool.
+ * <p>
+ * With the replay_file param, every iteration replays the next request of a recorded access log or
+ * request file instead of calling the urls; see {@link HttpReplay} for the supported formats. The file
+ * is streamed, and split between the concurrency instances of the warmer.
+ */
+public class HttpWarmer implements Warmer, AutoCloseable {
 
     private static final Logger logger = LoggerFactory.getLogger(HttpWarmer.class);
 
-    private final HttpClient client;
-    private List<String> urls;
-    private String method = "get";  // default is GET
-    private String body;
-    private Map<String, String> headers = Collections.emptyMap();
+    // shared clients by pool settings, closed when the last warmer using them is closed
+    private static final Map<HttpClientSettings, SharedClient> clients = new HashMap<>();
+
+    private static final class SharedClient {
+        private final CloseableHttpClient client;
+        private int references = 0;
 
-    public HttpWarmer() {
-        this.client = HttpClients.createDefault();
+        private SharedClient(final CloseableHttpClient client) {
+            this.client = client;
+        }
     }
 
-    @SuppressWarnings("unchecked")
+    private CloseableHttpClient client;
+    private HttpClientSettings settings;
+    private List<HttpRequestTemplate> templates = Collections.emptyList();
+    private HttpReplay replay;
+
     @Override
     public void init(final Map<String, Object> params) throws Exception {
-        if (!params.containsKey("urls")) {
+        initRequests(params);
+        this.client = acquire(this.settings);
+    }
+
+    /**
+     * Sets up request templates or the replay file, and pool settings from params; shared with
+     * {@link HttpAsyncWarmer}, which sends the requests on its own client.
+     */
+    @SuppressWarnings("unchecked")
+    void initRequests(final Map<String, Object> params) throws Exception {
+        final boolean isReplay = params.containsKey("replay_file");
+        if (!params.containsKey("urls") && !isReplay) {
             throw new IllegalArgumentException("missing 'urls' parameter");
         }
-        this.urls = (List<String>) params.get("urls");
-        if (params.containsKey("method")) {
-            this.method = String.valueOf(params.get("method"));
+        final List<String> urls = isReplay
+                ? Collections.emptyList()
+                : (List<String>) params.get("urls");
+        final String method = params.containsKey("method") ? String.valueOf(params.get("method")) : "get";
+        final String body = params.containsKey("body") ? String.valueOf(params.get("body")) : null;
+        final Map<String, String> headers = params.containsKey("headers")
+                ? (Map<String, String>) params.get("headers")
+                : Collections.emptyMap();
+
+        final HttpWarmerMethods warmerMethod = HttpWarmerMethods.valueOf(method.toUpperCase(Locale.ROOT));
+        final Header[] requestHeaders = headers.entrySet().stream()
+                .map(header -> new BasicHeader(header.getKey(), String.valueOf(header.getValue())))
+                .toArray(Header[]::new);
+        final HttpEntity entity = Strings.isNullOrEmpty(body)
+                ? null
+                : new ByteArrayEntity(body.getBytes(StandardCharsets.UTF_8));
+
+        final List<HttpRequestTemplate> templates = new ArrayList<>(urls.size());
+        for (final String url : urls) {
+            templates.add(new HttpRequestTemplate(warmerMethod, URI.create(url), requestHeaders, entity));
         }
-        if (params.containsKey("body")) {
-            this.body = String.valueOf(params.get("body"));
+        this.templates = Collections.unmodifiableList(templates);
+        // init may be called again after a failure; do not leak the replay file opened by the previous call
+        if (this.replay != null) {
+            this.replay.close();
+            this.replay = null;
         }
-        if (params.containsKey("headers")) {
-            this.headers = (Map<String, String>) params.get("headers");
+        if (isReplay) {
+            this.replay = newReplay(params, requestHeaders);
         }
+        this.settings = HttpClientSettings.fromParams(params);
     }
 
     @Override
@@ -68,48 +129,130 @@ public class HttpWarmer implements Warmer {
     }
 
     /**
-     * Executes an {@link HttpRequest} while swallowing all exceptions.
+     * Executes all requests, draining every response; failures are logged and rethrown.
      */
     protected void doNext() throws Exception {
-        final HttpWarmerMethods warmerMethods = HttpWarmerMethods.valueOf(this.method.toUpperCase());
-        for (final String url : urls) {
+        for (final HttpRequestBase request : newRequests()) {
             try {
-                logger.debug(LOGGER_PREFIX + "calling {} method on url {}", this.method, this.urls);
-                final HttpUriRequest httpRequest = warmerMethods.run(url);
-
-                // add body if present
-                if (!Strings.isNullOrEmpty(this.body)) {
-                    final ByteArrayEntity body = new ByteArrayEntity(this.body.getBytes());
-                    ((HttpEntityEnclosingRequestBase) httpRequest).setEntity(body);
+                logger.debug(LOGGER_PREFIX + "calling {} method on url {}", request.getMethod(), request.getURI());
+                try (CloseableHttpResponse response = this.client.execute(request)) {
+                    // consume the entity so that the connection goes back to the pool
+                    EntityUtils.consume(response.getEntity());
+                    logger.debug(LOGGER_PREFIX + "got response code {} from url {}",
+                            response.getStatusLine(), request.getURI());
                 }
-
-                // add headers
-                this.headers.forEach(httpRequest::addHeader);
-
-                // make the call and follow redirects
-                final HttpResponse response = this.client.execute(httpRequest);
-                logger.debug(LOGGER_PREFIX + "got response code {} from url {}", response.getStatusLine(), url);
-            } catch(Exception e) {
-                logger.warn(LOGGER_PREFIX + "failed to call url: {} with error message: {}", url, e.getMessage());
+            } catch (Exception e) {
+                logger.warn(LOGGER_PREFIX + "failed to call url: {} with error message: {}",
+                        request.getURI(), e.getMessage());
                 throw e;
             }
         }
     }
 
+    @Override
+    public void close() throws Exception {
+        if (this.client != null) {
+            this.client = null;
+            release(this.settings);
+        }
+        if (this.replay != null) {
+            this.replay.close();
+        }
+    }
+
+    /**
+     * @return requests of a single iteration; the next replayed request in replay mode, or a request
+     * for each url otherwise.
+     */
+    List<HttpRequestBase> newRequests() throws IOException {
+        if (this.replay != null) {
+            return Collections.singletonList(this.replay.nextRequest());
+        }
+        final List<HttpRequestBase> requests = new ArrayList<>(this.templates.size());
+        for (final HttpRequestTemplate template : this.templates) {
+            requests.add(template.newRequest());
+        }
+        return requests;
+    }
+
+    HttpClientSettings getSettings() {
+        return this.settings;
+    }
+
+    CloseableHttpClient getClient() {
+        return this.client;
+    }
+
+    private static HttpReplay newReplay(final Map<String, Object> params, final Header[] headers)
+            throws IOException {
+        final HttpHost target = params.containsKey("replay_target")
+                ? HttpHost.create(String.valueOf(params.get("replay_target")))
+                : null;
+        final double sampleRate = params.containsKey("replay_sample_rate")
+                ? Double.parseDouble(String.valueOf(params.get("replay_sample_rate")))
+                : 1.0;
+        if (sampleRate <= 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("'replay_sample_rate' must be in (0, 1]");
+        }
+        return new HttpReplay(Paths.get(String.valueOf(params.get("replay_file"))),
+                HttpClientSettings.intParam(params, Constants.PARAM_KEY_INSTANCE_INDEX, 0),
+                HttpClientSettings.intParam(params, Constants.PARAM_KEY_INSTANCE_COUNT, 1),
+                target, sampleRate, headers);
+    }
+
+    private static synchronized CloseableHttpClient acquire(final HttpClientSettings settings) {
+        final SharedClient shared = clients.computeIfAbsent(settings, s -> new SharedClient(newClient(s)));
+        shared.references++;
+        return shared.client;
+    }
+
+    private static synchronized void release(final HttpClientSettings settings) {
+        final SharedClient shared = clients.get(settings);
+        if (shared == null || --shared.references > 0) {
+            return;
+        }
+        clients.remove(settings);
+        try {
+            shared.client.close();
+        } catch (IOException e) {
+            logger.warn(LOGGER_PREFIX + "failed to close http client with error message: {}", e.getMessage());
+        }
+    }
+
+    private static CloseableHttpClient newClient(final HttpClientSettings settings) {
+        final PoolingHttpClientConnectionManager connectionManager =
+                new PoolingHttpClientConnectionManager(settings.keepAliveMillis, TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(settings.maxConnections);
+        connectionManager.setDefaultMaxPerRoute(settings.maxConnectionsPerRoute);
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(settings.keepAliveStrategy())
+                .setDefaultRequestConfig(settings.requestConfig())
+                .evictIdleConnections(settings.keepAliveMillis, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
     protected enum HttpWarmerMethods {
         GET(HttpGet::new),
         POST(HttpPost::new),
         PUT(HttpPut::new),
-        HEAD(HttpHead::new);
+        HEAD(HttpHead::new),
+        DELETE(HttpDelete::new),
+        PATCH(HttpPatch::new),
+        OPTIONS(HttpOptions::new);
 
-        private final Function<String,HttpUriRequest> httpMethodFunction;
+        private final Function<URI, HttpRequestBase> httpMethodFunction;
 
-        HttpWarmerMethods(final Function<String,HttpUriRequest> httpMethodFunction) {
+        HttpWarmerMethods(final Function<URI, HttpRequestBase> httpMethodFunction) {
             this.httpMethodFunction = httpMethodFunction;
         }
 
-        HttpUriRequest run(final String uri) {
+        HttpRequestBase newRequest(final URI uri) {
             return this.httpMethodFunction.apply(uri);
         }
+
+        HttpUriRequest run(final String uri) {
+            return newRequest(URI.create(uri));
+        }
     }
 }
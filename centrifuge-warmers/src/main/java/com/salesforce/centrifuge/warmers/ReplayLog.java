@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.warmers;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Streams lines of a shard of a file, starting over at the end of the shard. The file is split into
+ * equal byte ranges, one per shard; a line belongs to the shard where it starts. Only a small buffer
+ * is held in memory, so the file can be much larger than the heap. Not thread-safe.
+ */
+final class ReplayLog implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final long start;
+    private final long end;
+    private InputStream in;
+    private long position;
+    private byte[] line = new byte[1024];
+
+    ReplayLog(final Path path, final int shard, final int shards) throws IOException {
+        if (shards <= 0 || shard < 0 || shard >= shards) {
+            throw new IllegalArgumentException("invalid shard " + shard + " of " + shards);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        final long size = this.channel.size();
+        this.start = alignedOffset(size * shard / shards);
+        this.end = alignedOffset(size * (shard + 1) / shards);
+        rewind();
+    }
+
+    /**
+     * @return the next line, or null if the shard has no lines.
+     */
+    String nextLine() throws IOException {
+        if (this.start >= this.end) {
+            return null;
+        }
+        if (this.position >= this.end) {
+            rewind();
+        }
+        int length = 0;
+        int b;
+        while ((b = this.in.read()) != -1) {
+            ++this.position;
+            if (b == '\n') {
+                break;
+            }
+            if (length == this.line.length) {
+                this.line = Arrays.copyOf(this.line, length * 2);
+            }
+            this.line[length++] = (byte) b;
+        }
+        if (length > 0 && this.line[length - 1] == '\r') {
+            --length;
+        }
+        return new String(this.line, 0, length, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    private void rewind() throws IOException {
+        this.position = this.start;
+        this.in = new BufferedInputStream(Channels.newInputStream(this.channel.position(this.start)), BUFFER_SIZE);
+    }
+
+    // offset of the first line starting at or after the given offset
+    private long alignedOffset(final long offset) throws IOException {
+        if (offset == 0) {
+            return 0;
+        }
+        final InputStream in = new BufferedInputStream(Channels.newInputStream(this.channel.position(offset - 1)));
+        long position = offset - 1;
+        int b;
+        while ((b = in.read()) != -1) {
+            ++position;
+            if (b == '\n') {
+                return position;
+            }
+        }
+        return position;
+    }
+}
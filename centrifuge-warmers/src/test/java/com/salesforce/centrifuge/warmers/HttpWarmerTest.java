@@ -11,6 +11,7 @@ import com.google.common.collect.ImmutableMap;
 import com.salesforce.centrifuge.Centrifuge;
 import com.salesforce.centrifuge.CentrifugeConfig;
 import com.salesforce.centrifuge.Warmer;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.eclipse.jetty.server.Request;
 import org.eclipse.jetty.server.handler.AbstractHandler;
 import org.slf4j.Logger;
@@ -19,6 +20,10 @@ import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.Test;
 
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
 
 import org.eclipse.jetty.server.Server;
 
@@ -27,7 +32,19 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static com.salesforce.centrifuge.Constants.LOGGER_PREFIX;
@@ -54,6 +71,141 @@ public class HttpWarmerTest {
         warmer.next();
     }
 
+    @Test
+    public void testMethodUnderTurkishLocale() throws Exception {
+        // in the turkish locale, the upper case of "options" has a dotted capital i
+        final Locale locale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        final HttpWarmer warmer = new HttpWarmer();
+        try {
+            warmer.init(ImmutableMap.of("urls", Collections.singletonList("http://localhost:29876"),
+                    "method", "options"));
+        } finally {
+            Locale.setDefault(locale);
+            warmer.close();
+        }
+    }
+
+    @Test
+    public void testConnectionsReturnedToPool() throws Exception {
+        testServer.acceptAll(true);
+        final Warmer warmer = new HttpWarmer();
+        warmer.init(ImmutableMap.of(
+                "urls", Collections.singletonList("http://localhost:29876"),
+                "max_connections_per_route", 1,
+                "socket_timeout_millis", 2000));
+        // with a single connection this would time out if responses were not drained
+        for (int i = 0; i < 50; ++i) {
+            warmer.next();
+        }
+        testServer.acceptAll(false);
+    }
+
+    @Test
+    public void testSharedClientClosedWithLastWarmer() throws Exception {
+        final Map<String, Object> params = ImmutableMap.of(
+                "urls", Collections.singletonList("http://localhost:29876"),
+                "max_connections", 7);
+        final HttpWarmer first = new HttpWarmer();
+        final HttpWarmer second = new HttpWarmer();
+        first.init(params);
+        second.init(params);
+        final CloseableHttpClient client = first.getClient();
+        assertSame(second.getClient(), client);
+
+        // still used by the second warmer
+        first.close();
+        final HttpWarmer third = new HttpWarmer();
+        third.init(params);
+        assertSame(third.getClient(), client);
+
+        second.close();
+        third.close();
+        final HttpWarmer fourth = new HttpWarmer();
+        fourth.init(params);
+        try {
+            assertNotSame(fourth.getClient(), client);
+        } finally {
+            fourth.close();
+        }
+    }
+
+    @Test
+    public void testAsyncPipelining() throws Exception {
+        testServer.acceptAll(true);
+        final HttpAsyncWarmer warmer = new HttpAsyncWarmer();
+        warmer.init(ImmutableMap.of(
+                "urls", Collections.singletonList("http://localhost:29876"),
+                "max_connections_per_route", 1,
+                "pipeline_depth", 8));
+        try {
+            // requests are sent on the async client only
+            assertNull(warmer.getClient());
+            final int before = testServer.getRequestCount();
+            for (int i = 0; i < 10; ++i) {
+                warmer.nextAsync().toCompletableFuture().get(5, TimeUnit.SECONDS);
+            }
+            assertEquals(testServer.getRequestCount() - before, 80);
+        } finally {
+            warmer.close();
+            testServer.acceptAll(false);
+        }
+    }
+
+    @Test
+    public void testReplay() throws Exception {
+        testServer.acceptAll(true);
+        final Path file = Files.createTempFile("centrifuge-replay", ".log");
+        Files.write(file, Arrays.asList(
+                "127.0.0.1 - - [10/Oct/2018:13:55:36 -0700] \"GET /foo?bar=baz HTTP/1.1\" 200 2326",
+                "not a request",
+                "POST http://example.com/bar {\"foo\": \"bar\"}",
+                "/baz"
+        ), StandardCharsets.UTF_8);
+        final HttpWarmer warmer = new HttpWarmer();
+        try {
+            warmer.init(ImmutableMap.of(
+                    "replay_file", file.toString(),
+                    "replay_target", "http://localhost:29876"));
+            testServer.getRequests().clear();
+            // invalid lines are skipped, and the file is replayed from the start once it ends
+            for (int i = 0; i < 6; ++i) {
+                warmer.next();
+            }
+            final List<String> expected = Arrays.asList(
+                    "GET /foo", "POST /bar {\"foo\": \"bar\"}", "GET /baz");
+            final List<String> requests = new ArrayList<>(testServer.getRequests());
+            assertEquals(requests.subList(0, 3), expected);
+            assertEquals(requests.subList(3, 6), expected);
+        } finally {
+            warmer.close();
+            Files.delete(file);
+            testServer.acceptAll(false);
+        }
+    }
+
+    @Test
+    public void testInitAgainReplacesReplay() throws Exception {
+        testServer.acceptAll(true);
+        final Path file = Files.createTempFile("centrifuge-replay", ".log");
+        Files.write(file, Collections.singletonList("/foo"), StandardCharsets.UTF_8);
+        final HttpWarmer warmer = new HttpWarmer();
+        try {
+            warmer.init(ImmutableMap.of(
+                    "replay_file", file.toString(),
+                    "replay_target", "http://localhost:29876"));
+            // the replay opened by the first init is closed, and no longer used
+            warmer.init(ImmutableMap.of("urls", Collections.singletonList("http://localhost:29876/bar")));
+            testServer.getRequests().clear();
+            warmer.next();
+            assertEquals(new ArrayList<>(testServer.getRequests()), Collections.singletonList("GET /bar"));
+        } finally {
+            warmer.close();
+            Files.delete(file);
+            testServer.acceptAll(false);
+        }
+    }
+
     @Test
     public void testAll() throws Exception {
         testServer.acceptAll(true);
@@ -84,6 +236,13 @@ public class HttpWarmerTest {
 
         private boolean acceptAll;
 
+        private final AtomicInteger requestCount = new AtomicInteger();
+
+        private volatile String lastRequest;
+
+        // method, path and body of every request, in the order received
+        private final Queue<String> requests = new ConcurrentLinkedQueue<>();
+
         private HttpWarmerTestServer() {
             port = 29876;
             server = new Server(port);
@@ -110,6 +269,18 @@ public class HttpWarmerTest {
             }
         }
 
+        public int getRequestCount() {
+            return requestCount.get();
+        }
+
+        public String getLastRequest() {
+            return lastRequest;
+        }
+
+        public Queue<String> getRequests() {
+            return requests;
+        }
+
         // needed for when we are testing multiple requests and cant set the expected values between the calls.
         public void acceptAll(boolean acceptAll) {
             this.acceptAll = acceptAll;
@@ -121,6 +292,11 @@ public class HttpWarmerTest {
                                HttpServletResponse httpServletResponse) throws IOException, ServletException {
                 httpServletResponse.setContentType("text/html;charset=utf-8");
                 request.setHandled(true);
+                requestCount.incrementAndGet();
+                lastRequest = request.getMethod() + " " + request.getRequestURI();
+                final String body = httpServletRequest.getReader().lines()
+                        .collect(Collectors.joining(System.lineSeparator()));
+                requests.add(body.isEmpty() ? lastRequest : lastRequest + " " + body);
                 switch(HttpWarmer.HttpWarmerMethods.valueOf(httpServletRequest.getMethod().toUpperCase())) {
                     case GET: {
                         if(checkHeader(httpServletRequest)) {
@@ -131,7 +307,7 @@ public class HttpWarmerTest {
                         break;
                     }
                     case PUT : {
-                        if(checkHeader(httpServletRequest) && checkBody(httpServletRequest)) {
+                        if(checkHeader(httpServletRequest) && checkBody(body)) {
                             httpServletResponse.setStatus(200);
                         } else {
                             httpServletResponse.setStatus(410);
@@ -139,7 +315,7 @@ public class HttpWarmerTest {
                         break;
                     }
                     case POST : {
-                        if(checkHeader(httpServletRequest) && checkBody(httpServletRequest)) {
+                        if(checkHeader(httpServletRequest) && checkBody(body)) {
                             httpServletResponse.setStatus(200);
                         } else {
                             httpServletResponse.setStatus(410);
@@ -167,9 +343,8 @@ public class HttpWarmerTest {
                 return nextExpectedHeaderValue.equals(httpServletRequest.getHeader(nextExpectedHeaderName)) || acceptAll;
             }
 
-            private boolean checkBody(HttpServletRequest httpServletRequest) throws IOException {
-                    return nextExpectedBody.equals(httpServletRequest.getReader().lines()
-                            .collect(Collectors.joining(System.lineSeparator()))) || acceptAll;
+            private boolean checkBody(String body) {
+                    return nextExpectedBody.equals(body) || acceptAll;
             }
         }
     }
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2018, salesforce.com, inc.
+ * All rights reserved.
+ * SPDX-License-Identifier: BSD-3-Clause
+ * For full license text, see the LICENSE file in the repo root or https://opensource.org/licenses/BSD-3-Clause
+ */
+
+package com.salesforce.centrifuge.warmers;
+
+import org.apache.http.Header;
+import org.apache.http.HttpHost;
+import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.util.EntityUtils;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class ReplayLogTest {
+
+    @Test
+    public void testShards() throws Exception {
+        final List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 1000; ++i) {
+            lines.add("/path/" + i + "?q=" + (i * 31));
+        }
+        final Path file = Files.createTempFile("centrifuge-replay", ".log");
+        try {
+            Files.write(file, lines, StandardCharsets.UTF_8);
+            final int shards = 7;
+            final Set<String> seen = new HashSet<>();
+            int total = 0;
+            for (int shard = 0; shard < shards; ++shard) {
+                try (ReplayLog log = new ReplayLog(file, shard, shards)) {
+                    // read lines until the shard starts over
+                    final String first = log.nextLine();
+                    String line = first;
+                    do {
+                        assertTrue(seen.add(line), "line " + line + " read by more than one shard");
+                        ++total;
+                        line = log.nextLine();
+                    } while (!line.equals(first));
+                }
+            }
+            assertEquals(total, lines.size());
+            assertEquals(seen, new HashSet<>(lines));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testEmptyShard() throws Exception {
+        final Path file = Files.createTempFile("centrifuge-replay", ".log");
+        try {
+            Files.write(file, "/foo\n".getBytes(StandardCharsets.UTF_8));
+            try (ReplayLog log = new ReplayLog(file, 1, 2)) {
+                assertNull(log.nextLine());
+            }
+            try (ReplayLog log = new ReplayLog(file, 0, 2)) {
+                assertEquals(log.nextLine(), "/foo");
+                assertEquals(log.nextLine(), "/foo");
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testReplayMethods() throws Exception {
+        final Path file = Files.createTempFile("centrifuge-replay", ".log");
+        try {
+            Files.write(file, Arrays.asList(
+                    "get /a",
+                    "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"post /b HTTP/1.1\" 200 2326",
+                    "127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"TRACE /c HTTP/1.1\" 200 2326",
+                    "Put /d body",
+                    "options /e"), StandardCharsets.UTF_8);
+            // methods are parsed the same in the turkish locale, where the upper case of i is a dotted capital i
+            final Locale locale = Locale.getDefault();
+            Locale.setDefault(new Locale("tr", "TR"));
+            try (HttpReplay replay = new HttpReplay(file, 0, 1, new HttpHost("localhost", 8080),
+                    1.0, new Header[0])) {
+                assertNull(replay.parse("127.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"TRACE /c HTTP/1.1\" 200 2326"));
+                // lines in neither format are skipped, and quotes in a body do not make a line an access log line
+                assertNull(replay.parse("not a request"));
+                final HttpRequestBase post = replay.parse("POST http://example.com/bar {\"foo\": \"bar\"}");
+                assertEquals(post.getMethod() + " " + post.getURI(), "POST http://localhost:8080/bar");
+                assertEquals(EntityUtils.toString(((HttpEntityEnclosingRequestBase) post).getEntity()),
+                        "{\"foo\": \"bar\"}");
+                final List<String> requests = new ArrayList<>();
+                for (int i = 0; i < 4; ++i) {
+                    final HttpRequestBase request = replay.nextRequest();
+                    requests.add(request.getMethod() + " " + request.getURI());
+                }
+                assertEquals(requests, Arrays.asList(
+                        "GET http://localhost:8080/a", "POST http://localhost:8080/b", "PUT http://localhost:8080/d",
+                        "OPTIONS http://localhost:8080/e"));
+            } finally {
+                Locale.setDefault(locale);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}